@@ -1,15 +1,16 @@
 import re
+from switch_templates import *
 
 registers = ['A', 'B', 'D', 'H', 'F', 'C', 'E', 'L', 'AF', 'BC', 'DE', 'HL', 'SP', 'PC']
 
 def convert_op(op): #converts the operand to the Java equivalent
     if op in registers:
-        return 'cpu.regs.' + op
+        return 'cpu.view.' + op
     re_matches = re.match(r'^\(([A-Z][A-Z])\)$', op)
     if re_matches:
         address_reg = re_matches.group(1)
         if address_reg in registers:
-            return 'cpu.mem.registerLocation(cpu.regs.' + address_reg + ')'
+            return 'cpu.mem.registerLocation(cpu.view.' + address_reg + ')'
     
     re_matches = re.match(r'^(\d)$', op)
     if re_matches:
@@ -25,12 +26,65 @@ def generate_lambda(mnemonic, operands):
     
     return '(CPU cpu) -> ' + statement
 
+shift_helpers = {
+    'RLC': 'rlc({})',
+    'RRC': 'rrc({})',
+    'RL': 'rl({}, ' + carry + ')',
+    'RR': 'rr({}, ' + carry + ')',
+    'SLA': 'sla({})',
+    'SRA': 'sra({})',
+    'SWAP': 'swap({})',
+    'SRL': 'srl({})',
+}
+
+def generate_switch_body(mnemonic, operands, length, ticks, flags):
+    # returns the statements for one case of SwitchCore.executeCB; every case ends by returning its ticks
+    body = []
+    done = [pc_advance(length), 'return ' + ticks[0] + ';']
+    op = operands[-1]
+    if is_reg8(op):
+        value = reg8_read[op]
+    else:
+        body.append('int address = regs.hl;')
+        value = 'read(cpu, address)'
+
+    if mnemonic == 'BIT':
+        body.append('int r = bit(' + operands[0] + ', ' + value + ');')
+        return body + apply_flags(flags) + done
+
+    if mnemonic in shift_helpers:
+        body.append('int r = ' + shift_helpers[mnemonic].format(value) + ';')
+        if op == 'A':
+            return body + apply_flags(flags, keep_a=False) + done
+        if is_reg8(op):
+            body.append(reg8_write_packed[op])
+        else:
+            body.append('write(cpu, address, r >> 8);')
+        return body + apply_flags(flags) + done
+
+    if mnemonic == 'SET':
+        result = value + ' | ' + hex(1 << int(operands[0]))
+    elif mnemonic == 'RES':
+        result = value + ' & ' + hex(~(1 << int(operands[0])) & 0xff)
+    else:
+        print('unsupported instruction: ' + mnemonic)
+        exit(1)
+
+    if is_reg8(op):
+        body.append(reg8_write[op].format('(' + result + ')'))
+    else:
+        body.append('write(cpu, address, ' + result + ');')
+    return body + done
+
 def assemble_operation():
     return 'new Operation("' + op_description + '", ' + op_lambda + ', ' + op_length + ', "' + op_flags + '", ' + op_ticks[0] + ')'
 
 file = open("cb_instructions.txt", "r")
 
 output = open("generated_cb_code.txt", "w")
+switch_output = open("generated_cb_switch_code.txt", "w")
+method_output = open("generated_cb_switch_methods.txt", "w")
+handler_output = open("generated_cb_threaded_handlers.txt", "w")
 
 line_num = 0
 op_lambda = ''
@@ -40,7 +94,10 @@ op_id = 0
 op_flags = ''
 op_mnemonic = ''
 op_description = ''
+op_operands = []
 operations = [''] * 256
+switch_cases = [[]] * 256
+switch_methods = [[]] * 256
 for line in file:
     line = line[:-1] #remove newline
 
@@ -51,6 +108,7 @@ for line in file:
         temp = line.split(' ')
         op_mnemonic = temp[0]
         operands = (temp[1].split(',')) if (len(temp) > 1) else []
+        op_operands = operands
         op_lambda = generate_lambda(op_mnemonic, operands)
     
     if line_num % 3 == 1:
@@ -68,9 +126,26 @@ for line in file:
         row_num = op_id % 16
         col_num = op_id // 16
         operations[row_num * 16 + col_num] = assemble_operation()
+        switch_body = generate_switch_body(op_mnemonic, op_operands, op_length, op_ticks, op_flags)
+        switch_cases[row_num * 16 + col_num], switch_methods[row_num * 16 + col_num] = handler('cb', row_num * 16 + col_num, op_description, switch_body)
     
     line_num += 1
 
 for i in range(len(operations)):
     output.write('cbOperations[' + hex(i) + '] = ' + operations[i] + ';\n')
-output.close()
\ No newline at end of file
+output.close()
+
+for lines in switch_cases:
+    for line in lines:
+        switch_output.write(line + '\n')
+switch_output.close()
+
+for lines in switch_methods:
+    for line in lines:
+        method_output.write(line + '\n')
+method_output.close()
+
+for i in range(len(switch_methods)):
+    for line in table_entry('cb', i, switch_methods[i]):
+        handler_output.write(line + '\n')
+handler_output.close()
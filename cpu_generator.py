@@ -1,4 +1,5 @@
 import re
+from switch_templates import *
 
 special_operands = {
     "r8": "cpu.r8()", #sign is handled in CPU code
@@ -10,12 +11,12 @@ special_operands = {
     "Z": "Condition.Z",
     "NC": "Condition.NC",
     "C(cond)": "Condition.C",
-    "(a16)": "cpu.mem.a16Location(cpu.regs.PC)",
-    "(a8)": "cpu.mem.a8Location(cpu.regs.PC)",
-    "(d8)": "cpu.mem.d8Location(cpu.regs.PC)",
-    "(C)": "cpu.mem.shortRegisterLocation(cpu.regs.C)",
-    "(HL+)": "cpu.mem.registerLocation(selfIncrement(cpu.regs.HL))",
-    "(HL-)": "cpu.mem.registerLocation(selfDecrement(cpu.regs.HL))",
+    "(a16)": "cpu.mem.a16Location(cpu.view.PC)",
+    "(a8)": "cpu.mem.a8Location(cpu.view.PC)",
+    "(d8)": "cpu.mem.d8Location(cpu.view.PC)",
+    "(C)": "cpu.mem.shortRegisterLocation(cpu.view.C)",
+    "(HL+)": "cpu.mem.registerLocation(cpu.selfIncrement(cpu.view.HL))",
+    "(HL-)": "cpu.mem.registerLocation(cpu.selfDecrement(cpu.view.HL))",
     "SP+r8": "cpu.SPr8()",
 }
 
@@ -27,12 +28,12 @@ def convert_op(op): #converts the operand to the Java equivalent
     if op in special_operands:
         return special_operands[op]
     if op in registers:
-        return 'cpu.regs.' + op
+        return 'cpu.view.' + op
     re_matches = re.match(r'^\(([A-Z][A-Z])\)$', op)
     if re_matches:
         address_reg = re_matches.group(1)
         if address_reg in registers:
-            return 'cpu.mem.registerLocation(cpu.regs.' + address_reg + ')'
+            return 'cpu.mem.registerLocation(cpu.view.' + address_reg + ')'
     
     re_matches = re.match(r'^(\d\d)H$', op)
     if re_matches:
@@ -50,6 +51,165 @@ def generate_lambda(mnemonic, operands):
     
     return '(CPU cpu) -> ' + statement
 
+# these leave their flags to RegisterFile and only return the result byte
+lazy_alu = {
+    'ADD': 'regs.add({}, {}, 0)',
+    'ADC': 'regs.add({}, {}, ' + carry + ')',
+    'SUB': 'regs.sub({}, {}, 0)',
+    'SBC': 'regs.sub({}, {}, ' + carry + ')',
+    'CP': 'regs.sub({}, {}, 0)',
+}
+
+alu_helpers = {
+    'AND': 'and8({}, {})',
+    'XOR': 'xor8({}, {})',
+    'OR': 'or8({}, {})',
+}
+
+rotate_helpers = {
+    'RLCA': 'rlc({})',
+    'RLA': 'rl({}, ' + carry + ')',
+    'RRCA': 'rrc({})',
+    'RRA': 'rr({}, ' + carry + ')',
+}
+
+def generate_switch_body(mnemonic, operands, length, ticks, flags):
+    # returns the statements for one case of SwitchCore.execute; every case ends by returning its ticks
+    if mnemonic == 'XXX':
+        return ['throw new IllegalArgumentException("invalid opcode");']
+    if mnemonic == 'CB':
+        return ['return executeCB(cpu, imm8(cpu));']
+
+    body = []
+    done = [pc_advance(length), 'return ' + ticks[0] + ';']
+
+    if mnemonic == 'NOP':
+        return done
+    if mnemonic in ('HALT', 'STOP'):
+        return ['cpu.halted = true;'] + done
+    if mnemonic == 'DI':
+        return ['cpu.interruptHandler.setInterruptsEnabled(false);'] + done
+    if mnemonic == 'EI':
+        return ['cpu.interruptHandler.setInterruptsEnabled(true);'] + done
+
+    if mnemonic == 'LD':
+        dest, src = operands
+        if dest == '(a16)' and src == 'SP':
+            return ['write16(cpu, imm16(cpu), regs.sp);'] + done
+        if src == 'SP+r8':
+            body.append('int r = addSP(regs.sp, (byte) imm8(cpu));')
+            body.append('regs.hl = r >>> 8;')
+            return body + apply_flags(flags) + done
+        if dest in reg16:
+            value = 'imm16(cpu)' if src == 'd16' else reg16[src]
+            return [reg16[dest] + ' = ' + value + ';'] + done
+        if is_reg8(dest):
+            pre, value = read8(src)
+            return pre + [reg8_write[dest].format(value)] + done
+        pre, address = indirect_address(dest)
+        _, value = read8(src)
+        return pre + ['write(cpu, ' + address + ', ' + value + ');'] + done
+
+    if mnemonic in ('INC', 'DEC'):
+        op = operands[0]
+        if op in reg16:
+            sign = ' + 1' if mnemonic == 'INC' else ' - 1'
+            return [reg16[op] + ' = (' + reg16[op] + sign + ') & 0xffff;'] + done
+        helper = 'regs.' + mnemonic.lower()
+        if is_reg8(op):
+            # the helper syncs the pending flags into F first, so A can only be written back after it ran
+            body.append('int r = ' + helper + '(' + reg8_read[op] + ');')
+            body.append(reg8_write[op].format('r'))
+        else:
+            body.append('int address = regs.hl;')
+            body.append('write(cpu, address, ' + helper + '(read(cpu, address)));')
+        return body + done
+
+    if mnemonic == 'ADD' and operands[0] == 'HL':
+        body.append('int r = add16(regs.hl, ' + reg16[operands[1]] + ');')
+        body.append('regs.hl = r >>> 8;')
+        return body + apply_flags(flags) + done
+
+    if mnemonic == 'ADD' and operands[0] == 'SP':
+        body.append('int r = addSP(regs.sp, (byte) imm8(cpu));')
+        body.append('regs.sp = r >>> 8;')
+        return body + apply_flags(flags) + done
+
+    if mnemonic in lazy_alu:
+        pre, value = read8(operands[-1])
+        body += pre
+        result = lazy_alu[mnemonic].format(reg8_read['A'], value)
+        if mnemonic == 'CP':
+            return body + [result + ';'] + done
+        return body + [reg8_write['A'].format(result)] + done
+
+    if mnemonic in alu_helpers:
+        pre, value = read8(operands[-1])
+        body += pre
+        body.append('int r = ' + alu_helpers[mnemonic].format(reg8_read['A'], value) + ';')
+        return body + apply_flags(flags, keep_a=False) + done
+
+    if mnemonic in rotate_helpers:
+        body.append('int r = ' + rotate_helpers[mnemonic].format(reg8_read['A']) + ';')
+        return body + apply_flags(flags, keep_a=False) + done
+
+    if mnemonic == 'DAA':
+        body.append('int r = daa(' + reg8_read['A'] + ', ' + synced_af + ' & 0xf0);')
+        return body + apply_flags(flags, keep_a=False) + done
+
+    if mnemonic == 'CPL':
+        body.append('regs.af ^= 0xff00;')
+        return body + apply_flags(flags) + done
+
+    if mnemonic == 'SCF':
+        return apply_flags(flags) + done
+
+    if mnemonic == 'CCF':
+        body.append('int r = ~' + synced_af + ';')
+        return body + apply_flags(flags) + done
+
+    if mnemonic == 'PUSH':
+        value = synced_af if operands[0] == 'AF' else reg16[operands[0]]
+        return ['push(cpu, ' + value + ');'] + done
+
+    if mnemonic == 'POP':
+        if operands[0] == 'AF':
+            return ['regs.af = pop(cpu) & 0xfff0;', 'regs.lazyFlags = 0;'] + done
+        return [reg16[operands[0]] + ' = pop(cpu);'] + done
+
+    # everything below changes the control flow
+    taken, not_taken = ticks
+    condition = conditions[operands[0]] if len(operands) > 0 and operands[0] in conditions else None
+
+    if mnemonic == 'JR':
+        body.append('int offset = (byte) imm8(cpu);')
+        jump = ['regs.pc = (regs.pc + ' + length + ' + offset) & 0xffff;', 'return ' + taken + ';']
+    elif mnemonic == 'JP' and operands[-1] == 'HL':
+        jump = ['regs.pc = regs.hl;', 'return ' + taken + ';']
+    elif mnemonic == 'JP':
+        body.append('int target = imm16(cpu);')
+        jump = ['regs.pc = target;', 'return ' + taken + ';']
+    elif mnemonic == 'CALL':
+        body.append('int target = imm16(cpu);')
+        jump = ['push(cpu, (regs.pc + ' + length + ') & 0xffff);', 'regs.pc = target;', 'return ' + taken + ';']
+    elif mnemonic == 'RST':
+        target = '0x' + operands[0][:-1]
+        jump = ['push(cpu, (regs.pc + ' + length + ') & 0xffff);', 'regs.pc = ' + target + ';', 'return ' + taken + ';']
+    elif mnemonic == 'RET':
+        jump = ['regs.pc = pop(cpu);', 'return ' + taken + ';']
+    elif mnemonic == 'RETI':
+        jump = ['cpu.interruptHandler.setInterruptsEnabled(true);', 'regs.pc = pop(cpu);', 'return ' + taken + ';']
+    else:
+        print('unsupported instruction: ' + mnemonic)
+        exit(1)
+
+    if condition is None:
+        return body + jump
+    body.append('if (' + condition + ') {')
+    body += ['    ' + line for line in jump]
+    body.append('}')
+    return body + [pc_advance(length), 'return ' + not_taken + ';']
+
 def assemble_operation():
     if op_mnemonic in jumps:
         return 'new Jump("' + op_description + '", ' + op_lambda + ', ' + op_length + ', "' + op_flags + '", ' + op_ticks[0] + ', ' + op_ticks[1] + ')'
@@ -59,6 +219,9 @@ def assemble_operation():
 file = open("instructions_corrected.txt", "r")
 
 output = open("generated_code.txt", "w")
+switch_output = open("generated_switch_code.txt", "w")
+method_output = open("generated_switch_methods.txt", "w")
+handler_output = open("generated_threaded_handlers.txt", "w")
 
 line_num = 0
 op_lambda = ''
@@ -68,7 +231,10 @@ op_id = 0
 op_flags = ''
 op_mnemonic = ''
 op_description = ''
+op_operands = []
 operations = [''] * 256
+switch_cases = [[]] * 256
+switch_methods = [[]] * 256
 for line in file:
     line = line[:-1] #remove newline
 
@@ -79,6 +245,7 @@ for line in file:
         temp = line.split(' ')
         op_mnemonic = temp[0]
         operands = (temp[1].split(',')) if (len(temp) > 1) else []
+        op_operands = operands
         op_lambda = generate_lambda(op_mnemonic, operands)
     
     if line_num % 3 == 1:
@@ -96,9 +263,26 @@ for line in file:
         row_num = op_id % 16
         col_num = op_id // 16
         operations[row_num * 16 + col_num] = assemble_operation()
+        switch_body = generate_switch_body(op_mnemonic, op_operands, op_length, op_ticks, op_flags)
+        switch_cases[row_num * 16 + col_num], switch_methods[row_num * 16 + col_num] = handler('op', row_num * 16 + col_num, op_description, switch_body)
     
     line_num += 1
 
 for i in range(len(operations)):
     output.write('operations[' + hex(i) + '] = ' + operations[i] + ';\n')
-output.close()
\ No newline at end of file
+output.close()
+
+for lines in switch_cases:
+    for line in lines:
+        switch_output.write(line + '\n')
+switch_output.close()
+
+for lines in switch_methods:
+    for line in lines:
+        method_output.write(line + '\n')
+method_output.close()
+
+for i in range(len(switch_methods)):
+    for line in table_entry('op', i, switch_methods[i]):
+        handler_output.write(line + '\n')
+handler_output.close()
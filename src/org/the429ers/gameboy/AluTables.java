@@ -0,0 +1,153 @@
+package org.the429ers.gameboy;
+
+import static org.the429ers.gameboy.RegisterFile.*;
+
+/***
+ *
+ * Precomputed results of the 8 bit arithmetic instructions, packed as (result << 8) | flags like the helpers of
+ * SwitchCore, so ADD/ADC/SUB/SBC/CP/INC/DEC/DAA take a single array load instead of a branch per flag. SwitchCore
+ * only uses DAA, its other arithmetic instructions leave their flags to the lazy flags of RegisterFile.
+ *
+ * The tables are filled with the carry/borrow bit tricks below. The branchy reference* methods are the code the
+ * cores used before the tables; running with -ea checks every entry of every table against them.
+ *
+ */
+final class AluTables {
+    // indexed by (carry << 16) | (a << 8) | b, char since every packed value fits in 16 bits
+    static final char[] ADD = new char[0x20000];
+    static final char[] SUB = new char[0x20000];
+
+    // indexed by the operand
+    static final char[] INC = new char[0x100];
+    static final char[] DEC = new char[0x100];
+
+    // indexed by ((F & (N | H | C)) << 4) | A
+    static final char[] DAA = new char[0x800];
+
+    static int addIndex(int a, int b, int carry) {
+        return (carry << 16) | (a << 8) | b;
+    }
+
+    static int daaIndex(int a, int f) {
+        return ((f & (NMASK | HMASK | CMASK)) << 4) | a;
+    }
+
+    static {
+        for(int carry = 0; carry < 2; carry++) {
+            for(int a = 0; a < 0x100; a++) {
+                for(int b = 0; b < 0x100; b++) {
+                    //bit 4 of a ^ b ^ result is the carry (or borrow) out of bit 3, bit 8 the one out of bit 7
+                    int sum = a + b + carry;
+                    ADD[addIndex(a, b, carry)] = pack(sum & 0xff, (((a ^ b ^ sum) & 0x10) << 1) | ((sum >> 4) & 0x10));
+
+                    int diff = a - b - carry;
+                    SUB[addIndex(a, b, carry)] = pack(diff & 0xff, NMASK | (((a ^ b ^ diff) & 0x10) << 1) | ((diff >> 4) & 0x10));
+                }
+            }
+        }
+
+        for(int value = 0; value < 0x100; value++) {
+            INC[value] = pack((value + 1) & 0xff, (((value ^ (value + 1)) & 0x10) << 1));
+            DEC[value] = pack((value - 1) & 0xff, NMASK | (((value ^ (value - 1)) & 0x10) << 1));
+        }
+
+        //DAA adds or subtracts a correction of 0x06 and/or 0x60, depending on the flags of the last operation
+        for(int flags = 0; flags < 0x80; flags += 0x10) {
+            for(int a = 0; a < 0x100; a++) {
+                boolean subtract = (flags & NMASK) != 0;
+                boolean carry = (flags & CMASK) != 0 || (!subtract && a > 0x99);
+                boolean halfCarry = (flags & HMASK) != 0 || (!subtract && (a & 0x0f) > 0x09);
+                int correction = (carry ? 0x60 : 0) | (halfCarry ? 0x06 : 0);
+                int result = (subtract ? a - correction : a + correction) & 0xff;
+                DAA[daaIndex(a, flags)] = pack(result, (flags & NMASK) | (carry ? CMASK : 0));
+            }
+        }
+
+        assert crossCheck() : "ALU tables disagree with the reference implementation";
+    }
+
+    private static char pack(int result, int flags) {
+        return (char) ((result << 8) | flags | (result == 0 ? ZMASK : 0));
+    }
+
+    // compares every table entry with the reference implementation
+    static boolean crossCheck() {
+        for(int carry = 0; carry < 2; carry++) {
+            for(int a = 0; a < 0x100; a++) {
+                for(int b = 0; b < 0x100; b++) {
+                    if(ADD[addIndex(a, b, carry)] != referenceAdd8(a, b, carry)) return false;
+                    if(SUB[addIndex(a, b, carry)] != referenceSub8(a, b, carry)) return false;
+                }
+            }
+        }
+
+        for(int value = 0; value < 0x100; value++) {
+            if(INC[value] != referenceInc8(value) || DEC[value] != referenceDec8(value)) return false;
+            for(int flags = 0; flags < 0x80; flags += 0x10) {
+                if(DAA[daaIndex(value, flags)] != referenceDaa(value, flags)) return false;
+            }
+        }
+        return true;
+    }
+
+    static int referenceAdd8(int a, int b, int carry) {
+        int sum = a + b + carry;
+        int result = sum & 0xff;
+        int flags = 0;
+        if (result == 0) flags |= ZMASK;
+        if ((a & 0xf) + (b & 0xf) + carry > 0xf) flags |= HMASK;
+        if (sum > 0xff) flags |= CMASK;
+        return (result << 8) | flags;
+    }
+
+    static int referenceSub8(int a, int b, int carry) {
+        int diff = a - b - carry;
+        int result = diff & 0xff;
+        int flags = NMASK;
+        if (result == 0) flags |= ZMASK;
+        if ((a & 0xf) - (b & 0xf) - carry < 0) flags |= HMASK; //needs borrow from 4th bit
+        if (diff < 0) flags |= CMASK;
+        return (result << 8) | flags;
+    }
+
+    static int referenceInc8(int value) {
+        int result = (value + 1) & 0xff;
+        int flags = 0;
+        if (result == 0) flags |= ZMASK;
+        if ((value & 0xf) == 0xf) flags |= HMASK;
+        return (result << 8) | flags;
+    }
+
+    static int referenceDec8(int value) {
+        int result = (value - 1) & 0xff;
+        int flags = NMASK;
+        if (result == 0) flags |= ZMASK;
+        if ((value & 0xf) == 0) flags |= HMASK; //needs borrow from bit 4
+        return (result << 8) | flags;
+    }
+
+    //pseudocode from https://forums.nesdev.com/viewtopic.php?f=20&t=15944
+    static int referenceDaa(int a, int f) {
+        int result = a;
+        int flags = f & (NMASK | CMASK);
+        if ((f & NMASK) == 0) {
+            if ((f & CMASK) != 0 || a > 0x99) {
+                result += 0x60;
+                flags |= CMASK;
+            }
+            if ((f & HMASK) != 0 || (a & 0x0f) > 0x09) {
+                result += 0x6;
+            }
+        } else {
+            if ((f & CMASK) != 0) {
+                result -= 0x60;
+            }
+            if ((f & HMASK) != 0) {
+                result -= 0x6;
+            }
+        }
+        result &= 0xff;
+        if (result == 0) flags |= ZMASK;
+        return (result << 8) | flags;
+    }
+}
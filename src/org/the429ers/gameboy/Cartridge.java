@@ -1,21 +1,18 @@
 package org.the429ers.gameboy;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.security.InvalidParameterException;
 
 public interface Cartridge extends Serializable {
     static Cartridge fromFile(String fileName) {
-        File file = new File(fileName);
-        byte[] rom = new byte[(int)file.length()];
-        
-        try {
-            new FileInputStream(file).read(rom);
-        } catch (IOException e) {
-            System.out.println("File not found: " + fileName);
-            return null;
-        }
+        byte[] data = load(fileName);
+        if(data == null) return null;
+        RomImage rom = RomImage.intern(data, fileName); //another machine may already have loaded the same ROM
 
-        int cartridgeType = rom[0x0147] & 0xff;
+        int cartridgeType = rom.data[0x0147] & 0xff;
         System.out.printf("Game is using cartridge type %x\n", cartridgeType);
         if(cartridgeType == 0x00){
             return new Rom(rom);
@@ -35,9 +32,33 @@ public interface Cartridge extends Serializable {
         throw new InvalidParameterException("Cartridge type not supported yet");
     }
     
+    // the whole file as one image, which the MBCs address their banks in. it is read into a byte[] in full, since the
+    // page tables of the MMU index byte arrays
+    static byte[] load(String fileName) {
+        try {
+            return Files.readAllBytes(Paths.get(fileName));
+        } catch (NoSuchFileException e) {
+            System.out.println("File not found: " + fileName);
+            return null;
+        } catch (IOException e) {
+            System.out.println("Could not load " + fileName + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
     int readByte(int location);
     void writeByte(int location, int toWrite);
-    void cleanUp();
+    
+    // the array the 256 byte page at location is read from or written to, so the MMU can access it directly, or null
+    // if it has to go through readByte or writeByte. pageOffset is the index of location in that array. the MMU asks
+    // again after every write below 0x8000, since only those switch banks
+    byte[] readablePage(int location);
+    byte[] writablePage(int location);
+    int pageOffset(int location);
+    void flush(); //writes battery RAM to its .sav file, the cartridge goes on running
+    void cleanUp(); //the last flush, the cartridge isn't used after it
+    int getRomBank(); //the bank currently mapped to 0x4000-0x7fff
+    String getRomHash(); //SHA-256 of the ROM file, used as the key of the CodeCache
     public boolean isGBC();
 }
 
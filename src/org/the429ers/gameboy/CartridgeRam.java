@@ -0,0 +1,258 @@
+package org.the429ers.gameboy;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/***
+ *
+ * The RAM of a cartridge, as large as the header at 0x149 says. With a battery it is backed by a mapping of the .sav
+ * file: the first write to each 256 byte page comes through write, which marks the page, and from then on the MMU
+ * writes it directly. A thread shared by all cartridges compares the marked pages to the file every
+ * FLUSH_INTERVAL_MILLIS and writes the ones that differ, so a crash loses at most that much and the emulation thread
+ * never waits for the disk. close writes the whole RAM to a temporary file and renames it over the .sav.
+ *
+ * Each .sav has one writer. A RAM that finds its file in use by another one, like that of a second window running
+ * the same ROM, starts from the file's contents but isn't saved, and takes the file over when it is flushed after the
+ * other one has been closed. Save states hold the contents and are opened that way too: loading one closes the
+ * machine it replaces and flushes the new one, which writes them to the .sav like the game had written them.
+ *
+ */
+final class CartridgeRam implements Serializable {
+    private static final long serialVersionUID = 4121553296532480174L;
+
+    static final int BANK_SIZE = 0x2000;
+    private static final int PAGE_SIZE = 0x100;
+    private static final long FLUSH_INTERVAL_MILLIS = 500;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "Battery RAM");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<Path, CartridgeRam> WRITERS = new HashMap<>();
+
+    final byte[] data;
+    private final String fileName; //the .sav file, null without a battery
+
+    // which pages have been written since the file was opened. only the emulation thread sets them, writtenPages is
+    // raised after each one so the flusher sees it
+    private transient boolean[] written;
+    private transient volatile int writtenPages;
+
+    private transient FileChannel channel;
+    private transient MappedByteBuffer file;
+    private transient ScheduledFuture<?> flushing;
+    private transient boolean closed; //by close, after which the file isn't opened again
+
+    // oldBankStride is how far apart the banks were in the .sav files the MBC used to write, which are converted
+    CartridgeRam(String fileName, int size, int oldBankStride) {
+        this.data = new byte[size];
+        this.fileName = size > 0 ? fileName : null;
+        this.written = new boolean[size / PAGE_SIZE];
+        if(this.fileName != null) open(true, oldBankStride);
+    }
+
+    // the RAM size the cartridge header gives
+    static int size(RomImage rom) {
+        switch(rom.data[0x0149]) {
+            case 1: return 0x800;
+            case 2: return 0x2000;
+            case 3: return 0x8000;
+            case 4: return 0x20000;
+            case 5: return 0x10000;
+            default: return 0;
+        }
+    }
+
+    // the index of location, in A000-BFFF, in data while bank is selected
+    static int offset(int bank, int location) {
+        return bank * BANK_SIZE + location - 0xA000;
+    }
+
+    int read(int offset) {
+        return offset < data.length ? data[offset] & 0xff : 0xff;
+    }
+
+    void write(int offset, int value) {
+        if(offset >= data.length) return;
+        data[offset] = (byte) value;
+        int page = offset / PAGE_SIZE;
+        if(!written[page]) {
+            written[page] = true;
+            writtenPages++;
+        }
+    }
+
+    // the page at offset for the page tables of the MMU, which only write a page directly once write has marked it
+    byte[] readablePage(int offset) {
+        return offset + PAGE_SIZE <= data.length ? data : null;
+    }
+
+    byte[] writablePage(int offset) {
+        if(offset + PAGE_SIZE > data.length) return null;
+        return fileName == null || written[offset / PAGE_SIZE] ? data : null;
+    }
+
+    // returns without opening anything while another RAM has the file
+    private void open(boolean load, int oldBankStride) {
+        Path path = path();
+        synchronized(WRITERS) {
+            if(WRITERS.putIfAbsent(path, this) != null) {
+                System.out.println("Save file " + fileName + " is in use, this cartridge's RAM isn't saved for now");
+                if(load) readInUse(path);
+                return;
+            }
+        }
+
+        try {
+            byte[] old = load && Files.exists(path) && Files.size(path) != data.length ? Files.readAllBytes(path) : null;
+
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            if(channel.size() > data.length) channel.truncate(data.length);
+            file = channel.map(FileChannel.MapMode.READ_WRITE, 0, data.length); //grows the file if it is shorter
+
+            if(old != null) {
+                System.out.println("converting " + fileName);
+                convert(old, oldBankStride);
+            }
+            if(load && old == null) {
+                file.get(data);
+            }else {
+                markAllWritten(); //the file has to be brought up to date with data
+            }
+            flushing = FLUSHER.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            System.out.println("Could not open save file " + fileName + ": " + e);
+            closeChannel(); //the RAM still works, it just isn't saved
+            release();
+        }
+    }
+
+    private void readInUse(Path path) {
+        try {
+            if(Files.size(path) == data.length) System.arraycopy(Files.readAllBytes(path), 0, data, 0, data.length);
+        } catch (IOException e) {
+            System.out.println("Could not read save file " + fileName + ": " + e);
+        }
+    }
+
+    // the MBCs used to write the whole RAM array they had, or a serialized array of banks in the case of MBC5
+    private void convert(byte[] old, int oldBankStride) {
+        if(old.length > 1 && old[0] == (byte) 0xAC && old[1] == (byte) 0xED) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(old))) {
+                byte[][] banks = (byte[][]) in.readObject();
+                for(int bank = 0; bank < banks.length && bank * BANK_SIZE < data.length; bank++) {
+                    System.arraycopy(banks[bank], 0, data, bank * BANK_SIZE, Math.min(BANK_SIZE, banks[bank].length));
+                }
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                System.out.println("Could not convert " + fileName + ": " + e);
+            }
+            return;
+        }
+
+        for(int bank = 0; bank * oldBankStride < old.length && bank * BANK_SIZE < data.length; bank++) {
+            int length = Math.min(BANK_SIZE, Math.min(old.length - bank * oldBankStride, data.length - bank * BANK_SIZE));
+            System.arraycopy(old, bank * oldBankStride, data, bank * BANK_SIZE, length);
+        }
+    }
+
+    private void markAllWritten() {
+        Arrays.fill(written, true);
+        writtenPages = written.length;
+    }
+
+    // writes the pages that differ from the file, on the flusher thread or the one closing the RAM. the emulation
+    // thread may write a page while it is copied, it then differs again the next time. a RAM without its file tries
+    // to open it first, which writes all of it
+    synchronized void flush() {
+        if(file == null && fileName != null && !closed) open(false, BANK_SIZE);
+        if(file == null || writtenPages == 0) return;
+        try {
+            boolean changed = false;
+            for(int page = 0; page < written.length; page++) {
+                if(!written[page]) continue;
+                int start = page * PAGE_SIZE;
+                ByteBuffer saved = file.duplicate();
+                saved.position(start).limit(start + PAGE_SIZE);
+                if(ByteBuffer.wrap(data, start, PAGE_SIZE).equals(saved)) continue;
+
+                saved.put(data, start, PAGE_SIZE);
+                changed = true;
+            }
+            if(changed) file.force();
+        } catch (RuntimeException e) { //the mapping reports I/O errors unchecked
+            System.out.println("Could not write save file " + fileName + ": " + e);
+        }
+    }
+
+    // the last flush, after which the file is replaced atomically, so it is never left half written. the mapping
+    // stays until it is garbage collected, so on systems that can't replace a mapped file the move fails, and the
+    // file is left as the flush wrote it
+    synchronized void close() {
+        flush();
+        closed = true;
+        if(file == null) return;
+        flushing.cancel(false);
+        closeChannel();
+
+        Path path = path();
+        File temp = null;
+        try {
+            temp = File.createTempFile(path.getFileName().toString(), ".tmp", path.getParent().toFile());
+            Files.write(temp.toPath(), data);
+            Files.move(temp.toPath(), path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            //the mapped file is up to date after the flush anyway
+            System.out.println("Could not replace save file " + fileName + ": " + e);
+            if(temp != null) temp.delete();
+        }
+        release(); //only now, so the next writer doesn't map the file that is being replaced
+    }
+
+    private void release() {
+        synchronized(WRITERS) {
+            WRITERS.remove(path(), this);
+        }
+    }
+
+    private void closeChannel() {
+        file = null;
+        if(channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //nothing was written through the channel itself
+        }
+        channel = null;
+    }
+
+    private Path path() {
+        return Paths.get(fileName).toAbsolutePath().normalize();
+    }
+
+    // the file is only opened by the first flush, once the machine the state replaces has been closed
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        written = new boolean[data.length / PAGE_SIZE];
+    }
+}
@@ -0,0 +1,77 @@
+package org.the429ers.gameboy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// pausing flushes the battery RAM, the writes after it have to reach the .sav as well. a second cartridge on the same
+// .sav mustn't stop the first one from being saved, and a loaded save state takes the file over
+public class CartridgeRamTest {
+
+    public static void main(String args[]) throws IOException, InterruptedException, ClassNotFoundException {
+        Path dir = Files.createTempDirectory("oopboy");
+        Path romFile = dir.resolve("battery.gb");
+        byte[] data = new byte[0x8000];
+        data[0x0147] = 0x03; //MBC1 with RAM and a battery
+        data[0x0149] = 0x03; //32K of RAM
+        Files.write(romFile, data);
+        Path saveFile = dir.resolve("battery.gb.sav");
+
+        RomImage rom = RomImage.intern(data, romFile.toString());
+        Cartridge cartridge = new Mbc1(rom, romFile.toString());
+        cartridge.writeByte(0x0000, 0x0A); //enable RAM
+        cartridge.writeByte(0xA000, 0x11);
+        cartridge.flush();
+        cartridge.writeByte(0xA001, 0x22);
+        cartridge.flush();
+        check("written after a pause", saveFile, 0x11, 0x22, 0x00);
+
+        cartridge.writeByte(0xA002, 0x33);
+        Thread.sleep(1500);
+        check("flushed in the background after a pause", saveFile, 0x11, 0x22, 0x33);
+
+        Cartridge second = new Mbc1(rom, romFile.toString());
+        second.writeByte(0x0000, 0x0A);
+        System.out.println("second cartridge read the file: " + (second.readByte(0xA001) == 0x22 ? "ok" : "FAILED"));
+        second.writeByte(0xA000, 0x55);
+        second.flush();
+        cartridge.writeByte(0xA002, 0x44);
+        cartridge.flush();
+        check("first cartridge still saved", saveFile, 0x11, 0x22, 0x44);
+        cartridge.cleanUp();
+        check("written by cleanUp", saveFile, 0x11, 0x22, 0x44);
+        second.flush();
+        check("taken over by the second cartridge", saveFile, 0x55, 0x22, 0x33); //with all of its RAM
+
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(state)) {
+            out.writeObject(second);
+        }
+        second.writeByte(0xA000, 0x66);
+        Cartridge loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state.toByteArray()))) {
+            loaded = (Cartridge) in.readObject();
+        }
+        second.cleanUp();
+        loaded.flush();
+        check("taken over by a loaded state", saveFile, 0x55, 0x22, 0x33);
+        loaded.cleanUp();
+
+        Files.delete(saveFile);
+        Files.delete(romFile);
+        Files.delete(dir);
+    }
+
+    private static void check(String what, Path saveFile, int... expected) throws IOException {
+        byte[] saved = Files.readAllBytes(saveFile);
+        boolean ok = true;
+        for (int i = 0; i < expected.length; i++) {
+            ok &= (saved[i] & 0xff) == expected[i];
+        }
+        System.out.printf("%s: %s (%02x %02x %02x)%n", what, ok ? "ok" : "FAILED", saved[0], saved[1], saved[2]);
+    }
+}
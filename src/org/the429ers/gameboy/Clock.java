@@ -0,0 +1,148 @@
+package org.the429ers.gameboy;
+
+import java.io.Serializable;
+
+/***
+ *
+ * The clock of one emulated machine. The CPU and MMU tick it for every cycle they spend, which advances a cycle
+ * counter that never wraps. Every machine gets its own clock at construction, so any number of them can run in the
+ * same JVM; the frontend only hears about it through the FrameListener.
+ *
+ * Nothing is ticked along with the CPU. Subsystems catch up to now() when the CPU touches one of their registers,
+ * and schedule an Event for the next cycle they have to do something on their own, like a timer overflow, the end
+ * of a serial transfer or a PPU interrupt. Pending events are kept in a binary min-heap ordered by their cycle, so
+ * ticking only has to compare the counter against the earliest one. An event fires with now() at exactly the cycle
+ * it was scheduled for.
+ *
+ */
+public class Clock implements Serializable {
+    private static final long serialVersionUID = 5207915496305719442L;
+
+    interface FrameListener {
+        // called whenever the PPU has finished a frame
+        void frameDrawn();
+    }
+
+    interface Event {
+        // called once the cycle it was scheduled for is reached, it may schedule itself again
+        void fire();
+    }
+
+    private static final int MAX_EVENTS = 8;
+
+    private transient FrameListener frameListener;
+
+    private int numClocks = 0; //the cycles ticked since the last resetClocks
+    private long now = 0; //the cycles ticked since power on
+
+    // the pending events as a binary heap, the one at index 0 is due first
+    private final Event[] events = new Event[MAX_EVENTS];
+    private final long[] dueAt = new long[MAX_EVENTS];
+    private int numEvents = 0;
+
+    public void setFrameListener(FrameListener frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    public void resetClocks() {
+        numClocks = 0;
+    }
+
+    public int getClocks() {
+        return numClocks;
+    }
+
+    public long now() {
+        return now;
+    }
+
+    // advances the counter, firing the events that are due on the way
+    public void tick(int ticks) {
+        numClocks += ticks;
+        long end = now + ticks;
+        while (numEvents > 0 && dueAt[0] <= end) {
+            Event event = events[0];
+            now = Math.max(now, dueAt[0]);
+            removeAt(0);
+            event.fire();
+        }
+        now = end;
+    }
+
+    // the cycle the next event is due at, or Long.MAX_VALUE if none is scheduled
+    public long nextEventCycle() {
+        return numEvents > 0 ? dueAt[0] : Long.MAX_VALUE;
+    }
+
+    public void frameDrawn() {
+        if (frameListener != null) frameListener.frameDrawn();
+    }
+
+    // makes event fire at the given cycle, replacing the cycle it was scheduled for before if there was one
+    public void schedule(Event event, long cycle) {
+        int index = indexOf(event);
+        if (index < 0) {
+            if (numEvents == MAX_EVENTS) throw new IllegalStateException("too many events");
+            index = numEvents++;
+            events[index] = event;
+        }
+        dueAt[index] = cycle;
+        siftDown(siftUp(index));
+    }
+
+    public void cancel(Event event) {
+        int index = indexOf(event);
+        if (index >= 0) removeAt(index);
+    }
+
+    private int indexOf(Event event) {
+        for (int i = 0; i < numEvents; i++) {
+            if (events[i] == event) return i;
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        numEvents--;
+        if (index != numEvents) {
+            move(numEvents, index);
+            siftDown(siftUp(index));
+        }
+        events[numEvents] = null;
+    }
+
+    private int siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (dueAt[parent] <= dueAt[index]) break;
+            swap(parent, index);
+            index = parent;
+        }
+        return index;
+    }
+
+    private int siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < numEvents; child++) {
+                if (dueAt[child] < dueAt[smallest]) smallest = child;
+            }
+            if (smallest == index) return index;
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void move(int from, int to) {
+        events[to] = events[from];
+        dueAt[to] = dueAt[from];
+    }
+
+    private void swap(int a, int b) {
+        Event event = events[a];
+        long due = dueAt[a];
+        move(b, a);
+        events[b] = event;
+        dueAt[b] = due;
+    }
+}
@@ -0,0 +1,195 @@
+package org.the429ers.gameboy;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/***
+ *
+ * On-disk cache of the blocks compiled by the Recompiler, so that a new process running the same ROM doesn't have
+ * to warm up again. The file is named after the SHA-256 of the ROM and the emulator version, which is a digest of
+ * the classes the compiled blocks call into, so it is never used with a ROM or an emulator it wasn't made for.
+ *
+ * Every Recompiler running the same ROM shares one cache, so each file has a single writer. A single shutdown hook
+ * writes all of them when the JVM exits.
+ *
+ * -Doopboy.codecache=<dir> changes the directory (~/.oopboy/codecache by default), -Doopboy.codecache=none turns it off.
+ *
+ */
+final class CodeCache {
+    private static final int MAGIC = 0x00B10C5;
+    static final String EMULATOR_VERSION = classDigest(SwitchCore.class, Recompiler.class, CPU.class);
+
+    private static final Map<File, CodeCache> caches = new HashMap<>(); //guarded by itself
+
+    private final File file;
+
+    // class files of the blocks by slot and offset, the same layout as the blocks of the Recompiler
+    private final byte[][][] classFiles = new byte[Recompiler.MAX_BANKS + 1][][];
+    private boolean dirty = false;
+
+    private CodeCache(File file) {
+        this.file = file;
+    }
+
+    // the cache for a cartridge, or null if there is none. it is loaded the first time a cartridge with that ROM asks
+    static CodeCache forCartridge(Cartridge rom) {
+        String dir = System.getProperty("oopboy.codecache",
+                System.getProperty("user.home") + File.separator + ".oopboy" + File.separator + "codecache");
+        if(rom == null || rom.getRomHash() == null || EMULATOR_VERSION == null || dir.equalsIgnoreCase("none")) {
+            return null;
+        }
+
+        File file = new File(dir, rom.getRomHash() + "-" + EMULATOR_VERSION + ".blocks").getAbsoluteFile();
+        synchronized(caches) {
+            CodeCache cache = caches.get(file);
+            if(cache == null) {
+                //batch runs are usually ended with System.exit, so the caches are written when the JVM shuts down
+                if(caches.isEmpty()) Runtime.getRuntime().addShutdownHook(new Thread(CodeCache::saveAll));
+                cache = new CodeCache(file);
+                cache.load();
+                caches.put(file, cache);
+            }
+            return cache;
+        }
+    }
+
+    private static void saveAll() {
+        synchronized(caches) {
+            caches.values().forEach(CodeCache::save);
+        }
+    }
+
+    static String romHash(byte[] rom) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(rom));
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static String classDigest(Class<?>... classes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for(Class<?> c : classes) {
+                try (InputStream in = c.getResourceAsStream(c.getSimpleName() + ".class")) {
+                    if(in == null) return null;
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return toHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return null;
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for(byte b : bytes) {
+            hex.append(String.format("%02x", b & 0xff));
+        }
+        return hex.toString();
+    }
+
+    synchronized byte[] get(int slot, int offset) {
+        byte[][] slotClasses = classFiles[slot];
+        return slotClasses == null ? null : slotClasses[offset];
+    }
+
+    synchronized void put(int slot, int offset, byte[] classFile) {
+        if(classFiles[slot] == null) classFiles[slot] = new byte[0x4000][];
+        classFiles[slot][offset] = classFile;
+        dirty = true;
+    }
+
+    // a file that is truncated or corrupt is a miss: it is deleted, and the blocks are compiled again and saved anew.
+    // the lengths in it are checked against what is left of the file before anything is allocated for them
+    private void load() {
+        if(!file.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long remaining = file.length() - 8;
+            if(remaining < 0 || in.readInt() != MAGIC) throw new IOException("not a code cache");
+
+            int count = in.readInt();
+            for(int i = 0; i < count; i++) {
+                if(remaining < 8) throw new IOException("truncated");
+                int slot = in.readUnsignedShort();
+                int offset = in.readUnsignedShort();
+                int length = in.readInt();
+                remaining -= 8;
+                if(slot > Recompiler.MAX_BANKS || offset >= 0x4000 || length < 0 || length > remaining) {
+                    throw new IOException("bad block at " + slot + ":" + offset);
+                }
+
+                byte[] classFile = new byte[length];
+                in.readFully(classFile);
+                remaining -= length;
+                if(classFiles[slot] == null) classFiles[slot] = new byte[0x4000][];
+                classFiles[slot][offset] = classFile;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Discarding code cache " + file + ": " + e);
+            Arrays.fill(classFiles, null);
+            if(!file.delete()) System.out.println("Could not delete code cache " + file);
+        }
+    }
+
+    // writes to a temporary file first, so a process reading the cache at the same time never sees half of it
+    synchronized void save() {
+        if(!dirty) return;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int count = 0;
+            for(byte[][] slotClasses : classFiles) {
+                if(slotClasses == null) continue;
+                for(byte[] classFile : slotClasses) {
+                    if(classFile != null) count++;
+                }
+            }
+
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            for(int slot = 0; slot < classFiles.length; slot++) {
+                if(classFiles[slot] == null) continue;
+                for(int offset = 0; offset < 0x4000; offset++) {
+                    byte[] classFile = classFiles[slot][offset];
+                    if(classFile == null) continue;
+
+                    out.writeShort(slot);
+                    out.writeShort(offset);
+                    out.writeInt(classFile.length);
+                    out.write(classFile);
+                }
+            }
+        } catch (IOException e) {
+            return;
+        }
+
+        try {
+            file.getParentFile().mkdirs();
+            File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                out.write(bytes.toByteArray());
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("Could not write code cache " + file + ": " + e);
+        }
+    }
+}
@@ -5,8 +5,10 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
-public class ColorPPU implements IPPU, Serializable {
+public class ColorPPU implements IPPU, Serializable, Clock.Event, MMU.IOObserver {
     private MMU mem;
+    private Clock clock;
+    private long lastUpdate; //the cycle the PPU has caught up to
     private LCDControl lcdControl;
     private ColorPaletteManager backgroundColorPaletteManager;
     private ColorPaletteManager spriteColorPaletteManager;
@@ -30,9 +32,10 @@ public class ColorPPU implements IPPU, Serializable {
     private boolean vBlank;
     private boolean disabledLastTick;
     
-    public ColorPPU(MMU mem, GameBoyScreen gbs) {
+    public ColorPPU(MMU mem, GameBoyScreen gbs, Clock clock) {
         this.mem = mem;
-        lcdControl = new LCDControl(mem);
+        this.clock = clock;
+        lcdControl = new LCDControl(mem.getRegister(MMU.LCDC_REGISTER));
         this.gbs = gbs;
         frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
         sprites = new HashMap<>();
@@ -41,6 +44,20 @@ public class ColorPPU implements IPPU, Serializable {
         spriteManager = new SpriteManager(mem, tileSetManager, lcdControl);
         spriteManager.initializeSprites();
         mem.setSpriteManager(spriteManager);
+        mem.observeIO(MMU.LCDC_REGISTER, this);
+        mem.observeIO(MMU.LY_COMPARE_REGISTER, this);
+        mem.observeIO(SCROLL_X_REGISTER, this);
+        scheduleNextEvent();
+    }
+    
+    // the MMU has made the PPU catch up before the write, so the new value only counts from now on
+    @Override
+    public void ioWritten(int location, int value) {
+        switch (location) {
+            case MMU.LCDC_REGISTER: setLCDC(value); break;
+            case MMU.LY_COMPARE_REGISTER: setLYCompare(value); break;
+            case SCROLL_X_REGISTER: scrollX = value; break;
+        }
     }
     
     public void toggleHBlankIndicator() {
@@ -65,8 +82,21 @@ public class ColorPPU implements IPPU, Serializable {
         this.spriteColorPaletteManager = sprites;
     }
 
-    public void tick() {
-        lcdControl.update();
+    @Override
+    public void fire() {
+        catchUp();
+    }
+    
+    // runs the cycles up to the current one of the clock. LCDC, SCX and everything else the CPU can change only
+    // change after the MMU has called this, so they can't change in the middle of it. LCDC and SCX are pushed by
+    // ioWritten, the registers that are only looked at once per line or frame are read from the MMU then
+    @Override
+    public void catchUp() {
+        long now = clock.now();
+        int cycles = (int) (now - lastUpdate);
+        if (cycles == 0) return;
+        lastUpdate = now;
+        
         if (!lcdControl.isDisplayEnabled()) {
             disabledLastTick = true;
             return;
@@ -76,19 +106,62 @@ public class ColorPPU implements IPPU, Serializable {
             disabledLastTick = false;
         }
         
+        while (cycles > 0) {
+            int uneventful = Math.min(IPPU.uneventfulCycles(cycleCount, currentY), cycles);
+            if (uneventful == 0) {
+                tick();
+                cycles--;
+                continue;
+            }
+            for (int i = 0; i < uneventful; i++) {
+                if (isTransferringPixel(cycleCount + i)) drawPixel();
+            }
+            endCycles(uneventful);
+            cycles -= uneventful;
+        }
+        scheduleNextEvent();
+    }
+    
+    // the registers stay as they are while the display is off
+    @Override
+    public int cyclesUntilChange(int location) {
+        catchUp();
+        if (!lcdControl.isDisplayEnabled()) return Integer.MAX_VALUE;
+        return IPPU.cyclesUntilWrite(location, cycleCount, currentY);
+    }
+    
+    @Override
+    public int cyclesUntilHBlank() {
+        catchUp();
+        if (!lcdControl.isDisplayEnabled()) return -1;
+        return IPPU.cyclesUntilHBlank(cycleCount, currentY);
+    }
+    
+    private boolean isTransferringPixel(int cycle) {
+        return cycle >= PIXEL_TRANSFER_START && cycle < PIXEL_TRANSFER_START + 160 && currentY < ACTUAL_LINES;
+    }
     
-        scrollX = mem.readByte(0xFF43);
+    // nothing happens while the display is off, so there's nothing to schedule until LCDC turns it back on
+    private void scheduleNextEvent() {
+        if (!lcdControl.isDisplayEnabled()) {
+            clock.cancel(this);
+            return;
+        }
+        clock.schedule(this, lastUpdate + IPPU.cyclesUntilEvent(cycleCount, currentY, LYCompare, true) + 1);
+    }
+    
+    private void tick() {
         if (cycleCount == OAM_SEARCH_START) {
             if (!lcdControl.isBackgroundDisplay()) {
                 System.out.println("turn off the bg");
             }
             hBlank = false;
-            scrollY = mem.readByte(0xFF42);
+            scrollY = mem.getRegister(0xFF42);
             if (currentY < ACTUAL_LINES) {
-                int status = mem.readByte(0xFF41) & 0x3F;
-                mem.writeByte(0xFF41, status | 0x80);
+                int status = mem.getRegister(0xFF41) & 0x3F;
+                mem.setRegister(0xFF41, status | 0x80);
             }
-            mem.writeByte(0xFF44, currentY);
+            mem.setRegister(0xFF44, currentY);
             if (currentY == 0) {
                 this.loadMap();
                 vBlank = false;
@@ -98,93 +171,100 @@ public class ColorPPU implements IPPU, Serializable {
                 loadSprites();
             }
             //loadWindow(useTileSet1, useWindowTileMap1);
-            windowX = mem.readByte(0xff4b) - 7;
-            windowY = mem.readByte(0xff4a);
+            windowX = mem.getRegister(0xff4b) - 7;
+            windowY = mem.getRegister(0xff4a);
             currentX = 0;
-            scrollX = mem.readByte(0xFF43);
             loadWindow();
         }
         if (cycleCount == PIXEL_TRANSFER_START) {
-            int status = mem.readByte(0xFF41) & 0x3F;
-            mem.writeByte(0xFF41, status | 0xC0);
+            int status = mem.getRegister(0xFF41) & 0x3F;
+            mem.setRegister(0xFF41, status | 0xC0);
         }
         
+        // Actually transfer pixels
+        if (isTransferringPixel(cycleCount)) {
+            drawPixel();
+        }
+        // H-Blank Interrupt
+        if (cycleCount == H_BLANK_START && currentY < ACTUAL_LINES) {
+            hBlank = true;
+            int status = mem.getRegister(0xFF41) & 0x3F;
+            mem.setRegister(0xFF41, status | 0xC0);
+        }
         
         
-        // Actually transfer pixels
-        if (cycleCount >= PIXEL_TRANSFER_START && cycleCount < PIXEL_TRANSFER_START + 160 && currentY < ACTUAL_LINES) {
-            int yPos = currentY + scrollY;
-            int xPos = scrollX + currentX;
-            Tile currentTile;
-            ColorPalette currentPalette;
-            int pixel;
-            Tile backgroundTile = background.getTile(yPos / 8, xPos / 8);
-            if (lcdControl.isWindowEnabled() && currentX >= windowX && currentY >= windowY) {
-                Tile windowTile = window.getTile((currentY - windowY) / 8, (currentX - windowX) / 8);
-                int windowPixel = windowTile.getPixel((currentY - windowY)  % 8, (currentX - windowX) % 8);
-                if (lcdControl.isSpritesEnabled() && sprites.containsKey(currentX + 8) && !window.hasPriority((currentY - windowY) / 8, (currentX - windowX) / 8)) {
-                    IColorSprite currentSprite = sprites.get(currentX + 8);
-                    int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
-                    if ((currentSprite.getPriority() == 0 || windowPixel == 0) && spritePixel != 0) {
-                        //currentTile = currentSprite.getTile();
-                        currentPalette = spriteColorPaletteManager.getPalette(currentSprite.getPaletteNumber());
-                        pixel = spritePixel;
-                    }
-                    else {
-                        currentTile = windowTile;
-                        currentPalette = backgroundColorPaletteManager.getPalette(window.getPaletteNumber((currentY - windowY)  % 8, (currentX - windowX) % 8));
-                        pixel = windowPixel;
-                    }
-                }
-                else {
-                    currentTile = windowTile;
-                    currentPalette = backgroundColorPaletteManager.getPalette(window.getPaletteNumber((currentY - windowY)  % 8, (currentX - windowX) % 8));
-                    pixel = windowPixel;
-                }
+        // Increment currentY
+        if (cycleCount == H_BLANK_END) {
+            currentY++;
+            if (currentY == 154) {
+                currentY = 0;
             }
-            else if (lcdControl.isSpritesEnabled() && sprites.containsKey(currentX + 8)) {
+        }
+        
+        endCycles(1);
+    }
+    
+    private void drawPixel() {
+        int yPos = currentY + scrollY;
+        int xPos = scrollX + currentX;
+        Tile currentTile;
+        ColorPalette currentPalette;
+        int pixel;
+        Tile backgroundTile = background.getTile(yPos / 8, xPos / 8);
+        if (lcdControl.isWindowEnabled() && currentX >= windowX && currentY >= windowY) {
+            Tile windowTile = window.getTile((currentY - windowY) / 8, (currentX - windowX) / 8);
+            int windowPixel = windowTile.getPixel((currentY - windowY)  % 8, (currentX - windowX) % 8);
+            if (lcdControl.isSpritesEnabled() && sprites.containsKey(currentX + 8) && !window.hasPriority((currentY - windowY) / 8, (currentX - windowX) / 8)) {
                 IColorSprite currentSprite = sprites.get(currentX + 8);
                 int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
-                if ((currentSprite.getPriority() == 0 || backgroundTile.getPixel(yPos % 8, xPos % 8) == 0) && spritePixel != 0) {
+                if ((currentSprite.getPriority() == 0 || windowPixel == 0) && spritePixel != 0) {
                     //currentTile = currentSprite.getTile();
                     currentPalette = spriteColorPaletteManager.getPalette(currentSprite.getPaletteNumber());
                     pixel = spritePixel;
-
                 }
                 else {
-                    currentTile = backgroundTile;
-                    currentPalette = backgroundColorPaletteManager.getPalette(background.getPaletteNumber(yPos / 8, xPos / 8));
-                    pixel = currentTile.getPixel(yPos % 8, xPos % 8);
+                    currentTile = windowTile;
+                    currentPalette = backgroundColorPaletteManager.getPalette(window.getPaletteNumber((currentY - windowY)  % 8, (currentX - windowX) % 8));
+                    pixel = windowPixel;
                 }
             }
+            else {
+                currentTile = windowTile;
+                currentPalette = backgroundColorPaletteManager.getPalette(window.getPaletteNumber((currentY - windowY)  % 8, (currentX - windowX) % 8));
+                pixel = windowPixel;
+            }
+        }
+        else if (lcdControl.isSpritesEnabled() && sprites.containsKey(currentX + 8)) {
+            IColorSprite currentSprite = sprites.get(currentX + 8);
+            int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
+            if ((currentSprite.getPriority() == 0 || backgroundTile.getPixel(yPos % 8, xPos % 8) == 0) && spritePixel != 0) {
+                //currentTile = currentSprite.getTile();
+                currentPalette = spriteColorPaletteManager.getPalette(currentSprite.getPaletteNumber());
+                pixel = spritePixel;
+
+            }
             else {
                 currentTile = backgroundTile;
                 currentPalette = backgroundColorPaletteManager.getPalette(background.getPaletteNumber(yPos / 8, xPos / 8));
                 pixel = currentTile.getPixel(yPos % 8, xPos % 8);
             }
-            if (frame == null) {
-                frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
-            }
-
-            frame.setRGB(currentX, currentY, currentPalette.getColor(pixel).getRGB());
-            currentX++;
         }
-        // H-Blank Interrupt
-        if (cycleCount == H_BLANK_START && currentY < ACTUAL_LINES) {
-            hBlank = true;
-            int status = mem.readByte(0xFF41) & 0x3F;
-            mem.writeByte(0xFF41, status | 0xC0);
+        else {
+            currentTile = backgroundTile;
+            currentPalette = backgroundColorPaletteManager.getPalette(background.getPaletteNumber(yPos / 8, xPos / 8));
+            pixel = currentTile.getPixel(yPos % 8, xPos % 8);
         }
-        
-        
-        // Increment currentY
-        if (cycleCount == H_BLANK_END) {
-            currentY++;
-            if (currentY == 154) {
-                currentY = 0;
-            }
+        if (frame == null) {
+            frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
         }
-        
+
+        frame.setRGB(currentX, currentY, currentPalette.getColor(pixel).getRGB());
+        currentX++;
+    }
+    
+    // what happens at the end of every cycle. the n cycles in a row that uneventfulCycles allows do the same thing
+    // every time, so it's only done once for them
+    private void endCycles(int n) {
         drewFrame = false;
         // Send V-Blank interrupt
         if (currentY == 145 && cycleCount == 0) {
@@ -194,23 +274,22 @@ public class ColorPPU implements IPPU, Serializable {
         }
         
         //send LCDC interrupt
-        if (currentY == LYCompare){
-            int interruptRegister = mem.readByte(0xFF0F) & 0xFE;
-            mem.writeByte(0xFF0F, interruptRegister | 0x02);
+        if (IPPU.isCompareEdge(cycleCount, currentY, LYCompare)){
+            mem.requestInterrupt(InterruptHandler.LCDC_MASK);
         }
         
-        cycleCount++;
+        cycleCount += n;
         cycleCount %= LINE_LENGTH;
     }
     
     
     private void drawFrame() {
-        int status = mem.readByte(0xFF41) & 0x3F;
-        mem.writeByte(0xFF41, status | 0x40);
+        int status = mem.getRegister(0xFF41) & 0x3F;
+        mem.setRegister(0xFF41, status | 0x40);
         gbs.drawFrame(frame);
         drewFrame = true;
-        int interruptRegister = mem.readByte(0xFF0F) & 0xFE;
-        mem.writeByte(0xFF0F, interruptRegister | 0x01);
+        clock.frameDrawn();
+        mem.requestInterrupt(InterruptHandler.VBLANK_MASK);
         //mem.writeByte(0xFF85, 0xFF);
         //mem.writeByte(0xFF44, 0x90);
     }
@@ -303,8 +382,19 @@ public class ColorPPU implements IPPU, Serializable {
 
     @Override
     public void setLYCompare(int lyCompare) {
-        // TODO Auto-generated method stub
+        //LYC coming to match the current line is an edge as well
+        if (lcdControl.isDisplayEnabled() && lyCompare != LYCompare && lyCompare == currentY) {
+            mem.requestInterrupt(InterruptHandler.LCDC_MASK);
+        }
         this.LYCompare = lyCompare;
+        scheduleNextEvent();
+    }
+    
+    
+    @Override
+    public void setLCDC(int lcdc) {
+        lcdControl.update(lcdc);
+        scheduleNextEvent();
     }
 
 
@@ -0,0 +1,404 @@
+package org.the429ers.gameboy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/***
+ *
+ * The debugger of one GameBoy. Commands are read on a thread of their own and handed to the emulation thread as
+ * Commands through a lock-free queue, which the run loop drains between instructions, so the emulation thread never
+ * waits for input and any number of GameBoys can run in the same process while one of them is being debugged.
+ *
+ * There is one console for the whole process, since every GameBoy would read the same System.in. It is started the
+ * first time one of them breaks, and its commands go to the selected GameBoy, which is the one that broke last or
+ * the one chosen with i.
+ *
+ * When the emulation thread stops at a breakpoint it publishes a Snapshot of the machine, which xc and xh print from
+ * this thread. Everything that has to see or change the live machine, like memory dumps and writes, runs on the
+ * emulation thread as a Command.
+ *
+ *   b addr [cond] / d addr  set or delete a breakpoint, one with a condition like b 150 A == 3 only breaks when
+ *                       the register passes it. the registers are A F B C D E H L AF BC DE HL SP, the operators
+ *                       == != < <= > >= & and the values hex
+ *   w range [cond] / r range [cond]  break after an instruction writes or reads an address in range, like
+ *                       w C000..C0FF == 0. the condition is on the value written or read
+ *   lw / dw id          list or delete watchpoints
+ *   c / n / nm count    continue, step one instruction, run count instructions and break
+ *   xc / xh / xm addr n print the registers, the last instructions run or n bytes of memory
+ *   sm addr bytes       write hex bytes to memory
+ *   hes bytes / hec / her   search memory for hex bytes, narrow down the last search, show or reset the candidates
+ *   i [n]               list the GameBoys of the process, or select the nth
+ *
+ */
+class Debugger {
+    interface Command {
+        // runs on the emulation thread
+        void run(GameBoy gb);
+    }
+
+    // the machine as the emulation thread found it when it was suspended
+    static final class Snapshot {
+        final int pc;
+        final String state;
+        final int[] history;
+
+        Snapshot(GameBoy gb) {
+            this.pc = gb.cpu.regs.pc;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            PrintStream out = new PrintStream(bytes);
+            gb.cpu.coreDump(out);
+            out.flush();
+            this.state = bytes.toString();
+            this.history = new int[gb.historyLength];
+            for (int i = 0; i < history.length; i++) {
+                history[i] = gb.history[(gb.historyEnd - history.length + i + GameBoy.MAX_HISTORY) % GameBoy.MAX_HISTORY];
+            }
+        }
+    }
+
+    // how long a suspended emulation thread sleeps when there is no command, post() wakes it up before that
+    private static final long SUSPENDED_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final List<Debugger> debuggers = new ArrayList<>(); //guarded by itself
+    private static volatile Debugger selected;
+    private static Thread console; //guarded by debuggers
+
+    private final GameBoy gb;
+    private final ConcurrentLinkedQueue<Command> commands = new ConcurrentLinkedQueue<>();
+    private volatile Snapshot snapshot; //null while the emulation thread isn't suspended
+    private volatile Thread suspendedThread;
+
+    private List<Integer> hexEditorCandidates = null; //only used by Commands
+    private int nextWatchpointId = 1;
+
+    Debugger(GameBoy gb) {
+        this.gb = gb;
+        synchronized (debuggers) {
+            debuggers.add(this);
+            if (selected == null) selected = this;
+        }
+    }
+
+    // the GameBoy is gone, its commands can't run anymore
+    void close() {
+        synchronized (debuggers) {
+            debuggers.remove(this);
+            if (selected == this) selected = debuggers.isEmpty() ? null : debuggers.get(0);
+        }
+    }
+
+    // starts the console reading in, unless it already runs
+    static void startConsole(InputStream in) {
+        synchronized (debuggers) {
+            if (console != null) return;
+            console = new Thread(() -> readCommands(new Scanner(in)), "Debugger");
+            console.setDaemon(true);
+            console.start();
+        }
+    }
+
+    // reads commands for the selected debugger until the input ends
+    private static void readCommands(Scanner in) {
+        while (in.hasNext()) {
+            String cmd = in.next();
+            boolean stillSuspended;
+            try {
+                stillSuspended = cmd.equals("i") ? select(in.nextLine().trim()) : dispatch(cmd, in);
+            } catch (InputMismatchException e) {
+                System.out.println("Invalid argument for " + cmd);
+                in.nextLine();
+                stillSuspended = true;
+            } catch (IllegalArgumentException e) { //conditions and ranges consume the rest of the line themselves
+                System.out.println("Invalid argument for " + cmd + ": " + e.getMessage());
+                stillSuspended = true;
+            } catch (NoSuchElementException e) {
+                return;
+            }
+            Debugger current = selected;
+            Snapshot suspendedAt = current == null ? null : current.snapshot;
+            if (stillSuspended && suspendedAt != null) prompt(suspendedAt);
+        }
+    }
+
+    // lists the debuggers for an empty argument, otherwise selects the one it numbers
+    private static boolean select(String argument) {
+        synchronized (debuggers) {
+            if (!argument.isEmpty()) {
+                int index = Integer.parseInt(argument); //a NumberFormatException is an IllegalArgumentException
+                if (index < 0 || index >= debuggers.size()) throw new IllegalArgumentException("no GameBoy " + index);
+                selected = debuggers.get(index);
+            }
+            for (int i = 0; i < debuggers.size(); i++) {
+                Debugger debugger = debuggers.get(i);
+                System.out.printf("%s%d: %s%s%n", debugger == selected ? "*" : " ", i, debugger.gb.romFileName,
+                        debugger.snapshot != null ? " (suspended)" : "");
+            }
+        }
+        return true;
+    }
+
+    // runs cmd on the selected debugger. returns false if the command makes a suspended emulation thread go on
+    private static boolean dispatch(String cmd, Scanner in) {
+        Debugger debugger = selected;
+        if (debugger == null) {
+            System.out.println("No GameBoy to debug");
+            in.nextLine();
+            return true;
+        }
+        return debugger.handle(cmd, in);
+    }
+
+    private boolean handle(String cmd, Scanner in) {
+        switch (cmd) {
+            case "b": {
+                int address = in.nextInt(16);
+                Predicate<RegisterFile> condition = breakCondition(in.nextLine().trim());
+                post(gb -> {
+                    if (condition != null) {
+                        gb.breakConditions.put(address, condition);
+                    } else {
+                        gb.breakConditions.remove(address);
+                    }
+                    gb.breakPoints.set(address);
+                });
+                return true;
+            }
+            case "d": {
+                int address = in.nextInt(16);
+                post(gb -> {
+                    gb.breakPoints.clear(address);
+                    gb.breakConditions.remove(address);
+                });
+                return true;
+            }
+            case "w":
+            case "r": {
+                Watchpoint watchpoint = watchpoint(nextWatchpointId, cmd.equals("w"), in.nextLine().trim());
+                nextWatchpointId++;
+                post(gb -> {
+                    gb.watchpoints.add(watchpoint);
+                    gb.installWatchpoints();
+                    System.out.println("Watchpoint " + watchpoint);
+                });
+                return true;
+            }
+            case "lw":
+                post(gb -> gb.watchpoints.forEach(System.out::println));
+                return true;
+            case "dw": {
+                int id = in.nextInt();
+                post(gb -> {
+                    if (!gb.watchpoints.removeIf(watchpoint -> watchpoint.id == id)) {
+                        System.out.println("No watchpoint " + id);
+                    }
+                    gb.installWatchpoints();
+                });
+                return true;
+            }
+            case "c":
+                post(gb -> gb.resume(false, -1));
+                return false;
+            case "n":
+                post(gb -> gb.resume(true, -1));
+                return false;
+            case "nm": {
+                int count = in.nextInt();
+                post(gb -> gb.resume(false, count));
+                return false;
+            }
+            case "xc": {
+                Snapshot current = snapshot;
+                if (current != null) {
+                    System.out.print(current.state);
+                } else {
+                    post(gb -> gb.cpu.coreDump());
+                }
+                return true;
+            }
+            case "xh": {
+                Snapshot current = snapshot;
+                if (current != null) {
+                    printHistory(current.history);
+                } else {
+                    post(gb -> printHistory(new Snapshot(gb).history));
+                }
+                return true;
+            }
+            case "xm": {
+                int address = in.nextInt(16);
+                int length = in.nextInt();
+                post(gb -> gb.mmu.memdump(address, length));
+                return true;
+            }
+            case "sm": {
+                int address = in.nextInt(16);
+                byte[] bytes = hexStringToBytes(in.next());
+                post(gb -> gb.mmu.writeBytes(address, bytes));
+                return true;
+            }
+            case "hes": {
+                byte[] sequence = hexStringToBytes(in.next());
+                System.out.println(Arrays.toString(sequence));
+                post(gb -> searchMemory(sequence));
+                return true;
+            }
+            case "her":
+                post(gb -> hexEditorCandidates = null);
+                return true;
+            case "hec":
+                post(gb -> printCandidates());
+                return true;
+            default:
+                System.out.println("Command not recognized");
+                return true;
+        }
+    }
+
+    private void searchMemory(byte[] sequence) {
+        if (hexEditorCandidates != null) {
+            hexEditorCandidates = gb.mmu.filter(hexEditorCandidates, sequence);
+        } else {
+            hexEditorCandidates = gb.mmu.search(sequence);
+        }
+
+        System.out.println(hexEditorCandidates.size() + " candidates remaining. Type her to reset or hec to view candidates");
+    }
+
+    private void printCandidates() {
+        if (hexEditorCandidates == null) {
+            System.out.println("A search has not yet been performed. Use hes to perform a search.");
+            return;
+        }
+        for (int candidate : hexEditorCandidates) {
+            System.out.printf("%04x ", candidate);
+        }
+        System.out.println();
+    }
+
+    private static void printHistory(int[] history) {
+        for (int pc : history) {
+            System.out.printf("%x ", pc);
+        }
+        System.out.println();
+    }
+
+    private static void prompt(Snapshot current) {
+        System.out.print("Suspended at " + Integer.toString(current.pc, 16) + ": ");
+    }
+
+    // parses "reg op value", or returns null for an empty string
+    static Predicate<RegisterFile> breakCondition(String condition) {
+        if (condition.isEmpty()) return null;
+        String[] parts = condition.split("\\s+");
+        if (parts.length != 3) throw new IllegalArgumentException("expected register, operator and value");
+        ToIntFunction<RegisterFile> register = register(parts[0]);
+        IntPredicate test = compare(parts[1], parseHex(parts[2]));
+        return regs -> test.test(register.applyAsInt(regs));
+    }
+
+    // parses "start[..end] [op value]"
+    static Watchpoint watchpoint(int id, boolean onWrite, String description) {
+        String[] parts = description.split("\\s+");
+        if (parts.length != 1 && parts.length != 3) throw new IllegalArgumentException("expected range [operator value]");
+        String[] range = parts[0].split("\\.\\.");
+        int start = parseHex(range[0]);
+        int end = range.length > 1 ? parseHex(range[1]) : start;
+        if (range.length > 2 || start > end || end > 0xFFFF) throw new IllegalArgumentException("bad range " + parts[0]);
+        IntPredicate predicate = parts.length == 3 ? compare(parts[1], parseHex(parts[2])) : value -> true;
+        return new Watchpoint(id, onWrite, start, end, predicate, (onWrite ? "w " : "r ") + description);
+    }
+
+    static IntPredicate compare(String operator, int operand) {
+        switch (operator) {
+            case "==": return value -> value == operand;
+            case "!=": return value -> value != operand;
+            case "<": return value -> value < operand;
+            case "<=": return value -> value <= operand;
+            case ">": return value -> value > operand;
+            case ">=": return value -> value >= operand;
+            case "&": return value -> (value & operand) != 0;
+            default: throw new IllegalArgumentException("unknown operator " + operator);
+        }
+    }
+
+    static ToIntFunction<RegisterFile> register(String name) {
+        switch (name.toUpperCase()) {
+            case "A": return regs -> regs.af() >> 8;
+            case "F": return regs -> regs.af() & 0xF0;
+            case "B": return regs -> regs.bc >> 8;
+            case "C": return regs -> regs.bc & 0xFF;
+            case "D": return regs -> regs.de >> 8;
+            case "E": return regs -> regs.de & 0xFF;
+            case "H": return regs -> regs.hl >> 8;
+            case "L": return regs -> regs.hl & 0xFF;
+            case "AF": return regs -> regs.af() & 0xFFF0;
+            case "BC": return regs -> regs.bc;
+            case "DE": return regs -> regs.de;
+            case "HL": return regs -> regs.hl;
+            case "SP": return regs -> regs.sp;
+            default: throw new IllegalArgumentException("unknown register " + name);
+        }
+    }
+
+    private static int parseHex(String value) {
+        if (value.startsWith("0x") || value.startsWith("0X")) value = value.substring(2);
+        return Integer.parseInt(value, 16); //a NumberFormatException is an IllegalArgumentException
+    }
+
+    // throws an IllegalArgumentException for anything but pairs of hex digits
+    public static byte[] hexStringToBytes(String sequenceStr) {
+        if (sequenceStr.length() % 2 != 0) throw new IllegalArgumentException("must give an integral number of bytes");
+        byte[] sequence = new byte[sequenceStr.length() / 2];
+        for (int i = 0; i < sequenceStr.length(); i += 2) {
+            sequence[i / 2] = (byte) Integer.parseInt(sequenceStr.substring(i, i + 2), 16);
+        }
+        return sequence;
+    }
+
+    void post(Command command) {
+        commands.add(command);
+        gb.wakeRunLoop();
+        Thread waiting = suspendedThread;
+        if (waiting != null) LockSupport.unpark(waiting);
+    }
+
+    // runs the commands that have been posted so far, on the emulation thread
+    void runCommands() {
+        Command command;
+        while ((command = commands.poll()) != null) {
+            command.run(gb);
+        }
+    }
+
+    // called by the emulation thread whenever it is suspended and has nothing to run. the snapshot is only taken
+    // the first time, after that it just waits a little for the next command
+    void suspended() {
+        if (snapshot == null) {
+            Snapshot current = new Snapshot(gb);
+            snapshot = current;
+            selected = this;
+            prompt(current);
+        }
+        suspendedThread = Thread.currentThread();
+        if (commands.isEmpty()) LockSupport.parkNanos(this, SUSPENDED_POLL_NANOS);
+        suspendedThread = null;
+    }
+
+    // called by the emulation thread when it goes on after being suspended
+    void resumed() {
+        snapshot = null;
+    }
+}
@@ -0,0 +1,136 @@
+package org.the429ers.gameboy;
+
+import java.io.Serializable;
+
+/***
+ *
+ * The DMA transfers: OAM DMA through FF46 and, on the CGB, general purpose and HBlank DMA to VRAM through FF51-FF55.
+ * The MMU copies every transfer in bulk through its page tables instead of a readByte and writeByte per byte, and the
+ * tile sets and sprites are updated once per transfer.
+ *
+ * OAM DMA copies at once, and an OamRelease event gives OAM back to the CPU OAM_DMA_CYCLES later, reads of it return
+ * FF until then. General purpose DMA copies all of its blocks at once and stalls the CPU for BLOCK_CYCLES per block.
+ * HBlank DMA is a Clock event at the first cycle of every HBlank, which the PPU gives, that copies one block and
+ * stalls the CPU the same way.
+ *
+ */
+class Dma implements Serializable, Clock.Event, MMU.IOReader, MMU.IOObserver {
+    private static final long serialVersionUID = -4474133305183575591L;
+
+    static final int OAM_DMA_CYCLES = 640;
+    static final int BLOCK_SIZE = 0x10;
+    static final int BLOCK_CYCLES = 32;
+
+    private final MMU mmu;
+    private final Clock clock;
+    private final OamRelease oamRelease = new OamRelease();
+    private boolean oamBusy = false;
+
+    // FF51-FF54 as written, and the transfer they started. blocksLeft is what FF55 reads, it counts down as blocks
+    // are copied, and stays where it is when HBlank DMA is stopped
+    private int sourceHigh, sourceLow, destinationHigh, destinationLow;
+    private int source, destination;
+    private int blocksLeft = 0;
+    private boolean hBlankActive = false;
+
+    Dma(MMU mmu, Clock clock, boolean isCGB) {
+        this.mmu = mmu;
+        this.clock = clock;
+        mmu.observeIO(MMU.DMA_REGISTER, this);
+        if (!isCGB) return;
+        for (int location = MMU.CGB_DMA_SOURCE_HIGH; location <= MMU.CGB_DMA_START; location++) {
+            mmu.mapIORead(location, this);
+            mmu.observeIO(location, this);
+        }
+    }
+
+    // FF51-FF54 can't be read back
+    @Override
+    public int readIO(int location) {
+        if (location != MMU.CGB_DMA_START) return 0xFF;
+        return (hBlankActive ? 0x00 : 0x80) | ((blocksLeft - 1) & 0x7F);
+    }
+
+    @Override
+    public void ioWritten(int location, int value) {
+        switch (location) {
+            case MMU.DMA_REGISTER: startOamDma(value); break;
+            case MMU.CGB_DMA_SOURCE_HIGH: sourceHigh = value; break;
+            case MMU.CGB_DMA_SOURCE_LOW: sourceLow = value & 0xF0; break;
+            case MMU.CGB_DMA_DESTINATION_HIGH: destinationHigh = value & 0x1F; break;
+            case MMU.CGB_DMA_DESTINATION_LOW: destinationLow = value & 0xF0; break;
+            case MMU.CGB_DMA_START: start(value); break;
+        }
+    }
+
+    boolean isOamBusy() {
+        return oamBusy;
+    }
+
+    private void startOamDma(int value) {
+        mmu.copyToOAM(value << 8);
+        oamBusy = true;
+        mmu.mapOAM();
+        clock.schedule(oamRelease, clock.now() + OAM_DMA_CYCLES);
+    }
+
+    private void start(int value) {
+        //writing 0 to bit 7 while HBlank DMA runs only stops it
+        if (hBlankActive && (value & 0x80) == 0) {
+            hBlankActive = false;
+            clock.cancel(this);
+            return;
+        }
+
+        source = (sourceHigh << 8) | sourceLow;
+        destination = 0x8000 | (destinationHigh << 8) | destinationLow;
+        blocksLeft = (value & 0x7F) + 1;
+        if ((value & 0x80) == 0) {
+            copyBlocks(blocksLeft);
+        } else {
+            hBlankActive = true;
+            scheduleHBlank();
+        }
+    }
+
+    // copies count blocks on from source and destination, the transfer ends early at the end of VRAM. the CPU is
+    // only stalled for the blocks that were copied
+    private void copyBlocks(int count) {
+        int length = Math.min(count * BLOCK_SIZE, 0xA000 - destination);
+        int copied = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        mmu.copyToVRAM(source, destination, length);
+        source = (source + length) & 0xFFFF;
+        destination += length;
+        blocksLeft = destination < 0xA000 ? blocksLeft - count : 0;
+        if (blocksLeft == 0) hBlankActive = false;
+
+        CPU cpu = mmu.getCPU();
+        if (cpu != null) cpu.stall(copied * BLOCK_CYCLES);
+    }
+
+    // the display doesn't have HBlanks while it is off, then it is looked at again a line later
+    private void scheduleHBlank() {
+        IPPU ppu = mmu.getPPU();
+        int cycles = ppu == null ? -1 : ppu.cyclesUntilHBlank();
+        clock.schedule(this, clock.now() + (cycles < 0 ? IPPU.LINE_LENGTH : cycles));
+    }
+
+    // the first cycle of an HBlank
+    @Override
+    public void fire() {
+        if (!hBlankActive) return;
+        IPPU ppu = mmu.getPPU();
+        if (ppu.cyclesUntilHBlank() >= 0 && ppu.isHBlank()) copyBlocks(1);
+        if (hBlankActive) scheduleHBlank();
+    }
+
+    private class OamRelease implements Clock.Event, Serializable {
+        private static final long serialVersionUID = 6185216931540327718L;
+
+        @Override
+        public void fire() {
+            oamBusy = false;
+            mmu.mapOAM();
+        }
+    }
+}
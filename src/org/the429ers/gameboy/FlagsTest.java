@@ -0,0 +1,39 @@
+package org.the429ers.gameboy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// CP leaves its flags pending in RegisterFile, the DEC A after it has to keep the CP's carry on every core
+public class FlagsTest {
+
+    public static void main(String args[]) throws IOException {
+        System.setProperty("oopboy.codecache", "none");
+        Path romFile = Files.createTempFile("flags", ".gb");
+        byte[] data = new byte[0x8000];
+        int[] program = {
+            0x3E, 0x10, //LD A,10
+            0xFE, 0x20, //CP 20, sets N and C
+            0x3D,       //DEC A, sets N and H and keeps C
+        };
+        for (int i = 0; i < program.length; i++) {
+            data[0x100 + i] = (byte) program[i];
+        }
+        Files.write(romFile, data);
+
+        for (CPU.Core core : CPU.Core.values()) {
+            Clock clock = new Clock();
+            MMU mmu = new MMU(romFile.toString(), null, clock);
+            CPU cpu = new CPU(mmu, clock);
+            mmu.writeByte(0xFF50, 1); //no boot ROM
+            cpu.regs.pc = 0x100;
+            for (int i = 0; i < 3; i++) {
+                cpu.executeOneInstruction(false, true, false, core);
+            }
+            int af = cpu.regs.af();
+            System.out.printf("%s: %s (AF %04x)%n", core, af == 0x0F70 ? "ok" : "FAILED", af);
+        }
+
+        Files.delete(romFile);
+    }
+}
@@ -7,6 +7,7 @@ import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.function.Predicate;
 
 import javax.sound.sampled.SourceDataLine;
 import javax.swing.*;
@@ -26,6 +27,7 @@ class MainMenuBar extends MenuBar {
         Menu loadMenu = new Menu("Load");
         Menu graphicsMenu = new Menu("Graphics");
         Menu debugMenu = new Menu("Debug");
+        Menu coreMenu = new Menu("CPU core");
         
         MenuItem reset = new MenuItem("Reset", new MenuShortcut(KeyEvent.VK_R));
         reset.addActionListener((ActionEvent e) -> {
@@ -53,14 +55,12 @@ class MainMenuBar extends MenuBar {
             gameBoy.queueSave("quicksave.gbsave");
         });
         quickLoad.addActionListener((ActionEvent e) -> {
-            gameBoy.mmu.cleanUp();
             gameBoy.queueLoad("quicksave.gbsave");
         });
         snapshot.addActionListener((ActionEvent e) -> {
             gameBoy.queueSave("snapshot-" + DATE_FORMAT.format(new Date()) + ".gbsave");
         });
         loadFile.addActionListener((ActionEvent e) -> {
-            gameBoy.mmu.cleanUp();
             gameBoy.pause();
             JFileChooser fc = new JFileChooser(new File(System.getProperty("user.dir")));
             int returnVal = fc.showOpenDialog(gameBoy);
@@ -124,7 +124,7 @@ class MainMenuBar extends MenuBar {
 
         MenuItem breakPoint = new MenuItem("Break here");
         breakPoint.addActionListener((ActionEvent e) -> {
-            gameBoy.breaked = true;
+            gameBoy.breakHere();
         });
         CheckboxMenuItem fastMode = new CheckboxMenuItem("Fast mode", gameBoy.fastMode);
         fastMode.addItemListener((ItemEvent e) -> {
@@ -137,7 +137,33 @@ class MainMenuBar extends MenuBar {
         CheckboxMenuItem haltToggle = new CheckboxMenuItem("Service Halts", gameBoy.haltEnabled);
         haltToggle.addItemListener((ItemEvent e) -> {
             gameBoy.haltEnabled = haltToggle.getState();
+            gameBoy.wakeRunLoop();
         });
+        CheckboxMenuItem skipIdleToggle = new CheckboxMenuItem("Skip Idle Loops", gameBoy.skipIdleEnabled);
+        skipIdleToggle.addItemListener((ItemEvent e) -> {
+            gameBoy.skipIdleEnabled = skipIdleToggle.getState();
+            gameBoy.wakeRunLoop();
+        });
+        
+        String[] coreNames = {"Lambda core", "Switch core", "Threaded code", "Recompiler"};
+        CheckboxMenuItem[] coreToggles = new CheckboxMenuItem[coreNames.length];
+        for(int i = 0; i < coreNames.length; i++){
+            coreToggles[i] = new CheckboxMenuItem(coreNames[i], gameBoy.core.ordinal() == i);
+            
+            int finalI = i;
+            //when a core is selected, deselect the others
+            coreToggles[i].addItemListener((ItemEvent e) -> {
+                for(CheckboxMenuItem coreToggle : coreToggles){
+                    coreToggle.setState(false);
+                }
+                coreToggles[finalI].setState(true);
+                
+                gameBoy.core = CPU.Core.values()[finalI];
+                gameBoy.wakeRunLoop();
+            });
+            
+            coreMenu.add(coreToggles[i]);
+        }
         
         String[] graphicsModeNames = Pallette.modeNames;
         CheckboxMenuItem[] modeToggles = new CheckboxMenuItem[graphicsModeNames.length];
@@ -173,6 +199,8 @@ class MainMenuBar extends MenuBar {
         debugMenu.add(fastMode);
         debugMenu.add(audioToggle);
         debugMenu.add(haltToggle);
+        debugMenu.add(skipIdleToggle);
+        debugMenu.add(coreMenu);
         
         this.add(fileMenu);
         this.add(controlMenu);
@@ -183,7 +211,7 @@ class MainMenuBar extends MenuBar {
     }
 }
 
-public class GameBoy extends JFrame{
+public class GameBoy extends JFrame implements Clock.FrameListener {
     
     public static final String DEFAULT_ROM = "roms/Zelda.gb";
     public static final int NUM_FRAMES_PER_AUTOSAVE = 120;
@@ -191,18 +219,27 @@ public class GameBoy extends JFrame{
     public static final int MAX_HISTORY = 100;
     public static final int NUM_FRAMES_PER_SPEEDCHECK = 30;
 
-    HashSet<Integer> breakPoints = new HashSet<>();
-    LinkedList<Integer> history = new LinkedList<>();
+    BitSet breakPoints = new BitSet(0x10000);
+    HashMap<Integer, Predicate<RegisterFile>> breakConditions = new HashMap<>(); //breakpoints without one always break
+    List<Watchpoint> watchpoints = new ArrayList<>();
+    // the PCs of the last instructions the debug loop ran, as a ring buffer that ends before historyEnd
+    int[] history = new int[MAX_HISTORY];
+    int historyEnd = 0;
+    int historyLength = 0;
+    Clock clock;
     MMU mmu;
     CPU cpu;
     IPPU ppu;
     GameBoyScreen gbs;
     String romFileName;
-    boolean paused;
+    volatile boolean paused;
     boolean autoSaveEnabled = true;
     boolean haltEnabled = true;
-    private boolean quickSave;
-    private boolean quickLoad;
+    boolean skipIdleEnabled = Boolean.parseBoolean(System.getProperty("oopboy.skipidle", "true")); //-Doopboy.skipidle=false
+    CPU.Core core = CPU.Core.fromProperty();
+    private volatile boolean quickSave;
+    private volatile boolean quickLoad;
+    private volatile boolean wakeUp; //makes the fast loop return to the run loop, which then looks at everything again
     private boolean isCGB;
     private ColorPaletteManager backgroundPaletteManager;
     private ColorPaletteManager spritePaletteManager;
@@ -213,27 +250,17 @@ public class GameBoy extends JFrame{
     long timeSinceSpeedCheck = -1;
     int framesSinceSpeedCheck = 0;
     
-    Scanner fin = new Scanner(System.in);
+    Debugger debugger;
     int numInstructonsUntilBreak = -1;
     long framesDrawn = 0;
     boolean breaked = false;
-    LinkCable cable;
-    
-    private int numClocks = 0;
+    boolean runNextInstruction = false; //the next instruction runs even if it is suspended or at a breakpoint
     
     OutputStream saveFile = null;
     InputStream loadFile = null;
     LinkedList<ByteArrayOutputStream> autoSaves = new LinkedList<>();
     
-    List<Integer> hexEditorCandidates = null;
-    
     SourceDataLine sourceDL;
-    
-    private static GameBoy gb;
-    
-    public static GameBoy getInstance() {
-        return gb;
-    }
 
     WindowListener listener = new WindowListener() {
         @Override
@@ -264,23 +291,26 @@ public class GameBoy extends JFrame{
         this.sourceDL = mmu.soundChip.getSourceDL();
         this.romFileName = newRom;
         if(mmu != null) mmu.cleanUp();
-        mmu = new MMU(newRom, sourceDL);
+        clock = new Clock();
+        clock.setFrameListener(this);
+        mmu = new MMU(newRom, sourceDL, clock);
         this.isCGB = mmu.isCGB();
-        cpu = new CPU(mmu);
+        cpu = new CPU(mmu, clock);
         if (isCGB) {
-            ppu = new ColorPPU(mmu, gbs);
+            ppu = new ColorPPU(mmu, gbs, clock);
             backgroundPaletteManager = new ColorPaletteManager();
             spritePaletteManager = new ColorPaletteManager();
             mmu.setColorPaletteManagers(backgroundPaletteManager, spritePaletteManager);
             ppu.setPaletteManagers(backgroundPaletteManager, spritePaletteManager);
         }
         else {
-            ppu = new PPU(mmu, gbs);
+            ppu = new PPU(mmu, gbs, clock);
         }
         mmu.setPPU(ppu);
-        cable = new LinkCable(mmu, cpu.interruptHandler);
+        new LinkCable(mmu, cpu.interruptHandler, clock);
         joypad = new Joypad(mmu, cpu.interruptHandler);
         gbs.addKeyListener(joypad);
+        installWatchpoints();
     }
     
     public GameBoy(String fileName) {
@@ -298,11 +328,13 @@ public class GameBoy extends JFrame{
         this.setVisible(true);    
         this.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
         this.addWindowListener(listener);
-        mmu = new MMU(fileName);
-        cpu = new CPU(mmu);
+        clock = new Clock();
+        clock.setFrameListener(this);
+        mmu = new MMU(fileName, clock);
+        cpu = new CPU(mmu, clock);
         this.isCGB = mmu.isCGB();
         if (isCGB) {
-            ppu = new ColorPPU(mmu, gbs);
+            ppu = new ColorPPU(mmu, gbs, clock);
             backgroundPaletteManager = new ColorPaletteManager();
             spritePaletteManager = new ColorPaletteManager();
             mmu.setColorPaletteManagers(backgroundPaletteManager, spritePaletteManager);
@@ -310,7 +342,7 @@ public class GameBoy extends JFrame{
             
         }
         else {
-            ppu = new PPU(mmu, gbs);
+            ppu = new PPU(mmu, gbs, clock);
         }
         mmu.setPPU(ppu);
         this.joypad = new Joypad(mmu, cpu.interruptHandler);
@@ -318,7 +350,9 @@ public class GameBoy extends JFrame{
         ppu.loadMap(true, true);
         quickSave = false;
         quickLoad = false;
-        cable = new LinkCable(mmu, cpu.interruptHandler);
+        new LinkCable(mmu, cpu.interruptHandler, clock);
+        installWatchpoints();
+        debugger = new Debugger(this);
     }
     
     public void saveState() {
@@ -340,7 +374,12 @@ public class GameBoy extends JFrame{
         gbs.removeKeyListener(this.mmu.getJoypad());
         try {
             ObjectInputStream saveState = new ObjectInputStream(this.loadFile);
+            MMU replaced = this.mmu;
             this.mmu = (MMU) saveState.readObject();
+            replaced.cleanUp(); //frees its save file, which the loaded cartridge opens with its first flush
+            this.mmu.flush();
+            this.clock = mmu.getClock();
+            this.clock.setFrameListener(this);
             this.cpu = mmu.getCPU();
             this.ppu = mmu.getPPU();
             this.mmu.setJoypad(new Joypad(this.mmu, this.cpu.interruptHandler));
@@ -358,157 +397,158 @@ public class GameBoy extends JFrame{
         gbs.addKeyListener(this.mmu.getJoypad());
         ppu.setGBS(gbs);
         this.mmu.soundChip.setSourceDL(this.sourceDL);
+        installWatchpoints();
     }
     
-    public byte[] hexStringToBytes(String sequenceStr) {
-        byte[] sequence = new byte[sequenceStr.length() / 2];
-        for(int i = 0; i < sequenceStr.length(); i+=2) {
-            sequence[i / 2] = (byte)Integer.parseInt(sequenceStr.substring(i, i+2), 16);
-        }
-        return sequence;
-    } 
-    
+    // the debug loop runs one instruction per call, checking breakpoints and keeping the history. while suspended it
+    // leaves the emulation thread to the debugger until one of its commands resumes
     public void tick() {
-        gbs.setFocusable(true);
-        //ignore breakpoints while nm is used
-        if(numInstructonsUntilBreak < 0 && breakPoints.contains(cpu.regs.PC.read())){
-            breaked = true;
-        }
-
-        if(breaked) {
-            System.out.print("Suspended at " + Integer.toString(cpu.regs.PC.read(), 16) + ": ");
-            String cmd = fin.next();
-            if (cmd.equals("b")) {
-                breakPoints.add(fin.nextInt(16));
-                return;
-            } else if (cmd.equals("d")) {
-                breakPoints.remove(fin.nextInt(16));
-                return;
-            } else if (cmd.equals("c")) {
-                breaked = false;
-            } else if (cmd.equals("xc")) {
-                cpu.coreDump();
-                return;
-            } else if (cmd.equals("xm")) {
-                mmu.memdump(fin.nextInt(16), fin.nextInt());
-                return;
-            } else if (cmd.equals("sm")) {
-                mmu.writeBytes(fin.nextInt(16), hexStringToBytes(fin.next()));
-                return;
-            } else if (cmd.equals("nm")) {
-                breaked = false;
-                numInstructonsUntilBreak = fin.nextInt();
-            } else if (cmd.equals("xh")) {
-                for (int i : history) {
-                    System.out.printf("%x ", i);
-                }
-                System.out.println();
-                return;
-            } else if (cmd.equals("hes")) {
-                String sequenceStr = fin.next();
-                if (sequenceStr.length() % 2 != 0) {
-                    System.out.println("Must give an integral number of bytes");
-                    return;
-                }
-                byte[] sequence = hexStringToBytes(sequenceStr);
-                
-                System.out.println(Arrays.toString(sequence));
-
-                if (hexEditorCandidates != null) {
-                    hexEditorCandidates = mmu.filter(hexEditorCandidates, sequence);
-                } else {
-                    hexEditorCandidates = mmu.search(sequence);
-                }
-
-                System.out.println(hexEditorCandidates.size() + " candidates remaining. Type her to reset or hec to view candidates");
-                return;
-            } else if (cmd.equals("her")){
-                hexEditorCandidates = null;
-                return;
-            } else if(cmd.equals("hec")) {
-                if(hexEditorCandidates == null){
-                    System.out.println("A search has not yet been performed. Use hes to perform a search.");
-                }
-                for(int candidate: hexEditorCandidates){
-                    System.out.printf("%04x ", candidate);
-                }
-                System.out.println();
-                return;
-            } else if(!cmd.equals("n")){
-                System.out.println("Command not recognized");
+        if(runNextInstruction) {
+            runNextInstruction = false;
+        }else {
+            //ignore breakpoints while nm is used
+            if(numInstructonsUntilBreak < 0 && breakPoints.get(cpu.regs.pc)){
+                Predicate<RegisterFile> condition = breakConditions.get(cpu.regs.pc);
+                if(condition == null || condition.test(cpu.regs)) breaked = true;
+            }
+            if(breaked) {
+                debugger.suspended();
                 return;
             }
         }
 
-        if(history.size() >= MAX_HISTORY) {
-            history.removeFirst();
-        }
-        history.addLast(cpu.regs.PC.read());
-        cpu.executeOneInstruction(breaked, haltEnabled);
-        if (quickSave) {
-            saveState();
-            quickSave = false;
-        }
-        if (quickLoad) {
-            loadState();
-            quickLoad = false;
-        }
+        history[historyEnd] = cpu.regs.pc;
+        historyEnd = (historyEnd + 1) % MAX_HISTORY;
+        historyLength = Math.min(historyLength + 1, MAX_HISTORY);
+        //recompiled blocks, idioms and skipped idle loops run many instructions at once, so step one at a time while
+        //debugging, or a breakpoint inside one of them would be missed
+        CPU.Core stepCore = core == CPU.Core.RECOMPILER ? CPU.Core.SWITCH : core;
+        cpu.runIdioms = false;
+        cpu.executeOneInstruction(breaked, haltEnabled, false, stepCore);
 
         if(numInstructonsUntilBreak >= 0){
             if(numInstructonsUntilBreak == 0){
                 breaked = true;
             }
             numInstructonsUntilBreak --;
-            System.out.println(numInstructonsUntilBreak);
         }
     }
     
-    public void resetClocks() {
-        numClocks = 0;
+    //keeps the speed at 60 frames per second and takes care of autosaves and audio once per frame
+    @Override
+    public void frameDrawn() {
+        framesSinceSpeedCheck++;
+        framesDrawn++;
+        if (framesSinceSpeedCheck >= NUM_FRAMES_PER_SPEEDCHECK) {
+            this.framesSinceSpeedCheck = 1;
+            this.timeSinceSpeedCheck = System.currentTimeMillis();
+        }
+        long currentTime = System.currentTimeMillis();
+        long deltaTime = currentTime - timeSinceSpeedCheck;
+        if (!fastMode && deltaTime < 16 * framesSinceSpeedCheck) {
+            //System.out.println("sleep");
+            try {
+                Thread.sleep(16 * framesSinceSpeedCheck - deltaTime);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        if (framesDrawn % NUM_FRAMES_PER_AUTOSAVE == 0) {
+            this.queueAutoSaveIfEnabled();
+        }
+        if (audioOn) mmu.soundChip.tick();
+    }
+    
+    public void pause() {
+        paused = true;
+        wakeRunLoop();
     }
     
-    public int getClocks() {
-        return numClocks;
+    // blockExit makes a running block or idiom return after the current instruction, not at its end. the console
+    // of the debugger is only started the first time a GameBoy of the process breaks
+    public void breakHere() {
+        Debugger.startConsole(System.in);
+        breaked = true;
+        cpu.blockExit = true;
+        wakeRunLoop();
     }
     
-    //ticks everything except for the CPU
-    public void clockTick(int ticks) {
-        numClocks += ticks;
-        for(int i = 0; i < ticks; i++) {
-            ppu.tick();
-            if (ppu.isHBlank()) {
-                //mmu.hBlankDMA();
-                //ppu.toggleHBlankIndicator();
-            }
-            if (ppu.drewFrame()) {
-                framesSinceSpeedCheck++;
-                framesDrawn++;
-                if (framesSinceSpeedCheck >= NUM_FRAMES_PER_SPEEDCHECK) {
-                    this.framesSinceSpeedCheck = 1;
-                    this.timeSinceSpeedCheck = System.currentTimeMillis();
-                }
-                long currentTime = System.currentTimeMillis();
-                long deltaTime = currentTime - timeSinceSpeedCheck;
-                if (!fastMode && deltaTime < 16 * framesSinceSpeedCheck) {
-                    //System.out.println("sleep");
-                    try {
-                        Thread.sleep(16 * framesSinceSpeedCheck - deltaTime);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                if (framesDrawn % NUM_FRAMES_PER_AUTOSAVE == 0) {
-                    this.queueAutoSaveIfEnabled();
-                }
-                if (audioOn) mmu.soundChip.tick();
-            }
-            cpu.timer.tick();
-            cable.tick();
+    // hands the watches of all watchpoints to the MMU, has to be called whenever they or the MMU change
+    void installWatchpoints() {
+        mmu.setWatches(Watchpoint.compilePages(watchpoints, false, this), Watchpoint.compilePages(watchpoints, true, this));
+    }
+    
+    // called by the MMU in the middle of an instruction, it suspends once the instruction is done
+    void watchpointHit(Watchpoint watchpoint, int location, int value) {
+        System.out.printf("Watchpoint %s: %s %04x = %02x at %04x%n", watchpoint, watchpoint.onWrite ? "write" : "read",
+                location, value, cpu.regs.pc);
+        breakHere();
+    }
+    
+    // the debugger's c, n and nm. with step set the instruction at PC runs and it suspends again, otherwise it goes on
+    // until a breakpoint, or for count instructions if that isn't -1
+    void resume(boolean step, int count) {
+        breaked = step;
+        numInstructonsUntilBreak = count;
+        runNextInstruction = true;
+        debugger.resumed();
+    }
+    
+    // called after changing anything the fast loop doesn't look at
+    public void wakeRunLoop() {
+        wakeUp = true;
+    }
+    
+    // the debug loop is only needed while the debugger is suspended or stepping with nm. after a resume it runs the
+    // instruction at PC, so that the fast loop doesn't stop at the same breakpoint again
+    private boolean isDebugging() {
+        return breaked || numInstructonsUntilBreak >= 0 || runNextInstruction;
+    }
+    
+    // runs instructions with nothing in between until wakeRunLoop is called. with breakpoints set, idioms and skipped
+    // wait loops would run past them, so they are turned off and PC is looked up between instructions and blocks
+    private void runFast() {
+        CPU cpu = this.cpu;
+        boolean haltEnabled = this.haltEnabled;
+        CPU.Core core = this.core;
+        BitSet breakPoints = this.breakPoints.isEmpty() ? null : this.breakPoints;
+        boolean skipIdleEnabled = this.skipIdleEnabled && breakPoints == null;
+        cpu.breakPoints = breakPoints;
+        cpu.runIdioms = breakPoints == null;
+        while (!wakeUp) {
+            if (breakPoints != null && breakPoints.get(cpu.regs.pc) && breakpointHit()) return;
+            cpu.executeOneInstruction(false, haltEnabled, skipIdleEnabled, core);
         }
     }
     
-    public void pause() {
-        paused = true;
+    // the fast loop is at a breakpoint, returns true if its condition holds and the debug loop takes over
+    private boolean breakpointHit() {
+        Predicate<RegisterFile> condition = breakConditions.get(cpu.regs.pc);
+        if (condition != null && !condition.test(cpu.regs)) return false;
+        breaked = true;
+        return true;
+    }
+    
+    // the flags are set before wakeUp, so clearing wakeUp first can't miss one of them
+    private void run() {
+        while (true) {
+            wakeUp = false;
+            if (paused) break;
+            debugger.runCommands();
+            if (quickSave) {
+                saveState();
+                quickSave = false;
+            }
+            if (quickLoad) {
+                loadState();
+                quickLoad = false;
+            }
+            if (isDebugging()) {
+                tick();
+            } else {
+                runFast();
+            }
+        }
     }
     
     public void start() {
@@ -520,20 +560,21 @@ public class GameBoy extends JFrame{
         new Thread(() -> {
             paused = false;
             framesSinceSpeedCheck = NUM_FRAMES_PER_SPEEDCHECK;
+            gbs.setFocusable(true);
 
-            while (!paused) {
-                this.tick();
-            }
-            mmu.cleanUp();
+            run();
+            mmu.flush();
         }).start();
     }
     
     public void dispose() {
         this.pause();
+        debugger.close();
         super.dispose();
     }
 
     public static void main(String[] args) throws InterruptedException {
+        GameBoy gb;
 
         if(args.length > 0) {
             if(!args[0].equals("-d")) {
@@ -543,9 +584,7 @@ public class GameBoy extends JFrame{
             }
             
             if(args[args.length-1].equals("-d")) {
-                Scanner fin = new Scanner(System.in);
-                System.out.print("First breakpoint (hex): ");
-                gb.breakPoints.add(fin.nextInt(16));
+                gb.breakHere(); //starts suspended, so breakpoints can be set with b before continuing
             }
         }else{
             gb = new GameBoy(DEFAULT_ROM);
@@ -565,6 +604,7 @@ public class GameBoy extends JFrame{
             autoSaves.removeFirst();
         }
         quickSave = true;
+        wakeRunLoop();
     }
     
     public void queueLoadPreviousAutoSave() {
@@ -572,6 +612,7 @@ public class GameBoy extends JFrame{
             ByteArrayOutputStream autoSave = autoSaves.removeLast();
             this.loadFile = new ByteArrayInputStream(autoSave.toByteArray());
             quickLoad = true;
+            wakeRunLoop();
         } catch (NoSuchElementException e) {
             System.out.println("No auto-saves available!");
         }
@@ -581,6 +622,7 @@ public class GameBoy extends JFrame{
         try {
             this.saveFile = new FileOutputStream(fileName);
             quickSave = true;
+            wakeRunLoop();
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         }
@@ -590,6 +632,7 @@ public class GameBoy extends JFrame{
         try {
             this.loadFile = new FileInputStream(fileName);
             quickLoad = true;
+            wakeRunLoop();
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         }
@@ -14,7 +14,55 @@ public interface IPPU {
     public static final int ACTUAL_LINES = 144;
     public static final int V_BLANK_LINES = 10;
     public static final int LINE_LENGTH = 456;
+    public static final int SCROLL_X_REGISTER = 0xFF43;
+    public static final int FRAME_LENGTH = LINE_LENGTH * (ACTUAL_LINES + V_BLANK_LINES);
     
+    // the number of cycles from cycleCount on that do nothing but draw a pixel and what happens at the end of every
+    // cycle, so they can be run in one go
+    public static int uneventfulCycles(int cycleCount, int currentY) {
+        boolean visible = currentY < ACTUAL_LINES;
+        if (cycleCount == OAM_SEARCH_START || cycleCount == PIXEL_TRANSFER_START || cycleCount == H_BLANK_END
+                || (visible && cycleCount == H_BLANK_START)) {
+            return 0;
+        }
+        if (cycleCount < PIXEL_TRANSFER_START) return PIXEL_TRANSFER_START - cycleCount;
+        if (visible && cycleCount < H_BLANK_START) return H_BLANK_START - cycleCount;
+        return H_BLANK_END - cycleCount;
+    }
+    
+    // the number of cycles before the next one that finishes a frame or requests the LCDC interrupt, which happens
+    // once when LY comes to match LYC. a PPU only has to be caught up by the clock at those cycles
+    public static int cyclesUntilEvent(int cycleCount, int currentY, int lyCompare, boolean compareEnabled) {
+        int position = currentY * LINE_LENGTH + cycleCount;
+        int untilEvent = (145 * LINE_LENGTH - position + FRAME_LENGTH) % FRAME_LENGTH;
+        if (compareEnabled && lyCompare >= 0 && lyCompare < ACTUAL_LINES + V_BLANK_LINES) {
+            //LY already matches in the last cycle of the line before
+            int untilCompare = (lyCompare * LINE_LENGTH - 1 - position + FRAME_LENGTH) % FRAME_LENGTH;
+            untilEvent = Math.min(untilEvent, untilCompare);
+        }
+        return untilEvent;
+    }
+    
+    // whether the end of the current cycle is where LY comes to match LYC, which is the one cycle that requests the
+    // LCDC interrupt. LY is already the next line in the last cycle of the line before
+    public static boolean isCompareEdge(int cycleCount, int currentY, int lyCompare) {
+        return cycleCount == H_BLANK_END && currentY == lyCompare;
+    }
+    
+    // the number of cycles from cycleCount on before the PPU may write a different value to LY or STAT. LY is only
+    // written at the start of a line, STAT at every cycle uneventfulCycles doesn't skip
+    public static int cyclesUntilWrite(int location, int cycleCount, int currentY) {
+        if (location == 0xFF44) return (LINE_LENGTH - cycleCount) % LINE_LENGTH;
+        return uneventfulCycles(cycleCount, currentY);
+    }
+    
+    // the number of cycles from cycleCount on until the PPU has run the first cycle of the next HBlank, which is
+    // when HBlank DMA copies its next block
+    public static int cyclesUntilHBlank(int cycleCount, int currentY) {
+        if (currentY < ACTUAL_LINES && cycleCount <= H_BLANK_START) return H_BLANK_START + 1 - cycleCount;
+        int linesUntilVisible = currentY + 1 < ACTUAL_LINES ? 1 : ACTUAL_LINES + V_BLANK_LINES - currentY;
+        return LINE_LENGTH - cycleCount + (linesUntilVisible - 1) * LINE_LENGTH + H_BLANK_START + 1;
+    }
     
     public boolean drewFrame();
     public boolean isHBlank();
@@ -37,11 +85,21 @@ public interface IPPU {
     public void loadPallettes();
     
     public void setLYCompare(int lyCompare);
+    public void setLCDC(int lcdc);
     public void setMMU(MMU mmu);
     
     public void setGBS(GameBoyScreen gbs);
     
-    public void tick();
+    // brings the PPU up to the current cycle of the clock. the MMU calls this before the CPU accesses anything the
+    // PPU reads or writes
+    public void catchUp();
+    
+    // the cycles from now on that reading LY or STAT keeps giving the same value, as long as the CPU doesn't write
+    // to the PPU registers
+    public int cyclesUntilChange(int location);
+    
+    // the cycles from now on until the next HBlank has started, see cyclesUntilHBlank, or -1 while the display is off
+    public int cyclesUntilHBlank();
     
         
     
@@ -0,0 +1,312 @@
+package org.the429ers.gameboy;
+
+import static org.the429ers.gameboy.RegisterFile.*;
+
+/***
+ *
+ * Recognizes a few tiny loops that games spend a lot of time in and runs them in bulk:
+ *
+ *   LD (HL+),A / DEC r / JR NZ                           fill with an 8 bit counter (r is B, C, D or E)
+ *   XOR A or LD A,d8 / LD (HL+),A / DEC BC / LD A,B / OR C / JR NZ    fill with a 16 bit counter
+ *   LD A,(HL+) / LD (DE),A / INC DE / DEC r / JR NZ       copy with an 8 bit counter (r is B or C)
+ *   LD A,(DE) / LD (HL+),A / INC DE / DEC r / JR NZ       the same copy the other way around
+ *   LD A,(HL+) / LD (DE),A / INC DE / DEC BC / LD A,B / OR C / JR NZ  copy with a 16 bit counter
+ *   LDH A,(n) / CP d8 or AND d8 / JR NZ, JR Z, JR C or JR NC   wait for P1, DIV, TIMA, STAT or LY to change
+ *
+ * Registers, flags and cycles end up exactly as if the loop had been run instruction by instruction. Fills and
+ * copies only run in bulk while no interrupt can be taken and the memory they touch has no side effects, because
+ * the PPU and timer are ticked for the whole loop at once; otherwise the loop is interpreted as usual.
+ *
+ * Every iteration of a wait loop that reads the same value does exactly the same thing, so once an iteration has
+ * run, the ones after it are skipped in one tick for as long as the register can't change (see
+ * MMU.cyclesUntilChange) and no Clock event is due, which keeps interrupts at the same instruction as before. This
+ * only happens while CPU.skipIdle is set, otherwise every iteration is run.
+ *
+ */
+final class Idioms {
+    // a wait loop gives control back to GameBoy.tick after this many cycles, so it can still be paused
+    static final int MAX_WAIT_CYCLES = 70224;
+
+    interface Idiom {
+        // returns false if the loop can't be run in bulk right now, the instruction at PC is then run as usual
+        boolean run(CPU cpu);
+    }
+
+    // the idiom starting at pc, or null if there is none
+    static Idiom recognize(MMU mem, int pc) {
+        if(pc + 8 > 0x8000) return null;
+
+        int[] code = new int[8];
+        for(int i = 0; i < code.length; i++) {
+            code[i] = mem.peekByte(pc + i);
+        }
+
+        if(code[0] == 0x22 && isDec(code[1], 0, 3) && code[2] == 0x20 && code[3] == 0xfc) {
+            return new Fill8(counterOf(code[1]));
+        }
+        if(code[0] == 0xaf && matches(code, 1, 0x22, 0x0b, 0x78, 0xb1, 0x20, 0xf9)) {
+            return new Fill16(-1, 1, 40);
+        }
+        if(code[0] == 0x3e && matches(code, 2, 0x22, 0x0b, 0x78, 0xb1, 0x20, 0xf8)) {
+            return new Fill16(code[1], 2, 44);
+        }
+        if(code[0] == 0x2a && code[1] == 0x12 && code[2] == 0x13 && isDec(code[3], 0, 1) && code[4] == 0x20 && code[5] == 0xfa) {
+            return new Copy8(counterOf(code[3]), true);
+        }
+        if(code[0] == 0x1a && code[1] == 0x22 && code[2] == 0x13 && isDec(code[3], 0, 1) && code[4] == 0x20 && code[5] == 0xfa) {
+            return new Copy8(counterOf(code[3]), false);
+        }
+        if(matches(code, 0, 0x2a, 0x12, 0x13, 0x0b, 0x78, 0xb1, 0x20, 0xf8)) {
+            return new Copy16();
+        }
+        return recognizeWait(mem, pc);
+    }
+
+    // the wait loop starting at pc, or null if there is none
+    static WaitLoop recognizeWait(MMU mem, int pc) {
+        if(pc + 6 > 0x8000) return null;
+
+        int[] code = new int[6];
+        for(int i = 0; i < code.length; i++) {
+            code[i] = mem.peekByte(pc + i);
+        }
+
+        if(code[0] != 0xf0 || !isWaitedOn(code[1]) || code[5] != 0xfa) return null;
+        if(code[2] == 0xfe && (code[4] == 0x20 || code[4] == 0x28 || code[4] == 0x38 || code[4] == 0x30)) {
+            return new WaitLoop(code[1], false, code[3], code[4]);
+        }
+        if(code[2] == 0xe6 && (code[4] == 0x20 || code[4] == 0x28)) {
+            return new WaitLoop(code[1], true, code[3], code[4]);
+        }
+        return null;
+    }
+
+    // P1, DIV, TIMA, STAT and LY
+    private static boolean isWaitedOn(int register) {
+        return register == 0x00 || register == 0x04 || register == 0x05 || register == 0x41 || register == 0x44;
+    }
+
+    private static boolean matches(int[] code, int start, int... expected) {
+        for(int i = 0; i < expected.length; i++) {
+            if(code[start + i] != expected[i]) return false;
+        }
+        return true;
+    }
+
+    // DEC B, DEC C, DEC D and DEC E are 0x05, 0x0d, 0x15 and 0x1d
+    private static boolean isDec(int opcode, int firstCounter, int lastCounter) {
+        return (opcode & 0xc7) == 0x05 && counterOf(opcode) >= firstCounter && counterOf(opcode) <= lastCounter;
+    }
+
+    private static int counterOf(int decOpcode) {
+        return decOpcode >> 3;
+    }
+
+    // 0 is B, 1 is C, 2 is D, 3 is E
+    private static int readCounter(RegisterFile regs, int counter) {
+        switch(counter) {
+            case 0: return high(regs.bc);
+            case 1: return low(regs.bc);
+            case 2: return high(regs.de);
+            default: return low(regs.de);
+        }
+    }
+
+    private static void writeCounter(RegisterFile regs, int counter, int value) {
+        switch(counter) {
+            case 0: regs.bc = withHigh(regs.bc, value); break;
+            case 1: regs.bc = withLow(regs.bc, value); break;
+            case 2: regs.de = withHigh(regs.de, value); break;
+            default: regs.de = withLow(regs.de, value); break;
+        }
+    }
+
+    // blockExit is set when the debugger wants to stop, the loop is then left to the interpreter
+    private static boolean canRunInBulk(CPU cpu) {
+        return !cpu.interruptHandler.canInterrupt() && !cpu.blockExit;
+    }
+
+    // ticks the cycles of the whole loop the way executeOneInstruction would have for its instructions
+    private static void tick(CPU cpu, int cycles) {
+        cpu.beginInstruction(cycles);
+        cpu.endInstruction(cycles);
+    }
+
+    static class Fill8 implements Idiom {
+        private final int counter;
+
+        Fill8(int counter) {
+            this.counter = counter;
+        }
+
+        public boolean run(CPU cpu) {
+            RegisterFile regs = cpu.regs;
+            int count = readCounter(regs, counter);
+            if(count == 0) count = 256;
+            if(!canRunInBulk(cpu) || !cpu.mem.isPlainWrite(regs.hl, count)) return false;
+
+            cpu.mem.fillBytes(regs.hl, count, high(regs.af));
+            regs.hl = (regs.hl + count) & 0xffff;
+            writeCounter(regs, counter, regs.dec(1)); //the DEC that brings the counter from 1 to 0 sets the flags
+            regs.pc = (regs.pc + 4) & 0xffff;
+            tick(cpu, count * 24 - 4);
+            return true;
+        }
+    }
+
+    static class Fill16 implements Idiom {
+        private final int value; //-1 for XOR A
+        private final int headLength;
+        private final int cyclesPerIteration;
+
+        Fill16(int value, int headLength, int cyclesPerIteration) {
+            this.value = value;
+            this.headLength = headLength;
+            this.cyclesPerIteration = cyclesPerIteration;
+        }
+
+        public boolean run(CPU cpu) {
+            RegisterFile regs = cpu.regs;
+            int count = regs.bc == 0 ? 0x10000 : regs.bc;
+            if(!canRunInBulk(cpu) || !cpu.mem.isPlainWrite(regs.hl, count)) return false;
+
+            cpu.mem.fillBytes(regs.hl, count, value < 0 ? 0 : value);
+            regs.hl = (regs.hl + count) & 0xffff;
+            regs.bc = 0;
+            regs.af = 0x0080; //A is B | C, OR sets Z and clears the rest
+            regs.lazyFlags = 0;
+            regs.pc = (regs.pc + headLength + 6) & 0xffff;
+            tick(cpu, count * cyclesPerIteration - 4);
+            return true;
+        }
+    }
+
+    static class Copy8 implements Idiom {
+        private final int counter;
+        private final boolean fromHL; //LD A,(HL+) / LD (DE),A instead of LD A,(DE) / LD (HL+),A
+
+        Copy8(int counter, boolean fromHL) {
+            this.counter = counter;
+            this.fromHL = fromHL;
+        }
+
+        public boolean run(CPU cpu) {
+            RegisterFile regs = cpu.regs;
+            int count = readCounter(regs, counter);
+            if(count == 0) count = 256;
+            int source = fromHL ? regs.hl : regs.de;
+            int destination = fromHL ? regs.de : regs.hl;
+            if(!canRunInBulk(cpu) || !cpu.mem.isPlainRead(source, count) || !cpu.mem.isPlainWrite(destination, count)) {
+                return false;
+            }
+
+            cpu.mem.copyBytes(source, destination, count);
+            regs.af = withHigh(regs.af, cpu.mem.readByte(source + count - 1));
+            regs.hl = (regs.hl + count) & 0xffff;
+            regs.de = (regs.de + count) & 0xffff;
+            writeCounter(regs, counter, regs.dec(1)); //the DEC that brings the counter from 1 to 0 sets the flags
+            regs.pc = (regs.pc + 6) & 0xffff;
+            tick(cpu, count * 40 - 4);
+            return true;
+        }
+    }
+
+    static class Copy16 implements Idiom {
+        public boolean run(CPU cpu) {
+            RegisterFile regs = cpu.regs;
+            int count = regs.bc == 0 ? 0x10000 : regs.bc;
+            if(!canRunInBulk(cpu) || !cpu.mem.isPlainRead(regs.hl, count) || !cpu.mem.isPlainWrite(regs.de, count)) {
+                return false;
+            }
+
+            cpu.mem.copyBytes(regs.hl, regs.de, count);
+            regs.hl = (regs.hl + count) & 0xffff;
+            regs.de = (regs.de + count) & 0xffff;
+            regs.bc = 0;
+            regs.af = 0x0080; //A is B | C, OR sets Z and clears the rest
+            regs.lazyFlags = 0;
+            regs.pc = (regs.pc + 8) & 0xffff;
+            tick(cpu, count * 52 - 4);
+            return true;
+        }
+    }
+
+    static class WaitLoop implements Idiom {
+        private final int register; //the low byte of the register's address
+        private final boolean and; //AND d8 instead of CP d8
+        private final int operand;
+        private final int jump; //the opcode of the JR
+
+        WaitLoop(int register, boolean and, int operand, int jump) {
+            this.register = register;
+            this.and = and;
+            this.operand = operand;
+            this.jump = jump;
+        }
+
+        private boolean keepsWaiting(int flags) {
+            switch(jump) {
+                case 0x20: return (flags & ZMASK) == 0;
+                case 0x28: return (flags & ZMASK) != 0;
+                case 0x38: return (flags & CMASK) != 0;
+                default: return (flags & CMASK) == 0;
+            }
+        }
+
+        // PC has to point at the next instruction before endInstruction, since it may push it for an interrupt
+        public boolean run(CPU cpu) {
+            RegisterFile regs = cpu.regs;
+            int start = regs.pc;
+            int address = 0xff00 | register;
+            if(cpu.blockExit) return false;
+
+            //endInstruction returns true once a watchpoint on the register is hit, or anything else sets blockExit
+            for(int cycles = 0; cycles < MAX_WAIT_CYCLES; cycles += 32) {
+                //LDH A,(n)
+                cpu.beginInstruction(12);
+                int value = cpu.mem.readByte(address);
+                int unchangedFor = cpu.skipIdle ? cpu.mem.cyclesUntilChange(address) : 0;
+                regs.af = withHigh(regs.af, value);
+                regs.pc = (start + 2) & 0xffff;
+                if(cpu.endInstruction(12)) return true;
+
+                //CP d8 or AND d8
+                cpu.beginInstruction(8);
+                if(and) {
+                    int result = value & operand;
+                    regs.af = result << 8 | (result == 0 ? ZMASK : 0) | HMASK;
+                    regs.lazyFlags = 0;
+                }else {
+                    regs.sub(value, operand, 0);
+                }
+                regs.pc = (start + 4) & 0xffff;
+                if(cpu.endInstruction(8)) return true;
+
+                //JR
+                boolean waiting = keepsWaiting(regs.af());
+                cpu.beginInstruction(8);
+                regs.pc = (waiting ? start : start + 6) & 0xffff;
+                if(cpu.endInstruction(waiting ? 12 : 8) || !waiting) return true;
+
+                if(unchangedFor >= 32) cycles += skip(cpu, unchangedFor, MAX_WAIT_CYCLES - cycles - 32);
+            }
+            return true;
+        }
+
+        // skips the iterations after the one that just ran that would read the same value, as it stays the same for
+        // unchangedFor cycles after that read, and that no event fires in. an interrupt requested during the JR is
+        // only taken after the next instruction, so nothing is skipped then. returns the cycles skipped
+        private int skip(CPU cpu, int unchangedFor, int maxCycles) {
+            InterruptHandler interrupts = cpu.interruptHandler;
+            if(interrupts.isInterruptsEnabled() && interrupts.pending() != 0) return 0;
+            long untilEvent = cpu.clock.nextEventCycle() - 1 - cpu.clock.now();
+            int iterations = (int) (Math.min(Math.min(unchangedFor, untilEvent), maxCycles) / 32);
+            if(iterations <= 0) return 0;
+
+            int cycles = iterations * 32;
+            tick(cpu, cycles);
+            cpu.skippedWaitCycles += cycles;
+            return cycles;
+        }
+    }
+}
@@ -1,103 +1,105 @@
 package org.the429ers.gameboy;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
+/***
+ *
+ * Holds IE, IF and IME. Interrupt sources only set their bit of IF through request(), and the CPU checks pending()
+ * after every instruction, so a request is never lost: it stays in IF until the CPU takes it, however long IE or IME
+ * keep it from being taken. When more than one is pending, the lowest bit wins.
+ *
+ * The Joypad requests its interrupt from the AWT thread, so IF is only changed atomically: a key press and the
+ * emulation thread setting or acknowledging another bit at the same time can't undo each other.
+ *
+ */
 public class InterruptHandler implements Serializable {
     /**
-     * 
+     *
      */
-    private static final long serialVersionUID = -2641142498470471980L;
+    private static final long serialVersionUID = 4619278126409811275L;
 
-    private CPU cpu;
-    
     public static final int VBLANK = 0x0040;
     public static final int LCDC = 0x0048;
     public static final int TIMER_OVERFLOW = 0x0050;
     public static final int SERIAL_COMPLETION = 0x0058;
     public static final int JOYPAD = 0x0060;
-    
-    public HashMap<Integer, Boolean> specificEnabled = new HashMap<>();
-    {
-        specificEnabled.put(VBLANK, false);
-        specificEnabled.put(LCDC, false);
-        specificEnabled.put(TIMER_OVERFLOW, false);
-        specificEnabled.put(SERIAL_COMPLETION, false);
-        specificEnabled.put(JOYPAD, false);
+
+    // the bits of IE and IF, interrupt n jumps to VBLANK + 8 * n
+    public static final int VBLANK_MASK = 1;
+    public static final int LCDC_MASK = 1 << 1;
+    public static final int TIMER_OVERFLOW_MASK = 1 << 2;
+    public static final int SERIAL_COMPLETION_MASK = 1 << 3;
+    public static final int JOYPAD_MASK = 1 << 4;
+    public static final int ALL_MASK = 0x1F;
+
+    private static final VarHandle REQUESTED;
+    static {
+        try {
+            REQUESTED = MethodHandles.lookup().findVarHandle(InterruptHandler.class, "requested", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
-    
+
     private boolean interruptsEnabled = false; // this is the IME flag
-    
+    private int enabled = 0; // IE
+    private int requested = 0; // IF
+
     public void setInterruptsEnabled(boolean interruptsEnabled){
         this.interruptsEnabled = interruptsEnabled;
     }
-    
-    public void setSpecificEnabled(int handle, boolean enabled){
-        specificEnabled.put(handle, enabled);
+
+    public boolean isInterruptsEnabled() {
+        return interruptsEnabled;
     }
-    
-    public InterruptHandler(CPU cpu){
-        this.cpu = cpu;
+
+    // false if no interrupt could make the CPU jump to a handler right now
+    public boolean canInterrupt() {
+        return interruptsEnabled && (enabled & ALL_MASK) != 0;
     }
-    
-    public boolean issueInterruptIfEnabled(int handle){
-        if(!interruptsEnabled) {
-            cpu.interrupt(-1);
-            return false;
-        }
-        if(!specificEnabled.getOrDefault(handle, false)) {
-            return false;
-        }
-        
-        cpu.interrupt(handle);
-        
-        return true;
+
+    // may be called from any thread
+    public void request(int mask) {
+        REQUESTED.getAndBitwiseOr(this, mask);
     }
-    
-    public boolean handleIF(int IFflag){
-        //read IFflag bit by bit based on priority and issue an interrupt if needed
-        //lower priority simultaneous interrupts are ignored
-        if((IFflag & 1) == 1){ //VBLANK requested
-            return this.issueInterruptIfEnabled(InterruptHandler.VBLANK);
-        }
-        IFflag >>= 1;
-        if((IFflag & 1) == 1){ 
-            return this.issueInterruptIfEnabled(InterruptHandler.LCDC);
-        }
-        IFflag >>= 1;
-        if((IFflag & 1) == 1){ 
-            return this.issueInterruptIfEnabled(InterruptHandler.TIMER_OVERFLOW);
-        }
-        IFflag >>= 1;
-        if((IFflag & 1) == 1){
-            return this.issueInterruptIfEnabled(InterruptHandler.SERIAL_COMPLETION);
-        }
-        IFflag >>= 1;
-        if((IFflag & 1) == 1){
-            this.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
-        }
-        
-        return false;
+
+    // the interrupts that are both requested and enabled. any of them wakes the CPU from a halt, and while IME is set
+    // the CPU takes the one with the highest priority
+    public int pending() {
+        return enabled & (int) REQUESTED.getOpaque(this) & ALL_MASK; //sees a request from another thread soon
     }
-    
-    public void handleIE(int IEflag) {
-        //read IEflag bit by bit and set each interrupt enable depending on IEflag value
-        this.setSpecificEnabled(InterruptHandler.VBLANK, (IEflag & 1) == 1); //enable vblank if bit 0 is 1
-        IEflag >>= 1;
-        this.setSpecificEnabled(InterruptHandler.LCDC, (IEflag & 1) == 1); //ditto
-        IEflag >>= 1;
-        this.setSpecificEnabled(InterruptHandler.TIMER_OVERFLOW, (IEflag & 1) == 1);
-        IEflag >>= 1;
-        this.setSpecificEnabled(InterruptHandler.SERIAL_COMPLETION, (IEflag & 1) == 1);
-        IEflag >>= 1;
-        this.setSpecificEnabled(InterruptHandler.JOYPAD, (IEflag & 1) == 1);
+
+    // clears IME and the request of the first interrupt in pending, returns the address of its handler
+    public int acknowledge(int pending) {
+        int interrupt = Integer.numberOfTrailingZeros(pending);
+        REQUESTED.getAndBitwiseAnd(this, ~(1 << interrupt));
+        interruptsEnabled = false;
+        return VBLANK + 8 * interrupt;
     }
-    
+
+    public int getIF() {
+        return requested | 0xE0; //the unused bits read as 1
+    }
+
+    public void setIF(int IFflag) {
+        REQUESTED.setVolatile(this, IFflag & ALL_MASK);
+    }
+
+    public int getIE() {
+        return enabled;
+    }
+
+    public void setIE(int IEflag) {
+        enabled = IEflag & 0xFF;
+    }
+
     public String toString() {
         if(!interruptsEnabled){
-            return "IME OFF";
+            return String.format("IME OFF, IE %02x, IF %02x", enabled, requested);
         }else{
-            return specificEnabled.toString();
+            return String.format("IE %02x, IF %02x", enabled, requested);
         }
     }
 }
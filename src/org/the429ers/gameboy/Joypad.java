@@ -41,50 +41,50 @@ public class Joypad implements KeyListener, Serializable {
         switch (code) {
         case KeyEvent.VK_LEFT:
             if (left == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             left = 0;
             break;
         case KeyEvent.VK_RIGHT:
             if (right == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             right = 0;
             break;
         case KeyEvent.VK_UP:
             if (up == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             up = 0;
             break;
         case KeyEvent.VK_DOWN:
             if (down == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             down = 0;
             break;
         case KeyEvent.VK_Z:
             if (a == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             a = 0;
             break;
         case KeyEvent.VK_X:
             if (b == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             b = 0;
             break;
         case KeyEvent.VK_ENTER:
             if (start == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             start = 0;
             break;
         case KeyEvent.VK_SHIFT:
         case KeyEvent.VK_BACK_SPACE:
             if (select == 1) {
-                interruptHandler.issueInterruptIfEnabled(InterruptHandler.JOYPAD);
+                interruptHandler.request(InterruptHandler.JOYPAD_MASK);
             }
             select = 0;
             break;
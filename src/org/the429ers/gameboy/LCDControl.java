@@ -4,9 +4,6 @@ import java.io.Serializable;
 
 public class LCDControl implements Serializable {
     
-    private static final int LCDControlAddress = 0xFF40;
-    
-    private MMU mem;
     private boolean isDisplayEnabled;
     private boolean use9800TileMapAddressingForWindow;
     private boolean isWindowEnabled;
@@ -16,13 +13,12 @@ public class LCDControl implements Serializable {
     private boolean spritesEnabled;
     private boolean backgroundDisplay;
     
-    public LCDControl(MMU mem) {
-        this.mem = mem;
-        this.isDisplayEnabled = true;
+    public LCDControl(int lcdcontrol) {
+        update(lcdcontrol);
     }
     
-    public void update() {
-        int lcdcontrol = mem.readByte(LCDControlAddress) & 0xFF;
+    // called with every value written to LCDC
+    public void update(int lcdcontrol) {
         isDisplayEnabled = BitOps.extract(lcdcontrol, 7, 7) == 1;
         use9800TileMapAddressingForWindow = BitOps.extract(lcdcontrol, 6, 6) == 0;
         isWindowEnabled = BitOps.extract(lcdcontrol, 5, 5) == 1;
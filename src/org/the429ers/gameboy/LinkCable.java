@@ -2,42 +2,43 @@ package org.the429ers.gameboy;
 
 import java.io.Serializable;
 
-public class LinkCable implements Serializable{
+public class LinkCable implements Serializable, Clock.Event, MMU.IOObserver {
     /**
-     * 
+     *
      */
     private static final long serialVersionUID = 6027951294304800594L;
+    public static final int TRANSFER_CYCLES = 8;
+
     private boolean isTransferring;
     private char currentData;
     private MMU mem;
     private InterruptHandler interruptHandler;
-    private int counter;
-    
-    public LinkCable(MMU mem, InterruptHandler interruptHandler) {
+    private Clock clock;
+
+    public LinkCable(MMU mem, InterruptHandler interruptHandler, Clock clock) {
         this.mem = mem;
         this.interruptHandler = interruptHandler;
+        this.clock = clock;
+        mem.observeIO(MMU.SERIAL_CONTROL_REGISTER, this);
     }
-    
-    public void tick() {
-        int serialTransferData = mem.readByte(0xFF01) & 0xFF;
-        int serialTransferControl = mem.readByte(0xFF02) & 0xFF;
 
-        
-        if (serialTransferControl == 0x81 && !isTransferring) {
-            currentData = (char) serialTransferData;
+    // the transfer starts with a write to the serial control register and completes as a Clock event
+    @Override
+    public void ioWritten(int location, int serialTransferControl) {
+        if ((serialTransferControl & 0xFF) == 0x81 && !isTransferring) {
+            currentData = (char) mem.getRegister(MMU.SERIAL_DATA_REGISTER);
             //System.out.println("here");
             System.out.print(currentData);
             System.out.flush();
             isTransferring = true;
+            clock.schedule(this, clock.now() + TRANSFER_CYCLES);
         }
-        if (isTransferring){
-            counter++;
-            if (counter == 8) {
-                counter = 0;
-                isTransferring = false;
-                mem.writeByte(0xFF02, 0x1);
-                //interruptHandler.issueInterruptIfEnabled(InterruptHandler.SERIAL_COMPLETION);
-            }
-        }
+    }
+
+    @Override
+    public void fire() {
+        isTransferring = false;
+        mem.setRegister(MMU.SERIAL_CONTROL_REGISTER, 0x1);
+        //interruptHandler.request(InterruptHandler.SERIAL_COMPLETION_MASK);
     }
 }
@@ -1,12 +1,30 @@
 package org.the429ers.gameboy;
 
 import javax.sound.sampled.SourceDataLine;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
 
 public class MMU implements Serializable {
+    interface Watch {
+        // called with every value read from or written to the page it was installed on
+        void access(int location, int value);
+    }
+    
+    interface IOReader {
+        // the value the CPU reads from the I/O register at location
+        int readIO(int location);
+    }
+    
+    interface IOObserver {
+        // called after the CPU wrote value to the I/O register at location, which already holds it
+        void ioWritten(int location, int value);
+    }
+    
     private byte[] mem = new byte[0xFFFF+1];
     private Cartridge rom;
     //open-source boot roms from https://github.com/LIJI32/SameBoy
@@ -14,10 +32,12 @@ public class MMU implements Serializable {
     private byte[] cgbBootRom = Base64.getDecoder().decode("Mf7/r+DB4IAhAIDNYAYm0M1gBiEA/g6gryINIPw+gOAm4BE+8+AS4CU+d+Akze4IPvzgRxEEASEQgBpHzS4GzS4GE3vuNCDyzaEGPgHgT68hAIDNYAYRlgQhgIAOwBoiIxMaIiMTDSD1EQQBDgbFzZIGwQ0g+CPNoQYhwpgGAz4IDhB39T4B4E8+CHev4E/xIjwNIO4REAAZBSDl/jggCSGnmQYBDgcY2hEWBg4IIYH/ry8iIhoTIhoTIq8iIiIiDSDvIYH/FkAeAM2yBj6R4EDN3QYGLc1PBj6DzVkGBgXNTwY+wc1ZBj4e4MLNPgjNQwYhwv81IPTN7wYAAADgUAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAiBY20dvyPIySPVxYyT5wHVlpGTWoFKp1lZk0bxX/l0uQFxA59/aiSU7DaOCL8M4MKei3hppSAZ1xnL1dbWc/a7NGKKXG0ydhGGZqvw30s0YopcbTJ2EYZmq/DfSzAAQFIyIDHw8KBRMkhyUeLBUgHxQFIQ0OBR0FEgkDAhoZGSkqGi0qLSQmGioeKSIiBSoGBSEZKiooAhAZKioFACckFhkGIAwkCycSJxgfMhEuBhsALykpAAATIhcSHUJFRkFBUkJFS0VLIFItVVJBUiBJTkFJTElDRSBSICDokJCQoKCgwMDASEhIAAAA2NjYKCgoYGBg0NDQgEBAIODgIBAQGCAgIOjo4CDgEIgQgIBAICA4ICCQICCgmJhIHh5YiIgQICAQICAY4OAAGBgAAAAIkLCQoLCgwLDAgLBAiCBo3gBw3iB4mLBIgOBQILjgiLAQIAAQIOAY4BgAGOAgqOAgGOAAyBjgAOBAIBjg4BgwIODo8PDw+Pj44CAIAAAQ/3+/MtAAAACfY3lCsBXLBP9/MW5KRQAA/3/vGwACAAD/fx9C8hwAAP9/lFJKKQAA/3//Ay8BAAD/f+8D1gEAAP9/tULIPQAAdH7/A4ABAAD/Z6x3ExprLdZ+/0t1IQAA/1NfSlJ+AAD/T9J+TDrgHO0D/39fJQAAagMfAv8D/3//f98BEgEAAB8jXwPyAAkA/3/qAx8BAACfKRoADAAAAP9/fwIfAAAA/3/gAwYCIAH/f+t+HwAAfP9//z8Afh8A/3//Ax8AAAD/Ax8ADAAAAP9/PwOTAQAAAAAAQn8D/3//f4x+AHwAAP9/7xuAYQAA/3/qf199AAB4R5Ayhx1hCAEwBQgAKCsDBgccMTM0NTY8QrmluaVCPAABBw8fHz48APj+//4cAAAAAAEBAwMHBwDw8PDw8Pj4AAcHBwcHBw8A4ODg8PDw8AAPDx8fPz9/AM/Pz8/P3p4A/////wAAAACPjw8PHx4eAPz///8PBwcAAACBg4ePjwAf////4MCAAIfj8/n9fT4A4ODg8PDx+QA/Pnx4+PDgPj8fDwcBAAAAAMDw+Px8PA8PHx4+PHx/+Hh8PDw8Pv4PDw8PDx8fHnBweHh5eTs/d/f35+fHz8+enp+fn5+evAAA/v7+/gAAHh4fPz8/PDwHD/74/v8PB58fHj48PDy8AAAAAAAAAAA+Hh4eHj48fPt/fz8/Ph4e4MCAgAAAAAAAAAAwf/9/Hzw8fPn58+OHf///8ODgwMD+/v8fDw8PDx4eHh4ePLy8Pz8/Pz8eHhyPjw8PDx4eHjw8PDw/f39/AAAAAP7+/v48PDx8f39/fwcHDx///vzwvr6fHw8HAwAAAAGD/////Hz4+PDgwIAAHj48PDw8PDwAAAAAAAAAAP9/T3fHIp8DfQEdJDhtAnH/f78y0AAAAD4EDgDLIPXLEfHLET0g9XkiIyIjyeUhD//LhstGKPzhyc0+CM1DBgUg98ngEz6H4BTJIstsKPvJGqFHHBwaHR2hyzewy0EoAss3IyLJDvDNZgYOD81mBhwO8M1mBg4PzWYGHMnNewZ7xhZfzXsGe9YWX8kRjgQOCBoTIiMNIPnJDmoYAg5oPoCz4gwq4hUg+8khwJgOA37+DygIPHfmB/4BKAMjGPB99h9vIw3IGOc+AeBPFhoGAs1PBs2/BhUg9cnNCQjNLAiv4E8v4ADNLAgRVv8uDfpDAct/zCMH4EzwgEfwwacgBq9PPhFhyc0jB+BMPgHJPgHgbM1RB8t/xNMI5n9H8MGnKAohfQRPBgAJfhgBeM1DBs2hBz4EFgAeCC58ySFLAX7+MygG/gEgQhgMLkQq/jAgOX7+MSA0LjQOEAYAKoBHDSD6IQACff5eKCAquCD3fdZBOA7lfcZ6b37hT/o3Abkg5H3GXW944IB+ya/JR4CAIdkCBgBPCR4AKuUhfgMGAE8JFgjNrgbhy1sgBB4IGOkqIX4DBgBPCRYIHgDNsgbJKl86VwEhBHvmH/4fIALLgXvm4P7gIAl65gP+AyACy6l65nz+fCACy5DlYmsJVF3heyJ6IskGIA4gIYH/xc3UB8ENIPjNQwbNQwYhgf8WQB4AzbIGBcgY3yFR/z7QIq8iPpgiPqAiPhIiyT4g4ADwAC/mD8jFDgAMHzD8PhDgAPAALxcX5gyBR/DBT3jgwbnByPXlxdUhfQRPBgAJfkeAgCHbAgYATwl+IX8DBgBPCTr+fyACIyP1KuUhgf/NyAjh4IMq5SGC/83ICOHghPEoAiMjKuC7KuC8KuCFfuCGzUMGIYH/FkAeAM2yBj4e4MLRweHxyREIAA4IdxkNIPvJ9c1DBj4Z6hCZIS+ZDgw9KAgyDSD5Lg8Y9fHJITD/rw4QIi8NIPvJAAAAAAAA");
     private byte[][] wram = new byte[8][0x1000]; 
     private int wramBank = 1;
-    private int[] vramBank0 = new int[0x2000];
-    private int[] vramBank1 = new int[0x2000];
+    private byte[] vramBank0 = new byte[0x2000];
+    private byte[] vramBank1 = new byte[0x2000];
     private boolean isCGB;
     
+    public static final int SERIAL_DATA_REGISTER = 0xFF01;
+    public static final int SERIAL_CONTROL_REGISTER = 0xFF02;
     public static final int IF_REGISTER = 0xFF0F;
     public static final int IE_REGISTER = 0xFFFF;
     public static final int DIV_REGISTER = 0xFF04;
@@ -26,6 +46,7 @@ public class MMU implements Serializable {
     public static final int TAC_REGISTER = 0xFF07;
     public static final int DMA_REGISTER = 0xFF46;
     public static final int LY_COMPARE_REGISTER = 0xFF45;
+    public static final int LCDC_REGISTER = 0xFF40;
     public static final int STEREO_SOUND_REGISTER = 0xFF25;
     public static final int VRAM_BANK_SELECT_REGISTER = 0xFF4F;
     public static final int CGB_DMA_SOURCE_HIGH = 0xFF51;
@@ -34,27 +55,40 @@ public class MMU implements Serializable {
     public static final int CGB_DMA_DESTINATION_LOW = 0xFF54;
     public static final int CGB_DMA_START = 0xFF55;
     
-    private int dmaSourceHigh;
-    private int dmaSourceLow;
-    private int dmaDestHigh;
-    private int dmaDestLow;
-    private int dmaSource;
-    private int dmaDest;
-    private int bytesToTransfer;
-    private boolean hBlankDMA;
-
-    
-    boolean DEBUG = false;
     private boolean bootRomEnabled = true;
     private CPU cpu;
     private IPPU ppu;
+    private final Clock clock;
     private transient Joypad joypad;
+    
+    // the I/O registers FF00-FF7F: who answers the reads of each one instead of the byte in mem, and who hears about
+    // the writes. subsystems register themselves like they schedule Clock events, and are saved along with it
+    private final IOReader[] ioReaders = new IOReader[0x80];
+    private final IOObserver[][] ioObservers = new IOObserver[0x80][];
+    // the I/O registers the PPU reads or writes, it catches up before they are accessed
+    private static final boolean[] PPU_REGISTERS = new boolean[0x80];
+    static {
+        for(int i = 0; i < PPU_REGISTERS.length; i++) PPU_REGISTERS[i] = isPPULocation(0xFF00 + i);
+    }
+    
+    // the page tables: the array each 256 byte page is read from or written to and the index of the page's first byte
+    // in it. a null page goes through readMemory or writeMemory, which is the case for I/O and anything else with
+    // side effects. bank switches only repoint pages, see mapPages
+    private transient byte[][] readPages;
+    private transient int[] readOffsets;
+    private transient byte[][] writePages;
+    private transient int[] writeOffsets;
+    
+    // the watchpoints of the debugger by 256 byte page, null while there are none, see setWatches
+    private transient Watch[] readWatches;
+    private transient Watch[] writeWatches;
     private int currentVRAMBank = 0;
     private ColorPaletteManager backgroundManager;
     private ColorPaletteManager spritePaletteManager;
     private TileSetManager tileSetManager;
     private SpriteManager spriteManager;
     SoundChip soundChip;
+    private Dma dma;
     
     public void setSpriteManager(SpriteManager manager) {
         this.spriteManager = manager;
@@ -75,6 +109,15 @@ public class MMU implements Serializable {
     public CPU getCPU() {
         return this.cpu;
     }
+    
+    // sets the bits of mask in IF, see InterruptHandler
+    public void requestInterrupt(int mask) {
+        cpu.interruptHandler.request(mask);
+    }
+    
+    public Clock getClock() {
+        return this.clock;
+    }
 
     public Joypad getJoypad() {
         return joypad;
@@ -88,21 +131,143 @@ public class MMU implements Serializable {
         return this.ppu;
     }
     
+    public boolean isBootRomEnabled() {
+        return this.bootRomEnabled;
+    }
+    
     public Cartridge getROM() {
         return this.rom;
     }
     
     // Load rom from disk
-    public MMU(String fileName) {
+    public MMU(String fileName, Clock clock) {
+        this.clock = clock;
         this.rom = Cartridge.fromFile(fileName);
         this.isCGB = rom != null && rom.isGBC();
         this.soundChip = new SoundChip();
+        mapPages();
+        mapIO();
     }
     
-    public MMU(String fileName, SourceDataLine sourceDL){
+    public MMU(String fileName, SourceDataLine sourceDL, Clock clock){
+        this.clock = clock;
         this.rom = Cartridge.fromFile(fileName);
         this.isCGB = rom != null && rom.isGBC();
         this.soundChip = new SoundChip(sourceDL);
+        mapPages();
+        mapIO();
+    }
+    
+    // makes reader answer the reads of location, an I/O register in FF00-FF7F
+    void mapIORead(int location, IOReader reader) {
+        ioReaders[location - 0xFF00] = reader;
+    }
+    
+    // makes observer hear about every write to location, an I/O register in FF00-FF7F
+    void observeIO(int location, IOObserver observer) {
+        IOObserver[] observers = ioObservers[location - 0xFF00];
+        observers = observers == null ? new IOObserver[1] : Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+        ioObservers[location - 0xFF00] = observers;
+    }
+    
+    // the raw byte of an I/O register, for the subsystem it belongs to. nothing is called or caught up
+    int getRegister(int location) {
+        return mem[location] & 0xFF;
+    }
+    
+    void setRegister(int location, int value) {
+        mem[location] = (byte) value;
+    }
+    
+    // the registers the MMU handles itself, the rest belong to the subsystems that register them
+    private void mapIO() {
+        Registers registers = new Registers();
+        mapIORead(0xFF00, registers);
+        mapIORead(IF_REGISTER, registers);
+        observeIO(IF_REGISTER, registers);
+        observeIO(0xFF50, registers);
+        observeIO(0xFF70, registers);
+        if(isCGB) {
+            observeIO(VRAM_BANK_SELECT_REGISTER, registers);
+            for(int location = 0xFF68; location <= 0xFF6B; location++) observeIO(location, registers);
+        }
+        for(int location = 0xFF10; location <= 0xFF3F; location++) observeIO(location, soundChip);
+        dma = new Dma(this, clock, isCGB);
+    }
+    
+    // the page tables aren't saved, they only point into the arrays that are
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        mapPages();
+    }
+    
+    private void mapPages() {
+        readPages = new byte[0x100][];
+        readOffsets = new int[0x100];
+        writePages = new byte[0x100][];
+        writeOffsets = new int[0x100];
+        
+        mapCartridge(0x00, 0x80);
+        mapCartridge(0xA0, 0xC0);
+        mapBootRom();
+        mapVRAM();
+        mapWRAM();
+        map(0xE0, 0xFE, mem, 0xE000, true); //the echo area isn't mirrored, it is just memory
+        mapOAM();
+    }
+    
+    // the PPU has to catch up before OAM is written, and the CPU can't read it while OAM DMA runs
+    void mapOAM() {
+        map(0xFE, 0xFF, mem, 0xFE00, false);
+        if(dma != null && dma.isOamBusy()) readPages[0xFE] = null;
+    }
+    
+    // points the pages [fromPage, toPage) at consecutive pages of array, starting with offset
+    private void map(int fromPage, int toPage, byte[] array, int offset, boolean writable) {
+        for(int page = fromPage; page < toPage; page++) {
+            readPages[page] = array;
+            readOffsets[page] = offset;
+            writePages[page] = writable ? array : null;
+            writeOffsets[page] = offset;
+            offset += 0x100;
+        }
+    }
+    
+    private void mapCartridge(int fromPage, int toPage) {
+        for(int page = fromPage; page < toPage; page++) {
+            int location = page << 8;
+            readPages[page] = rom == null ? null : rom.readablePage(location);
+            writePages[page] = rom == null ? null : rom.writablePage(location);
+            readOffsets[page] = writeOffsets[page] = rom == null ? 0 : rom.pageOffset(location);
+        }
+    }
+    
+    private void mapBootRom() {
+        if(!bootRomEnabled) return;
+        if(isCGB) {
+            map(0x00, 0x01, cgbBootRom, 0x000, false);
+            map(0x02, 0x09, cgbBootRom, 0x200, false); //the cartridge header stays visible in between
+        }else {
+            map(0x00, 0x01, bootRom, 0x000, false);
+        }
+    }
+    
+    // VRAM is only mapped for reads, writes have to update the tile sets
+    private void mapVRAM() {
+        map(0x80, 0xA0, currentVRAMBank == 0 ? vramBank0 : vramBank1, 0, false);
+    }
+    
+    private void mapWRAM() {
+        map(0xC0, 0xD0, wram[0], 0, true);
+        map(0xD0, 0xE0, wram[isCGB ? wramBank : 1], 0, true);
+    }
+    
+    // pausing only flushes, cleanUp closes the save file and is left for when this MMU is replaced or the program ends
+    public void flush() {
+        if (rom != null) {
+            rom.flush();
+        }
     }
     
     public void cleanUp() {
@@ -122,10 +287,10 @@ public class MMU implements Serializable {
         
         int index = location % 0x8000;
         if (bank == 0) {
-            return vramBank0[index];
+            return vramBank0[index] & 0xFF;
         }
         else {
-            return vramBank1[index];
+            return vramBank1[index] & 0xFF;
         }
     }
     
@@ -134,101 +299,70 @@ public class MMU implements Serializable {
             throw new IllegalArgumentException("invalid vram bank");
         }
         if (location >= 0x8000 && location <= 0x97FF) {
-            tileSetManager.updateTileSets(location, data, 0);
+            tileSetManager.updateTileSets(location, data, bank);
         }
         int index = location % 0x8000;
         if (bank == 0) {
             // Write to bank one
-            vramBank0[index] = data;
+            vramBank0[index] = (byte) data;
         }
         else {
-            vramBank1[index] = data;
+            vramBank1[index] = (byte) data;
         }
     }
     
-    private boolean withinCgbBootRom(int location){
-        return  (location >= 0x000 && location <= 0x0ff) ||
-                (location >= 0x200 && location <= 0x8ff);
+    // whether the PPU reads or writes location, in which case it has to catch up before the CPU accesses it
+    private static boolean isPPULocation(int location) {
+        return (location >= 0x8000 && location < 0xA000) || (location >= 0xFE00 && location < 0xFEA0)
+                || (location >= 0xFF40 && location <= 0xFF4F) || (location >= 0xFF51 && location <= 0xFF55)
+                || (location >= 0xFF68 && location <= 0xFF6B) || location == IF_REGISTER || location == IE_REGISTER;
     }
     
     public int slowReadByte(int location) {
-        GameBoy.getInstance().clockTick(4);
+        clock.tick(4);
         return readByte(location);
     }
     
     public int readByte(int location) {
-        if(bootRomEnabled){
-            if(isCGB && withinCgbBootRom(location)){
-                return cgbBootRom[location] & 0xff;
-            }else if(location < bootRom.length) {
-                return bootRom[location] & 0xff;
-            }
-        }
-        
-        if (location == 0xFF68) {
-            System.out.println("requested read of index bg");
-        }
-        
-        if (location == 0xFF69) {
-            System.out.println("requested read of data bg");
-        }
-        
-        if (location == 0xFF6A) {
-            System.out.println("requested read of index sprite");
-        }
-        
-        if (location == 0xFF6B) {
-            System.out.println("requested read of data sprite");
+        int value = peekByte(location);
+        int page = location >> 8;
+        if(readWatches != null && readWatches[page] != null) {
+            readWatches[page].access(location, value);
         }
-        
-        
-        if (location >= 0xC000 && location <= 0xCFFF) {
-            int wramLocation = location % 0xC000;
-            return wram[0][wramLocation] & 0xFF;
-        }
-        
-        if (location >= 0xD000 && location <= 0xDFFF) {
-            int wramLocation = location % 0xD000;
-            if (isCGB) {
-                return wram[wramBank][wramLocation] & 0xFF;
-            }
-            else {
-                return wram[1][wramLocation] & 0xFF;
-            }
-        }
-        
-        if(location < 0x8000){
+        return value;
+    }
+    
+    // readByte without the watchpoints, for the decoders and the debugger, which read memory the game doesn't
+    public int peekByte(int location) {
+        int page = location >> 8;
+        byte[] array = readPages[page];
+        return array != null ? array[readOffsets[page] + (location & 0xFF)] & 0xFF : readMemory(location);
+    }
+    
+    // the pages without a backing array: the cartridge when it doesn't give one, I/O, HRAM and IE
+    private int readMemory(int location) {
+        if(location < 0xC000){
             return rom == null? 0 : rom.readByte(location);
         }
         
-        if (location >= 0xA000 && location <= 0xBFFF) {
-            return rom == null? 0 : rom.readByte(location);
+        if(location >= 0xFF80 && location < IE_REGISTER) {
+            return mem[location] & 0xff;
         }
         
-        if (location >= 0x8000 && location <= 0x9FFF) {
-            return readByteFromVRAM(location, currentVRAMBank);
+        if(location >= 0xFF00 && location < 0xFF80) {
+            int index = location - 0xFF00;
+            if(PPU_REGISTERS[index] && ppu != null) ppu.catchUp();
+            IOReader reader = ioReaders[index];
+            return reader != null ? reader.readIO(location) : mem[location] & 0xff;
         }
         
-        if(location == DIV_REGISTER){
-            return cpu.timer.getDIV();
+        if(location == IE_REGISTER){
+            if(ppu != null) ppu.catchUp();
+            return cpu.interruptHandler.getIE();
         }
         
-        if(location == TIMA_REGISTER){
-            return cpu.timer.getTIMA();
-        }
-        
-        if(location == 0xFF00){ //joypad input
-            
-            if (BitOps.extract(mem[0xFF00] & 0xff, 5, 5) == 0) {
-                return joypad.readButtons();
-            }
-            
-            if(BitOps.extract(mem[0xFF00] & 0xff, 4, 4) == 0) {
-                return joypad.readDirections();
-            }
-            else {
-                return 0xFF;
-            }
+        if(location >= 0xFE00 && location < 0xFEA0 && dma.isOamBusy()) {
+            return 0xFF;
         }
         
         return mem[location] & 0xff;
@@ -250,7 +384,7 @@ public class MMU implements Serializable {
                 System.out.print("\033[0m");
             }
             
-            System.out.printf("%02x ", readByte(i));
+            System.out.printf("%02x ", peekByte(i));
             
             if(i % 8 == 7){
                 System.out.println();
@@ -271,180 +405,200 @@ public class MMU implements Serializable {
     }
 
     public void slowWriteByte(int location, int toWrite) {
-        GameBoy.getInstance().clockTick(4);
+        clock.tick(4);
         writeByte(location, toWrite);
     }
     
     public void writeByte(int location, int toWrite){
-        if(location == 0xff50){
-            bootRomEnabled = false;
+        int page = location >> 8;
+        if(writeWatches != null && writeWatches[page] != null) {
+            writeWatches[page].access(location, toWrite & 0xFF);
         }
-        
-        if(location < 0x7fff){
-            if(rom != null) rom.writeByte(location, toWrite);
+        byte[] array = writePages[page];
+        if(array != null) {
+            array[writeOffsets[page] + (location & 0xFF)] = (byte) toWrite;
+        }else {
+            writeMemory(location, toWrite);
+        }
+    }
+    
+    // the pages without a backing array for writes, which are everything with a side effect
+    private void writeMemory(int location, int toWrite){
+        if(location >= 0xFF80 && location < IE_REGISTER) {
+            mem[location] = (byte) toWrite;
             return;
         }
         
-        if (location >= 0xA000 && location <= 0xBFFF) {
-            if(rom != null) rom.writeByte(location, toWrite);
+        if(location >= 0xFF00 && location < 0xFF80) {
+            writeIO(location, toWrite & 0xFF);
             return;
         }
         
-        if (location >= 0x8000 && location <= 0x9FFF) {
-            writeByteToVRAM(location, toWrite, currentVRAMBank);
-            return;
+        if(location >= 0x8000 && ppu != null && isPPULocation(location)){
+            ppu.catchUp();
         }
         
-        if(isCGB) {
-            if (location >= 0xFE00 && location <= 0xFE9F) {
-                toWrite &= 0xFF;
-                spriteManager.writeData(location, toWrite);
-            }
-
-            if (location == VRAM_BANK_SELECT_REGISTER) {
-                currentVRAMBank = toWrite & 0x01;
-            }
-
-            if (location == CGB_DMA_SOURCE_HIGH) {
-                dmaSourceHigh = toWrite & 0x1F;
-            }
-
-            if (location == CGB_DMA_SOURCE_LOW) {
-                dmaSourceLow = toWrite & 0xF0;
-            }
-
-            if (location == CGB_DMA_DESTINATION_HIGH) {
-                dmaDestHigh = toWrite & 0x1F;
-            }
-
-            if (location == CGB_DMA_DESTINATION_LOW) {
-                dmaDestHigh = toWrite & 0xF0;
-            }
-
-            if (location == CGB_DMA_START) {
-                dmaSource = (dmaSourceHigh << 8) + dmaSourceLow;
-                dmaDest = (dmaDestHigh << 8) + dmaDestLow;
-                hBlankDMA = BitOps.extract(toWrite, 7, 7) == 1;
-                bytesToTransfer = (int) BitOps.extract(toWrite, 6, 0);
-                bytesToTransfer++;
-                bytesToTransfer *= 0x10;
-                // Do general purpose DMA
-                if (!hBlankDMA) {
-                    for (int i = 0; i < bytesToTransfer; i++) {
-                        this.writeByte(dmaDest, this.readByte(dmaSource + i));
-                        dmaDest++;
-                    }
-                    bytesToTransfer = 0;
+        if(location < 0x7fff){
+            if(rom != null) {
+                int bank = rom.getRomBank();
+                rom.writeByte(location, toWrite);
+                if(rom.getRomBank() != bank) {
+                    mapCartridge(0x40, 0x80);
+                    if(cpu != null) cpu.romBankChanged();
                 }
+                mapCartridge(0xA0, 0xC0); //RAM enable and RAM bank select
             }
-
-            if (location == 0xFF68) {
-                backgroundManager.setIndex(toWrite);
-            }
-
-            if (location == 0xFF69) {
-                backgroundManager.writeColor(toWrite);
-            }
-
-            if (location == 0xFF6A) {
-                spritePaletteManager.setIndex(toWrite);
-            }
-
-            if (location == 0xFF6B) {
-                spritePaletteManager.writeColor(toWrite);
-            }
-            
-        }
-
-        if (location == 0xFF70) {
-            wramBank = toWrite;
-            if (wramBank == 0) {
-                wramBank = 1;
-            }
-            //System.out.println("want to switch wram bank!");
-        }
-
-        if (location >= 0xC000 && location <= 0xCFFF) {
-            int wramLocation = location % 0xC000;
-            wram[0][wramLocation] = (byte) (toWrite & 0xFF);
             return;
         }
-
-        if (location >= 0xD000 && location <= 0xDFFF) {
-            int wramLocation = location % 0xD000;
-            if (isCGB) {
-                wram[wramBank][wramLocation] = (byte) (toWrite & 0xFF);
-            } else {
-                wram[1][wramLocation] = (byte) (toWrite & 0xFF);
+        
+        if (location >= 0xA000 && location <= 0xBFFF) {
+            if(rom != null) {
+                rom.writeByte(location, toWrite);
+                mapCartridge(location >> 8, (location >> 8) + 1); //battery RAM only gives a page after its first write
             }
             return;
         }
         
-        if(location == IF_REGISTER) { // IF register
-            boolean interrupted = cpu.interruptHandler.handleIF(toWrite);
-            if (interrupted) return;
+        if (location >= 0x8000 && location <= 0x9FFF) {
+            writeByteToVRAM(location, toWrite, currentVRAMBank);
+            return;
         }
         
-        if(location == IE_REGISTER) { //IE register
-            cpu.interruptHandler.handleIE(toWrite);
+        if (location >= 0xFE00 && location <= 0xFE9F && dma.isOamBusy()) {
+            return;
         }
         
-        if(location == DMA_REGISTER) { //DMA transfer register
-            int sourceBegin = toWrite << 8;
-            int destBegin = 0xfe00;
-            for(int i = 0; i < 256; i++){
-                //mem[destBegin + i] = mem[sourceBegin+i];
-                this.writeByte(destBegin + i, this.readByte(sourceBegin + i));
-            }
-            
-            //System.out.printf("DMA transfer requested from %x complete from %x\n", cpu.regs.PC.read(), toWrite);
+        if (isCGB && location >= 0xFE00 && location <= 0xFE9F) {
+            toWrite &= 0xFF;
+            spriteManager.writeData(location, toWrite);
         }
         
-        if(location == TMA_REGISTER){ //timer modulo register
-            cpu.timer.setModulo(toWrite);
+        if(location == IE_REGISTER) {
+            cpu.interruptHandler.setIE(toWrite);
+            return;
         }
         
-        if(location == TIMA_REGISTER){
-            cpu.timer.setTIMA(toWrite);
+        mem[location] = (byte)(toWrite & 0xFF);
+    }
+    
+    private void writeIO(int location, int toWrite) {
+        int index = location - 0xFF00;
+        if(PPU_REGISTERS[index] && ppu != null) ppu.catchUp();
+        mem[location] = (byte) toWrite;
+        IOObserver[] observers = ioObservers[index];
+        if(observers != null) {
+            for(IOObserver observer : observers) observer.ioWritten(location, toWrite);
         }
-        
-        if(location == DIV_REGISTER){
-            cpu.timer.resetDIV();
+    }
+    
+    // the end of the region around location that can be read without side effects, or -1 if there is none
+    private int plainReadEnd(int location) {
+        if(location < 0xC000) return 0xC000; //ROM, VRAM and cartridge RAM
+        if(location < 0xE000) return 0xE000;
+        if(location >= 0xFF80 && location < 0xFFFF) return 0xFFFF;
+        return -1;
+    }
+    
+    // the same for writes, VRAM only counts while the LCD is off since the PPU reads it otherwise
+    private int plainWriteEnd(int location) {
+        if(location >= 0x8000 && location < 0xA000) return (mem[0xFF40] & 0x80) == 0 ? 0xA000 : -1;
+        if(location >= 0xC000 && location < 0xE000) return 0xE000;
+        if(location >= 0xFF80 && location < 0xFFFF) return 0xFFFF;
+        return -1;
+    }
+    
+    // installs the watches of the debugger, one per 256 byte page or null if nothing on it is watched. an array can
+    // also be null if there are no watches of its kind. accesses to pages without a watch cost nothing but the check
+    void setWatches(Watch[] readWatches, Watch[] writeWatches) {
+        this.readWatches = readWatches;
+        this.writeWatches = writeWatches;
+    }
+    
+    private static boolean isWatched(Watch[] watches, int location, int length) {
+        if(watches == null) return false;
+        for(int page = location >> 8; page <= (location + length - 1) >> 8; page++) {
+            if(watches[page] != null) return true;
         }
-        
-        if(location == TAC_REGISTER){
-            cpu.timer.handleTAC(toWrite);
+        return false;
+    }
+    
+    // true if reading [location, location + length) has no side effects, used by Idioms
+    boolean isPlainRead(int location, int length) {
+        int end = location + length;
+        if(end > 0x10000 || isWatched(readWatches, location, length)) return false;
+        for(int i = location; i < end; i = plainReadEnd(i)) {
+            if(plainReadEnd(i) < 0) return false;
         }
-        
-        if(location == LY_COMPARE_REGISTER){
-            ppu.setLYCompare(toWrite);
+        return true;
+    }
+    
+    // true if writing [location, location + length) does nothing but store the bytes, used by Idioms
+    boolean isPlainWrite(int location, int length) {
+        int end = location + length;
+        if(end > 0x10000 || isWatched(writeWatches, location, length)) return false;
+        for(int i = location; i < end; i = plainWriteEnd(i)) {
+            if(plainWriteEnd(i) < 0) return false;
         }
-        
-        if(location >= 0xff10 && location <= 0xff14){
-            soundChip.square1.handleByte(location - 0xff10, toWrite);
-        }else if(location >= 0xff15 && location <= 0xff19){
-            soundChip.square2.handleByte(location - 0xff15, toWrite);
-        }else if(location >= 0xff1a && location <= 0xff1e){
-            soundChip.waveChannel.handleByte(location - 0xff1a, toWrite);
-        }else if(location >= 0xff1f && location <= 0xff23){
-            soundChip.noiseChannel.handleByte(location - 0xff1f, toWrite);
+        return true;
+    }
+    
+    // the cycles from now on that reading location keeps giving the same value if nothing is written in between, or 0
+    // if that isn't known. the joypad only changes with a key press, which could just as well have come later.
+    // used by Idioms
+    int cyclesUntilChange(int location) {
+        if(isWatched(readWatches, location, 1)) return 0; //every read has to be seen
+        switch(location) {
+            case 0xFF00: return Integer.MAX_VALUE;
+            case DIV_REGISTER: return cpu.timer.cyclesUntilDIVChanges();
+            case TIMA_REGISTER: return cpu.timer.cyclesUntilTIMAChanges();
+            case 0xFF41:
+            case 0xFF44: return ppu == null ? 0 : ppu.cyclesUntilChange(location);
+            default: return 0;
         }
-        
-        if(location == STEREO_SOUND_REGISTER) {
-            soundChip.handleStereo(toWrite);
+    }
+    
+    // the same as writing value to every byte of [location, location + length), which must pass isPlainWrite
+    void fillBytes(int location, int length, int value) {
+        int end = location + length;
+        while(location < end) {
+            int page = location >> 8;
+            byte[] array = writePages[page];
+            if(array == null) {
+                writeByte(location++, value);
+                continue;
+            }
+            
+            int chunkEnd = Math.min(end, (page + 1) << 8);
+            int offset = writeOffsets[page] + (location & 0xFF);
+            Arrays.fill(array, offset, offset + chunkEnd - location, (byte) value);
+            location = chunkEnd;
         }
-        
-        if(location >= 0xff30 && location <= 0xff3f){
-            soundChip.waveChannel.handleWaveByte(location- 0xff30, toWrite);
+    }
+    
+    // the same as copying one byte at a time from the first to the last, which must pass isPlainRead/isPlainWrite
+    void copyBytes(int source, int destination, int length) {
+        if(destination > source && destination < source + length) {
+            //the copy reads bytes it wrote itself
+            for(int i = 0; i < length; i++) {
+                writeByte(destination + i, readByte(source + i));
+            }
+            return;
         }
         
-        mem[location] = (byte)(toWrite & 0xFF);
-        
-        if(DEBUG && location == 0xff44){
-            System.out.printf("Wrote to LY: %x\n", mem[location] & 0xff);
-        }
-        if(DEBUG && location == 0xFF42) {
-            System.out.printf("Wrote to Scroll Y: %x\n", mem[location] & 0xff);
+        int end = source + length;
+        while(source < end) {
+            byte[] from = readPages[source >> 8], to = writePages[destination >> 8];
+            if(from == null || to == null) {
+                writeByte(destination++, readByte(source++));
+                continue;
+            }
+            
+            //up to the end of whichever page ends first
+            int chunk = Math.min(end - source, 0x100 - Math.max(source & 0xFF, destination & 0xFF));
+            System.arraycopy(from, readOffsets[source >> 8] + (source & 0xFF), to,
+                    writeOffsets[destination >> 8] + (destination & 0xFF), chunk);
+            source += chunk;
+            destination += chunk;
         }
     }
     
@@ -454,26 +608,112 @@ public class MMU implements Serializable {
         writeByte(location + 1, toWrite >> 8);
     }
     
-    public void hBlankDMA() {
-        if (hBlankDMA) {
-            for (int i = 0; i < 16; i++) {
-                this.writeByte(dmaDest, this.readByte(dmaSource + i));
-                dmaDest++;
-            }
-            dmaSource += 16;
-            bytesToTransfer -= 16;
-            if (bytesToTransfer == 0) {
-                hBlankDMA = false;
+    // copies length bytes as the CPU would read them from source on into to, through the page tables where it can
+    private void readBlock(int source, byte[] to, int offset, int length) {
+        int end = offset + length;
+        while(offset < end) {
+            source &= 0xFFFF;
+            byte[] from = readPages[source >> 8];
+            if(from == null) {
+                to[offset++] = (byte) readByte(source++);
+                continue;
             }
+            
+            int chunk = Math.min(end - offset, 0x100 - (source & 0xFF));
+            System.arraycopy(from, readOffsets[source >> 8] + (source & 0xFF), to, offset, chunk);
+            source += chunk;
+            offset += chunk;
         }
     }
     
+    // OAM DMA, which copies the 160 bytes from source on to OAM. see Dma
+    void copyToOAM(int source) {
+        if(ppu != null) ppu.catchUp();
+        readBlock(source, mem, 0xFE00, 0xA0);
+        if(isCGB) spriteManager.writeAll(mem, 0xFE00);
+    }
+    
+    // general purpose and HBlank DMA, which copy to the VRAM bank VBK selects
+    void copyToVRAM(int source, int destination, int length) {
+        if(ppu != null) ppu.catchUp();
+        byte[] vram = currentVRAMBank == 0 ? vramBank0 : vramBank1;
+        readBlock(source, vram, destination - 0x8000, length);
+        if(destination < 0x9800) tileSetManager.updateTileSets(destination, destination + length, vram, currentVRAMBank);
+    }
+    
     public boolean isCGB() {
         return isCGB;
     }
 
+    // the I/O registers of the MMU itself
+    private class Registers implements IOReader, IOObserver, Serializable {
+        private static final long serialVersionUID = 3094436307562165937L;
+        
+        @Override
+        public int readIO(int location) {
+            if(location == IF_REGISTER){
+                return cpu.interruptHandler.getIF();
+            }
+        
+            //the joypad
+            if (BitOps.extract(mem[0xFF00] & 0xff, 5, 5) == 0) {
+                return joypad.readButtons();
+            }
+        
+            if(BitOps.extract(mem[0xFF00] & 0xff, 4, 4) == 0) {
+                return joypad.readDirections();
+            }
+            else {
+                return 0xFF;
+            }
+        }
+    
+        @Override
+        public void ioWritten(int location, int toWrite) {
+            switch(location) {
+                case IF_REGISTER:
+                    cpu.interruptHandler.setIF(toWrite);
+                    break;
+                case 0xFF50:
+                    if(bootRomEnabled) {
+                        bootRomEnabled = false;
+                        mapCartridge(0x00, 0x09);
+                    }
+                    break;
+                case 0xFF70:
+                    wramBank = toWrite & 0x07;
+                    if (wramBank == 0) {
+                        wramBank = 1;
+                    }
+                    mapWRAM();
+                    break;
+                case VRAM_BANK_SELECT_REGISTER:
+                    currentVRAMBank = toWrite & 0x01;
+                    mapVRAM();
+                    break;
+                case 0xFF68:
+                    backgroundManager.setIndex(toWrite);
+                    break;
+                case 0xFF69:
+                    backgroundManager.writeColor(toWrite);
+                    break;
+                case 0xFF6A:
+                    spritePaletteManager.setIndex(toWrite);
+                    break;
+                case 0xFF6B:
+                    spritePaletteManager.writeColor(toWrite);
+                    break;
+            }
+        }
+    
+    }
+    
     //basically an abstraction of the various addressing modes
-    class Location implements ReadWritable{
+    class Location implements ReadWritable, Serializable{
+        /**
+         * 
+         */
+        private static final long serialVersionUID = -6130842390514735013L;
         private int address;
 
         public Location(int address){
@@ -495,26 +735,34 @@ public class MMU implements Serializable {
             MMU.this.slowWriteByte(address + 1, (val >> 8) & 0xff);
         }
     }
+    
+    //an instruction never addresses more than one location, so the CPU reuses this one instead of allocating
+    private final Location scratchLocation = new Location(0);
+    
+    private Location locate(int address) {
+        scratchLocation.address = address;
+        return scratchLocation;
+    }
 
     public Location shortRegisterLocation(Register r) {
-        return new Location(0xff00 + r.read());
+        return locate(0xff00 + r.read());
     }
     
     public Location registerLocation(Readable r) {
-        return new Location(r.read());
+        return locate(r.read());
     }
 
     public ReadWritable a8Location(Register pc){
         int address = 0xff00;
         address += slowReadByte(pc.read()+1);
         
-        return new Location(address);
+        return locate(address);
     }
 
     public ReadWritable a16Location(Register pc) {
         int address = slowReadWord(pc.read()+1);
         
-        return new Location(address);
+        return locate(address);
     }
     
     public void writeBytes(int location, byte[] sequence) {
@@ -528,7 +776,7 @@ public class MMU implements Serializable {
             if(location + i > 0xffff) {
                 return false;
             }
-            if(readByte(location + i) != sequence[i]) {
+            if(peekByte(location + i) != sequence[i]) {
                 return false;
             }
         }
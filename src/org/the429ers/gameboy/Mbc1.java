@@ -1,10 +1,5 @@
 package org.the429ers.gameboy;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 class Mbc1 implements Cartridge {
@@ -14,7 +9,6 @@ class Mbc1 implements Cartridge {
     private static final long serialVersionUID = -3769278111043856834L;
 
     public static final int BANK_SIZE = 0x4000;
-    private static final int RAM_BANK_SIZE = 0x2000;
     
     private boolean ramEnabled;
     private boolean isRomBankingMode;
@@ -23,64 +17,57 @@ class Mbc1 implements Cartridge {
     private int upperBits;
     private String fileName;
     private boolean isGBC;
-    private byte[][] banks;
-    private byte[] ram;
+    private RomImage rom; //shared, only the reference is saved. bank n starts at n * BANK_SIZE
+    private int numBanks;
+    private CartridgeRam ram;
     int currentBank = 1;
     
-    public Mbc1(byte[] rom, String fileName){
-        isGBC = rom[0x143] == 0x80 || rom[0x143] == 0xC0;
+    public Mbc1(RomImage rom, String fileName){
+        isGBC = rom.data[0x143] == 0x80 || rom.data[0x143] == 0xC0;
         this.fileName = fileName + ".sav";
-        int numBanks = rom.length / BANK_SIZE;
-        banks = new byte[numBanks][BANK_SIZE];
+        this.rom = rom;
+        this.numBanks = rom.data.length / BANK_SIZE;
         ramEnabled = false;
         isRomBankingMode = true;
-        for(int i = 0; i < rom.length; i++){
-            banks[i / BANK_SIZE][i % BANK_SIZE] = rom[i];
-        }
-        ram = new byte[0xFFFF];
-        hasBattery = rom[0x0147] == 0x03;
-        if (hasBattery) {
-            File ramData = new File(this.fileName);
-            if (ramData.exists()) {
-                try {
-                    System.out.println("found data");
-                    FileInputStream ramInput = new FileInputStream(ramData);
-                    ramInput.read(ram);
-                    ramInput.close();
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-            }
-            else {
-                try {
-                    ramData.createNewFile();
-                    FileOutputStream out = new FileOutputStream(ramData);
-                    for (int i = 0; i < ram.length; i++) {
-                        out.write(0);
-                    }
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-                
-            }
-        }
+        hasBattery = rom.data[0x0147] == 0x03;
+        ram = new CartridgeRam(hasBattery ? this.fileName : null, CartridgeRam.size(rom), CartridgeRam.BANK_SIZE);
     }
 
     public int readByte(int location) {
         if(location > 0xBFFF) throw new InvalidParameterException("Out of cartridge memory");
         
         if (location >= 0xA000 && location <= 0xBFFF) {
-            int ramLocation = (ramBank * RAM_BANK_SIZE) + location % 0xA000;
-            return ram[ramLocation] & 0xFF;
+            return ram.read(CartridgeRam.offset(ramBank, location));
         }
         
         if(location < BANK_SIZE){
-            return banks[0][location] & 0xff;
+            return rom.data[location] & 0xff;
         }
         
-        return banks[currentBank % banks.length][location - BANK_SIZE] & 0xff;
+        return rom.data[getRomBank() * BANK_SIZE + location - BANK_SIZE] & 0xff;
+    }
+
+    public byte[] readablePage(int location) {
+        if (location >= 0xA000) return location < 0xC000 ? ram.readablePage(pageOffset(location)) : null;
+        return rom.data;
+    }
+    
+    public byte[] writablePage(int location) {
+        return location >= 0xA000 && location < 0xC000 && ramEnabled ? ram.writablePage(pageOffset(location)) : null;
+    }
+    
+    public int pageOffset(int location) {
+        if (location >= 0xA000) return CartridgeRam.offset(ramBank, location);
+        if (location < BANK_SIZE) return location;
+        return getRomBank() * BANK_SIZE + location - BANK_SIZE;
+    }
+
+    public int getRomBank() {
+        return currentBank % numBanks;
+    }
+
+    public String getRomHash() {
+        return rom.hash;
     }
 
     public void writeByte(int location, int toWrite) {
@@ -101,8 +88,7 @@ class Mbc1 implements Cartridge {
         }
         
         if (location >= 0xA000 && location <= 0xBFFF && ramEnabled) {
-            int ramLocation = (ramBank * RAM_BANK_SIZE) + location % 0xA000;
-            ram[ramLocation] = (byte) toWrite;
+            ram.write(CartridgeRam.offset(ramBank, location), toWrite);
         }
         
         // Either ram bank number or upper 2 bits of rom bank number
@@ -117,24 +103,14 @@ class Mbc1 implements Cartridge {
         }
     }
 
+    @Override
+    public void flush() {
+        ram.flush();
+    }
+
     @Override
     public void cleanUp() {
-        // Write to save file
-        if (hasBattery) {
-            try {
-                FileOutputStream cartridgeRam = new FileOutputStream(this.fileName);
-                cartridgeRam.write(ram);
-                cartridgeRam.close();
-                //System.out.println("wrote to save file");
-                
-            } catch (FileNotFoundException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
-        }
+        ram.close();
     }
 
     @Override
@@ -1,10 +1,5 @@
 package org.the429ers.gameboy;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.security.InvalidParameterException;
 
 public class Mbc3 implements Cartridge{
@@ -15,7 +10,7 @@ public class Mbc3 implements Cartridge{
     private static final long serialVersionUID = -7093578351089391407L;
     
     public static final int BANK_SIZE = 0x4000;
-    private static final int RAM_BANK_SIZE = 0x4000;
+    private static final int OLD_RAM_BANK_SIZE = 0x4000; //the banks of .sav files used to be this far apart
     
     private boolean ramEnabled;
     private boolean hasBattery;
@@ -25,50 +20,21 @@ public class Mbc3 implements Cartridge{
     private int ramBank;
     private String fileName;
     
-    private byte[][] banks;
-    private byte[] ram;
+    private RomImage rom; //shared, only the reference is saved. bank n starts at n * BANK_SIZE
+    private int numBanks;
+    private CartridgeRam ram;
     int currentBank = 1;
     
-    public Mbc3(byte[] rom, String fileName) {
-        int gbcByte = rom[0x143] & 0xFF;
+    public Mbc3(RomImage rom, String fileName) {
+        int gbcByte = rom.data[0x143] & 0xFF;
         this.isGBC = gbcByte == 0x80;
         this.fileName = fileName + ".sav";
-        int numBanks = rom.length / BANK_SIZE;
-        banks = new byte[numBanks][BANK_SIZE];
+        this.rom = rom;
+        this.numBanks = rom.data.length / BANK_SIZE;
         ramEnabled = false;
-        for(int i = 0; i < rom.length; i++){
-            banks[i / BANK_SIZE][i % BANK_SIZE] = rom[i];
-        }
-        ram = new byte[0xFFFF];
-        hasBattery = (rom[0x0147] == 0x0F) || (rom[0x0147] == 0x10) || (rom[0x147] == 0x13);
-        hasRam = (rom[0x0147] == 0x10) || (rom[0x0147] == 0x12) || (rom[0x147] == 0x13);
-        if (hasBattery) {
-            File ramData = new File(this.fileName);
-            if (ramData.exists()) {
-                try {
-                    //System.out.println("found data");
-                    FileInputStream ramInput = new FileInputStream(ramData);
-                    ramInput.read(ram);
-                    ramInput.close();
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-            }
-            else {
-                try {
-                    ramData.createNewFile();
-                    FileOutputStream out = new FileOutputStream(ramData);
-                    for (int i = 0; i < ram.length; i++) {
-                        out.write(0);
-                    }
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-                
-            }
-        }
+        hasBattery = (rom.data[0x0147] == 0x0F) || (rom.data[0x0147] == 0x10) || (rom.data[0x147] == 0x13);
+        hasRam = (rom.data[0x0147] == 0x10) || (rom.data[0x0147] == 0x12) || (rom.data[0x147] == 0x13);
+        ram = new CartridgeRam(hasBattery ? this.fileName : null, CartridgeRam.size(rom), OLD_RAM_BANK_SIZE);
     }
 
     @Override
@@ -82,8 +48,7 @@ public class Mbc3 implements Cartridge{
                     return 5;
                 }
                 //System.out.println("read ram");
-                int ramLocation = (ramBank * RAM_BANK_SIZE) + location % 0xA000;
-                return ram[ramLocation] & 0xFF;
+                return ram.read(CartridgeRam.offset(ramBank, location));
             }
             else {
                 return 0xFF;
@@ -91,14 +56,46 @@ public class Mbc3 implements Cartridge{
         }
         
         else if(location < BANK_SIZE){
-            return banks[0][location] & 0xff;
+            return rom.data[location] & 0xff;
         }
         
         else {
-            return banks[currentBank][location - BANK_SIZE] & 0xff;
+            return rom.data[currentBank * BANK_SIZE + location - BANK_SIZE] & 0xff;
         }
     }
 
+    @Override
+    public byte[] readablePage(int location) {
+        if (location >= 0xA000) { //the RTC and disabled RAM go through readByte
+            return location < 0xC000 && ramEnabled && ramBank < 0x8 ? ram.readablePage(pageOffset(location)) : null;
+        }
+        if (location < BANK_SIZE) return rom.data;
+        return currentBank < numBanks ? rom.data : null;
+    }
+    
+    @Override
+    public byte[] writablePage(int location) {
+        if (location < 0xA000 || location >= 0xC000 || !ramEnabled || ramBank >= 0x8) return null;
+        return ram.writablePage(pageOffset(location));
+    }
+    
+    @Override
+    public int pageOffset(int location) {
+        if (location >= 0xA000) return CartridgeRam.offset(ramBank, location);
+        if (location < BANK_SIZE) return location;
+        return currentBank * BANK_SIZE + location - BANK_SIZE;
+    }
+
+    @Override
+    public int getRomBank() {
+        return currentBank;
+    }
+
+    @Override
+    public String getRomHash() {
+        return rom.hash;
+    }
+
     @Override
     public void writeByte(int location, int toWrite) {
         // RAM/RTC enable
@@ -116,8 +113,7 @@ public class Mbc3 implements Cartridge{
         else if (location >= 0xA000 && location <= 0xBFFF && ramEnabled) {
             if (ramBank < 0x8) {
                 //System.out.println("wrote to ram");
-                int ramLocation = (ramBank * RAM_BANK_SIZE) + (location % 0xA000);
-                ram[ramLocation] = (byte) toWrite;
+                ram.write(CartridgeRam.offset(ramBank, location), toWrite);
             }
             else {
                 //System.out.println("wrote rtc");
@@ -152,25 +148,14 @@ public class Mbc3 implements Cartridge{
         
     }
 
+    @Override
+    public void flush() {
+        ram.flush();
+    }
+
     @Override
     public void cleanUp() {
-        // TODO Auto-generated method stub
-        // Write to save file
-        if (hasBattery) {
-            try {
-                FileOutputStream cartridgeRam = new FileOutputStream(this.fileName);
-                cartridgeRam.write(ram);
-                cartridgeRam.close();
-                //System.out.println("wrote to save file");
-                
-            } catch (FileNotFoundException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
-        }
+        ram.close();
     }
 
     @Override
@@ -1,12 +1,5 @@
 package org.the429ers.gameboy;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.security.InvalidParameterException;
 
 public class Mbc5 implements Cartridge {
@@ -21,69 +14,58 @@ public class Mbc5 implements Cartridge {
     private int ramBank;
     private String fileName;
     private boolean isGBC;
-    private byte[][] banks;
-    private byte[][] ram;
+    private RomImage rom; //shared, only the reference is saved. bank n starts at n * BANK_SIZE
+    private int numBanks;
+    private CartridgeRam ram;
     int currentBank = 1;
     
-    public Mbc5(byte[] rom, String fileName){
-        int gbcByte = rom[0x143] & 0xFF;
+    public Mbc5(RomImage rom, String fileName){
+        int gbcByte = rom.data[0x143] & 0xFF;
         this.isGBC = gbcByte == 0x80 || gbcByte == 0xC0;
         this.fileName = fileName + ".sav";
-        int numBanks = rom.length / BANK_SIZE;
-        banks = new byte[numBanks][BANK_SIZE];
+        this.rom = rom;
+        this.numBanks = rom.data.length / BANK_SIZE;
         ramEnabled = false;
-        for(int i = 0; i < rom.length; i++){
-            banks[i / BANK_SIZE][i % BANK_SIZE] = rom[i];
-        }
-        ram = new byte [16][2 << 20];
-        hasBattery = rom[0x0147] == 0x1B || rom[0x147] == 0x1E || true;
-        if (hasBattery) {
-            File ramData = new File(this.fileName);
-            if (ramData.exists()) {
-                try {
-                    System.out.println("found data");
-                    FileInputStream ramInput = new FileInputStream(ramData);
-                    ObjectInputStream objectIn = new ObjectInputStream(ramInput);
-                    ram = (byte[][]) objectIn.readObject();
-                    ramInput.close();
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                } catch (ClassNotFoundException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-            }
-            else {
-                try {
-                    ramData.createNewFile();
-                    FileOutputStream out = new FileOutputStream(ramData);
-                    for (int i = 0; i < ram.length; i++) {
-                        out.write(0);
-                    }
-                    out.close();
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
-                }
-                
-            }
-        }
+        hasBattery = rom.data[0x0147] == 0x1B || rom.data[0x147] == 0x1E || true;
+        ram = new CartridgeRam(hasBattery ? this.fileName : null, CartridgeRam.size(rom), CartridgeRam.BANK_SIZE);
     }
 
     public int readByte(int location) {
         if(location > 0xBFFF) throw new InvalidParameterException("Out of cartridge memory");
         
         if (location >= 0xA000 && location <= 0xBFFF) {
-            int ramLocation = location % 0xA000;
-            return ram[ramBank][ramLocation] & 0xFF;
+            return ram.read(CartridgeRam.offset(ramBank, location));
         }
         
         if(location < BANK_SIZE){
-            return banks[0][location] & 0xff;
+            return rom.data[location] & 0xff;
         }
         
-        return banks[currentBank][location - BANK_SIZE] & 0xff;
+        return rom.data[currentBank * BANK_SIZE + location - BANK_SIZE] & 0xff;
+    }
+
+    public byte[] readablePage(int location) {
+        if (location >= 0xA000) return location < 0xC000 ? ram.readablePage(pageOffset(location)) : null;
+        if (location < BANK_SIZE) return rom.data;
+        return currentBank < numBanks ? rom.data : null;
+    }
+    
+    public byte[] writablePage(int location) {
+        return location >= 0xA000 && location < 0xC000 && ramEnabled ? ram.writablePage(pageOffset(location)) : null;
+    }
+    
+    public int pageOffset(int location) {
+        if (location >= 0xA000) return CartridgeRam.offset(ramBank, location);
+        if (location < BANK_SIZE) return location;
+        return currentBank * BANK_SIZE + location - BANK_SIZE;
+    }
+
+    public int getRomBank() {
+        return currentBank;
+    }
+
+    public String getRomHash() {
+        return rom.hash;
     }
 
     public void writeByte(int location, int toWrite) {
@@ -108,9 +90,7 @@ public class Mbc5 implements Cartridge {
         }
         
         if (location >= 0xA000 && location <= 0xBFFF && ramEnabled) {
-            int ramLocation = location % 0xA000;
-            ram[ramBank][ramLocation] = (byte) toWrite;
-            
+            ram.write(CartridgeRam.offset(ramBank, location), toWrite);
         }
         
         // Ram bank number
@@ -120,25 +100,14 @@ public class Mbc5 implements Cartridge {
         
     }
 
+    @Override
+    public void flush() {
+        ram.flush();
+    }
+
     @Override
     public void cleanUp() {
-        // Write to save file
-        if (hasBattery) {
-            try {
-                FileOutputStream cartridgeRam = new FileOutputStream(this.fileName);
-                ObjectOutputStream objectOut = new ObjectOutputStream(cartridgeRam);
-                objectOut.writeObject(ram);
-                cartridgeRam.close();
-                System.out.println("wrote to save file");
-                
-            } catch (FileNotFoundException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
-        }
+        ram.close();
     }
 
     @Override
@@ -6,7 +6,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 
-public class PPU implements Serializable, IPPU {
+public class PPU implements Serializable, IPPU, Clock.Event, MMU.IOObserver {
     /**
      * 
      */
@@ -17,6 +17,9 @@ public class PPU implements Serializable, IPPU {
     private TileMap map;
     private TileMap window;
     private MMU mem;
+    private Clock clock;
+    private long lastUpdate; //the cycle the PPU has caught up to
+    private int lcdc;
     private int currentX;
     private int currentY;
     private transient BufferedImage frame;
@@ -78,8 +81,9 @@ public class PPU implements Serializable, IPPU {
     
     int framesDrawn = 0;
     
-    public PPU(MMU mem, GameBoyScreen gbs) {
+    public PPU(MMU mem, GameBoyScreen gbs, Clock clock) {
         mem.setPPU(this);
+        this.clock = clock;
         this.mem = mem;
         frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
         currentX = 0;
@@ -88,6 +92,10 @@ public class PPU implements Serializable, IPPU {
         sprites = new HashMap<Integer, ISprite>();
         tileSetManager = new TileSetManager(false);
         mem.setTileSetManager(tileSetManager);
+        mem.observeIO(MMU.LCDC_REGISTER, this);
+        mem.observeIO(MMU.LY_COMPARE_REGISTER, this);
+        mem.observeIO(SCROLL_X_REGISTER, this);
+        setLCDC(mem.getRegister(MMU.LCDC_REGISTER));
     }
     
     public PPU() {
@@ -121,13 +129,33 @@ public class PPU implements Serializable, IPPU {
     }
     
     public void loadPallettes() {
-        background = new Pallette(mem.readByte(0xFF47));
-        obp0 = new Pallette(mem.readByte(0xFF48));
-        obp1 = new Pallette(mem.readByte(0xFF49));
+        background = new Pallette(mem.getRegister(0xFF47));
+        obp0 = new Pallette(mem.getRegister(0xFF48));
+        obp1 = new Pallette(mem.getRegister(0xFF49));
     }
     
+    // LYC coming to match the current line is an edge as well
     public void setLYCompare(int lyCompare){
+        if (enabled && lyCompare != LYCompare && lyCompare == currentY) mem.requestInterrupt(InterruptHandler.LCDC_MASK);
         this.LYCompare = lyCompare;
+        scheduleNextEvent();
+    }
+    
+    public void setLCDC(int lcdc){
+        this.lcdc = lcdc;
+        this.spritesEnabled = BitOps.extract(lcdc, 1, 1) == 1;
+        this.enabled = BitOps.extract(lcdc, 7, 7) == 1;
+        scheduleNextEvent();
+    }
+    
+    // the MMU has made the PPU catch up before the write, so the new value only counts from now on
+    @Override
+    public void ioWritten(int location, int value) {
+        switch (location) {
+            case MMU.LCDC_REGISTER: setLCDC(value); break;
+            case MMU.LY_COMPARE_REGISTER: setLYCompare(value); break;
+            case SCROLL_X_REGISTER: scrollX = value; break;
+        }
     }
     
     public void setMMU(MMU mmu) {
@@ -142,34 +170,68 @@ public class PPU implements Serializable, IPPU {
         hBlank = false;
     }
     
-    public void tick() {
-        // Lie to the CPU and pretend we're transfering pixels to the LCD
-        if (cycleCount >= PIXEL_TRANSFER_START && cycleCount <= PIXEL_TRANSFER_END) {
-                    
-        }
-        /*
-        else if (cycleCount == 0) {
-            //System.out.println("executing this thing");
-            
-        }
-        
-        
-        */
-        scrollX = mem.readByte(0xFF43);
-        int lcdc = mem.readByte(0xff40);
-        spritesEnabled = BitOps.extract(lcdc, 1, 1) == 1;
-        enabled = BitOps.extract(lcdc, 7, 7) == 1;
+    @Override
+    public void fire() {
+        catchUp();
+    }
+    
+    // runs the cycles up to the current one of the clock. LCDC, SCX and everything else the CPU can change only
+    // change after the MMU has called this, so they can't change in the middle of it. LCDC and SCX are pushed by
+    // ioWritten, the registers that are only looked at once per line or frame are read from the MMU then
+    @Override
+    public void catchUp() {
+        long now = clock.now();
+        int cycles = (int) (now - lastUpdate);
+        if (cycles == 0) return;
+        lastUpdate = now;
         
+        while (cycles > 0) {
+            int uneventful = Math.min(IPPU.uneventfulCycles(cycleCount, currentY), cycles);
+            if (uneventful == 0) {
+                tick();
+                cycles--;
+                continue;
+            }
+            for (int i = 0; i < uneventful; i++) {
+                if (isTransferringPixel(cycleCount + i)) drawPixel();
+            }
+            endCycles(uneventful);
+            cycles -= uneventful;
+        }
+        scheduleNextEvent();
+    }
+    
+    @Override
+    public int cyclesUntilChange(int location) {
+        catchUp();
+        return IPPU.cyclesUntilWrite(location, cycleCount, currentY);
+    }
+    
+    @Override
+    public int cyclesUntilHBlank() {
+        catchUp();
+        return IPPU.cyclesUntilHBlank(cycleCount, currentY);
+    }
+    
+    private boolean isTransferringPixel(int cycle) {
+        return cycle >= PIXEL_TRANSFER_START && cycle < PIXEL_TRANSFER_START + 160 && currentY < ACTUAL_LINES;
+    }
+    
+    private void scheduleNextEvent() {
+        clock.schedule(this, lastUpdate + IPPU.cyclesUntilEvent(cycleCount, currentY, LYCompare, enabled) + 1);
+    }
+    
+    private void tick() {
         //spritesEnabled = true;
         if (cycleCount == OAM_SEARCH_START) {
             currentMode = OAM_SEARCH_MODE;
             hBlank = false;
-            scrollY = mem.readByte(0xFF42);
+            scrollY = mem.getRegister(0xFF42);
             if (currentY < ACTUAL_LINES) {
-                int status = mem.readByte(0xFF41) & 0x3F;
-                mem.writeByte(0xFF41, status | 0x80);
+                int status = mem.getRegister(0xFF41) & 0x3F;
+                mem.setRegister(0xFF41, status | 0x80);
             }
-            mem.writeByte(0xFF44, currentY);
+            mem.setRegister(0xFF44, currentY);
             //int lcdc = mem.readByte(0xff40);
             boolean useTileSet0 = BitOps.extract(lcdc, 4, 4) == 1;
             boolean useWindowTileMap0 = BitOps.extract(lcdc, 6, 6) == 0;
@@ -193,97 +255,104 @@ public class PPU implements Serializable, IPPU {
             //}
             windowEnabled = BitOps.extract(lcdc, 5, 5) == 1;
             loadWindow(useTileSet0, useWindowTileMap0);
-            windowX = mem.readByte(0xff4b) - 7;
-            windowY = mem.readByte(0xff4a);
+            windowX = mem.getRegister(0xff4b) - 7;
+            windowY = mem.getRegister(0xff4a);
             currentX = 0;
-            scrollX = mem.readByte(0xFF43);
         }
         if (cycleCount == PIXEL_TRANSFER_START) {
-            int status = mem.readByte(0xFF41) & 0x3F;
+            int status = mem.getRegister(0xFF41) & 0x3F;
             currentMode = PIXEL_TRANSFER_MODE;
-            mem.writeByte(0xFF41, status | 0xC0);
+            mem.setRegister(0xFF41, status | 0xC0);
         }
         
-        
-        
         // Actually transfer pixels
-        if (cycleCount >= PIXEL_TRANSFER_START && cycleCount < PIXEL_TRANSFER_START + 160 && currentY < ACTUAL_LINES) {
-            int yPos = currentY + scrollY;
-            int xPos = scrollX + currentX;
-            Tile currentTile;
-            Pallette currentPallette;
-            int pixel;
-            Tile backgroundTile = map.getTile(yPos / 8, xPos / 8);
-            if (windowEnabled && currentX >= windowX && currentY >= windowY) {
-                Tile windowTile = window.getTile((currentY - windowY) / 8, (currentX - windowX) / 8);
-                int windowPixel = windowTile.getPixel((currentY - windowY)  % 8, (currentX - windowX) % 8);
-                if (spritesEnabled && sprites.containsKey(currentX + 8)) {
-                    ISprite currentSprite = sprites.get(currentX + 8);
-                    int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
-                    if ((currentSprite.getPriority() == 0 || windowPixel == 0) && spritePixel != 0) {
-                        //currentTile = currentSprite.getTile();
-                        currentPallette = currentSprite.usePalletteZero() ? obp0 : obp1;
-                        pixel = spritePixel;
-                    }
-                    else {
-                        currentTile = windowTile;
-                        currentPallette = background;
-                        pixel = windowPixel;
-                    }
-                }
-                else {
-                    currentTile = windowTile;
-                    currentPallette = background;
-                    pixel = windowPixel;
-                }
+        if (isTransferringPixel(cycleCount)) {
+            drawPixel();
+        }
+        // H-Blank Interrupt
+        if (cycleCount == H_BLANK_START && currentY < ACTUAL_LINES) {
+            if (!vBlank) {
+                hBlank = true;
+            }
+            int status = mem.getRegister(0xFF41) & 0x3F;
+            currentMode = H_BLANK_MODE;
+            mem.setRegister(0xFF41, status | 0xC0);
+        }
+        
+        // Increment currentY
+        if (cycleCount == H_BLANK_END) {
+            hBlank = false;
+            currentY++;
+            if (currentY == 154) {
+                currentY = 0;
             }
-            else if (spritesEnabled && sprites.containsKey(currentX + 8)) {
+        }
+        
+        endCycles(1);
+    }
+    
+    private void drawPixel() {
+        int yPos = currentY + scrollY;
+        int xPos = scrollX + currentX;
+        Tile currentTile;
+        Pallette currentPallette;
+        int pixel;
+        Tile backgroundTile = map.getTile(yPos / 8, xPos / 8);
+        if (windowEnabled && currentX >= windowX && currentY >= windowY) {
+            Tile windowTile = window.getTile((currentY - windowY) / 8, (currentX - windowX) / 8);
+            int windowPixel = windowTile.getPixel((currentY - windowY)  % 8, (currentX - windowX) % 8);
+            if (spritesEnabled && sprites.containsKey(currentX + 8)) {
                 ISprite currentSprite = sprites.get(currentX + 8);
                 int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
-                if ((currentSprite.getPriority() == 0 || backgroundTile.getPixel(yPos % 8, xPos % 8) == 0) && spritePixel != 0) {
+                if ((currentSprite.getPriority() == 0 || windowPixel == 0) && spritePixel != 0) {
                     //currentTile = currentSprite.getTile();
                     currentPallette = currentSprite.usePalletteZero() ? obp0 : obp1;
                     pixel = spritePixel;
                 }
                 else {
-                    currentTile = backgroundTile;
+                    currentTile = windowTile;
                     currentPallette = background;
-                    pixel = currentTile.getPixel(yPos % 8, xPos % 8);
+                    pixel = windowPixel;
                 }
             }
             else {
-                currentTile = backgroundTile;
+                currentTile = windowTile;
                 currentPallette = background;
-                pixel = currentTile.getPixel(yPos % 8, xPos % 8);
+                pixel = windowPixel;
             }
-            if (frame == null) {
-                frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
+        }
+        else if (spritesEnabled && sprites.containsKey(currentX + 8)) {
+            ISprite currentSprite = sprites.get(currentX + 8);
+            int spritePixel = currentSprite.getPixel(currentY - (currentSprite.getSpriteY() - 16), currentX - (currentSprite.getSpriteX() - 8));
+            if ((currentSprite.getPriority() == 0 || backgroundTile.getPixel(yPos % 8, xPos % 8) == 0) && spritePixel != 0) {
+                //currentTile = currentSprite.getTile();
+                currentPallette = currentSprite.usePalletteZero() ? obp0 : obp1;
+                pixel = spritePixel;
             }
-            if(!enabled){
-                pixel = 0;
+            else {
+                currentTile = backgroundTile;
+                currentPallette = background;
+                pixel = currentTile.getPixel(yPos % 8, xPos % 8);
             }
-            frame.setRGB(currentX, currentY, currentPallette.getColor(pixel, currentX, currentY).getRGB());
-            currentX++;
         }
-        // H-Blank Interrupt
-        if (cycleCount == H_BLANK_START && currentY < ACTUAL_LINES) {
-            if (!vBlank) {
-                hBlank = true;
-            }
-            int status = mem.readByte(0xFF41) & 0x3F;
-            currentMode = H_BLANK_MODE;
-            mem.writeByte(0xFF41, status | 0xC0);
+        else {
+            currentTile = backgroundTile;
+            currentPallette = background;
+            pixel = currentTile.getPixel(yPos % 8, xPos % 8);
         }
-        
-        // Increment currentY
-        if (cycleCount == H_BLANK_END) {
-            hBlank = false;
-            currentY++;
-            if (currentY == 154) {
-                currentY = 0;
-            }
+        if (frame == null) {
+            frame = new BufferedImage(160, 144, BufferedImage.TYPE_3BYTE_BGR);
         }
-        
+        if(!enabled){
+            pixel = 0;
+        }
+        frame.setRGB(currentX, currentY, currentPallette.getColor(pixel, currentX, currentY).getRGB());
+        currentX++;
+    }
+    
+    // what happens at the end of every cycle. the n cycles in a row that uneventfulCycles allows do the same thing
+    // every time, so it's only done once for them
+    private void endCycles(int n) {
         drewFrame = false;
         // Send V-Blank interrupt
         if (currentY == 145 && cycleCount == 0) {
@@ -293,26 +362,25 @@ public class PPU implements Serializable, IPPU {
         }
         
         //send LCDC interrupt
-        if (currentY == LYCompare){
-            int interruptRegister = mem.readByte(0xFF0F) & 0xFE;
-            if(enabled) mem.writeByte(0xFF0F, interruptRegister | 0x02);
+        if (IPPU.isCompareEdge(cycleCount, currentY, LYCompare)){
+            if(enabled) mem.requestInterrupt(InterruptHandler.LCDC_MASK);
         }
 
-        mem.writeByte(0xFF41, mem.readByte(0xFF41) & (~3) | currentMode);
+        mem.setRegister(0xFF41, mem.getRegister(0xFF41) & (~3) | currentMode);
         //System.out.printf("%x\n", mem.readByte(0xFF41));
         
-        cycleCount++;
+        cycleCount += n;
         cycleCount %= LINE_LENGTH;
     }
     
     
     private void drawFrame() {
-        int status = mem.readByte(0xFF41) & 0x3F;
-        mem.writeByte(0xFF41, status | 0x40);
+        int status = mem.getRegister(0xFF41) & 0x3F;
+        mem.setRegister(0xFF41, status | 0x40);
         gbs.drawFrame(frame);
         drewFrame = true;
-        int interruptRegister = mem.readByte(0xFF0F) & 0xFE;
-        if(enabled) mem.writeByte(0xFF0F, interruptRegister | 0x01);
+        clock.frameDrawn();
+        if(enabled) mem.requestInterrupt(InterruptHandler.VBLANK_MASK);
         //mem.writeByte(0xFF85, 0xFF);
         //mem.writeByte(0xFF44, 0x90);
     }
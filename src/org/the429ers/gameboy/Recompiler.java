@@ -0,0 +1,325 @@
+package org.the429ers.gameboy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+
+/***
+ *
+ * Block recompiler that sits on top of the switch core. Once a basic block in ROM has been entered HOT_THRESHOLD
+ * times, its instructions are translated into a hidden class whose run() method calls the SwitchCore method of
+ * every instruction in a row, with the immediates baked in and the bookkeeping of executeOneInstruction inlined
+ * around each call. HotSpot then compiles the whole block as one method.
+ *
+ * Blocks are cached per ROM bank, so a bank switch never has to throw anything away; it only stops the block that
+ * caused it (see CPU.romBankChanged). Code outside of ROM (WRAM, HRAM, cartridge RAM) is always interpreted, since
+ * it can be overwritten at any time.
+ *
+ * Compiled blocks are also kept in the CodeCache of the cartridge, and blocks found there are used the first time
+ * they are entered instead of waiting for them to get hot.
+ *
+ */
+final class Recompiler {
+    static final int HOT_THRESHOLD = 64;
+    static final int MAX_BLOCK_INSTRUCTIONS = 48;
+    static final int MAX_BANKS = 512;
+
+    //a block that couldn't be compiled, so we stop counting how hot it is
+    private static final Block UNCOMPILABLE = (CPU cpu) -> { };
+
+    private final CPU cpu;
+    private final CodeCache codeCache;
+
+    // slot 0 holds the blocks of 0x0000-0x3fff, slot n + 1 holds the blocks of bank n when it is mapped to 0x4000-0x7fff
+    private final Block[][] blocks = new Block[MAX_BANKS + 1][];
+    private final int[][] entryCounts = new int[MAX_BANKS + 1][];
+
+    interface Block {
+        void run(CPU cpu);
+    }
+
+    Recompiler(CPU cpu) {
+        this.cpu = cpu;
+        this.codeCache = CodeCache.forCartridge(cpu.mem.getROM());
+    }
+
+    // runs the block at PC if there is one, returns false if the instruction at PC has to be interpreted instead
+    boolean execute() {
+        int pc = cpu.regs.pc;
+        if(pc >= 0x8000 || cpu.mem.isBootRomEnabled()) return false;
+
+        int slot = slotOf(pc);
+        if(slot < 0) return false;
+
+        int offset = pc & 0x3fff;
+        Block[] slotBlocks = blocks[slot];
+        if(slotBlocks == null) {
+            slotBlocks = blocks[slot] = new Block[0x4000];
+            entryCounts[slot] = new int[0x4000];
+        }
+
+        Block block = slotBlocks[offset];
+        if(block == null) {
+            byte[] classFile = codeCache == null ? null : codeCache.get(slot, offset);
+            if(classFile == null) {
+                if(++entryCounts[slot][offset] < HOT_THRESHOLD) return false;
+
+                classFile = compile(pc);
+                if(classFile != null && codeCache != null) codeCache.put(slot, offset, classFile);
+            }
+            block = slotBlocks[offset] = define(classFile);
+        }
+        if(block == UNCOMPILABLE) return false;
+
+        cpu.blockExit = false;
+        block.run(cpu);
+        return true;
+    }
+
+    private int slotOf(int pc) {
+        if(pc < 0x4000) return 0;
+
+        int bank = cpu.mem.getROM().getRomBank();
+        return bank >= 0 && bank < MAX_BANKS ? bank + 1 : -1;
+    }
+
+    // instructions that always leave the block, because they change PC or stop the CPU
+    private static boolean endsBlock(int opcode) {
+        CPU.Operation op = CPU.operations[opcode];
+        return op instanceof CPU.Jump || op.description.equals("HALT") || op.description.startsWith("STOP");
+    }
+
+    private static boolean isInvalid(int opcode) {
+        return CPU.operations[opcode].description.equals("XXX");
+    }
+
+    // returns the class file of the block starting at startPC, or null if there is nothing to compile
+    byte[] compile(int startPC) {
+        BlockWriter writer = new BlockWriter();
+        MMU mem = cpu.mem;
+        if(Idioms.recognize(mem, startPC) != null) return null; //left to ThreadedCode, which runs the whole loop
+        int regionEnd = startPC < 0x4000 ? 0x4000 : 0x8000;
+        int pc = startPC;
+
+        for(int count = 0; count < MAX_BLOCK_INSTRUCTIONS; count++) {
+            int opcode = mem.peekByte(pc);
+            if(isInvalid(opcode)) break;
+
+            int length = opcode == 0xcb ? 2 : CPU.operations[opcode].length;
+            if(pc + length > regionEnd) break; //the rest of the instruction might be in another bank
+
+            boolean last = endsBlock(opcode) || count == MAX_BLOCK_INSTRUCTIONS - 1;
+
+            if(opcode == 0xcb) {
+                writer.instruction(String.format("cb%02X", mem.peekByte(pc + 1)), -1, 8, last);
+            }else if(opcode == 0x10 || length == 1) { //STOP doesn't read its second byte
+                writer.instruction(String.format("op%02X", opcode), -1, 4, last);
+            }else if(length == 2) {
+                writer.instruction(String.format("op%02X", opcode), mem.peekByte(pc + 1), 8, last);
+            }else {
+                int imm = (mem.peekByte(pc + 2) << 8) | mem.peekByte(pc + 1);
+                writer.instruction(String.format("op%02X", opcode), imm, 12, last);
+            }
+
+            pc += length;
+            if(last) break;
+        }
+
+        if(writer.instructionCount == 0) return null;
+
+        try {
+            return writer.toClassFile();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Block define(byte[] classFile) {
+        if(classFile == null) return UNCOMPILABLE;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            return (Block) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return UNCOMPILABLE;
+        }
+    }
+
+    /***
+     *
+     * Writes the class file of a single block. Only the handful of constant pool entries and opcodes needed for a
+     * straight run of static calls are supported. The class file version is 49, so the verifier doesn't need stack
+     * map frames for the branches that leave the block early.
+     *
+     */
+    static class BlockWriter {
+        private static final String CPU = "org/the429ers/gameboy/CPU";
+        private static final String SWITCH_CORE = "org/the429ers/gameboy/SwitchCore";
+
+        private final ByteArrayOutputStream constantBytes = new ByteArrayOutputStream();
+        private final DataOutputStream constants = new DataOutputStream(constantBytes);
+        private final HashMap<String, Integer> constantIndices = new HashMap<>();
+        private int constantCount = 1;
+
+        private final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        private final DataOutputStream code = new DataOutputStream(codeBytes);
+        int instructionCount = 0;
+
+        // the code of an instruction: CPU.beginInstruction, the SwitchCore method, then CPU.endInstruction,
+        // returning early if endInstruction says the block can't go on
+        void instruction(String method, int imm, int fetchTicks, boolean last) {
+            try {
+                code.writeByte(0x2b); //aload_1
+                pushInt(fetchTicks);
+                code.writeByte(0xb6); //invokevirtual
+                code.writeShort(methodRef(CPU, "beginInstruction", "(I)V"));
+
+                code.writeByte(0x2b); //aload_1
+                code.writeByte(0x2b); //aload_1
+                if(imm >= 0) {
+                    pushInt(imm);
+                    code.writeByte(0xb8); //invokestatic
+                    code.writeShort(methodRef(SWITCH_CORE, method, "(L" + CPU + ";I)I"));
+                }else {
+                    code.writeByte(0xb8); //invokestatic
+                    code.writeShort(methodRef(SWITCH_CORE, method, "(L" + CPU + ";)I"));
+                }
+                code.writeByte(0xb6); //invokevirtual
+                code.writeShort(methodRef(CPU, "endInstruction", "(I)Z"));
+
+                if(last) {
+                    code.writeByte(0x57); //pop
+                    code.writeByte(0xb1); //return
+                }else {
+                    code.writeByte(0x99); //ifeq, skipping over the return
+                    code.writeShort(4);
+                    code.writeByte(0xb1); //return
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            instructionCount++;
+        }
+
+        private void pushInt(int value) throws IOException {
+            if(value <= Short.MAX_VALUE) {
+                code.writeByte(0x11); //sipush
+                code.writeShort(value);
+            }else {
+                code.writeByte(0x13); //ldc_w
+                code.writeShort(integerConstant(value));
+            }
+        }
+
+        private int constant(String key, int tag, ThrowingWriter writer) {
+            Integer index = constantIndices.get(key);
+            if(index != null) return index;
+
+            try {
+                constants.writeByte(tag);
+                writer.write(constants);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            constantIndices.put(key, constantCount);
+            return constantCount++;
+        }
+
+        private interface ThrowingWriter {
+            void write(DataOutputStream out) throws IOException;
+        }
+
+        private int utf8(String value) {
+            return constant("U" + value, 1, (DataOutputStream out) -> out.writeUTF(value));
+        }
+
+        private int integerConstant(int value) {
+            return constant("I" + value, 3, (DataOutputStream out) -> out.writeInt(value));
+        }
+
+        private int classRef(String name) {
+            int nameIndex = utf8(name);
+            return constant("C" + name, 7, (DataOutputStream out) -> out.writeShort(nameIndex));
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            int nameIndex = utf8(name), descriptorIndex = utf8(descriptor);
+            return constant("N" + name + descriptor, 12, (DataOutputStream out) -> {
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+        }
+
+        private int methodRef(String owner, String name, String descriptor) {
+            int classIndex = classRef(owner), nameAndTypeIndex = nameAndType(name, descriptor);
+            return constant("M" + owner + name + descriptor, 10, (DataOutputStream out) -> {
+                out.writeShort(classIndex);
+                out.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        byte[] toClassFile() throws IOException {
+            int thisClass = classRef("org/the429ers/gameboy/RecompiledBlock");
+            int superClass = classRef("java/lang/Object");
+            int blockInterface = classRef("org/the429ers/gameboy/Recompiler$Block");
+            int objectInit = methodRef("java/lang/Object", "<init>", "()V");
+            int init = utf8("<init>"), initDescriptor = utf8("()V");
+            int run = utf8("run"), runDescriptor = utf8("(L" + CPU + ";)V");
+            int codeAttribute = utf8("Code");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0); //minor version
+            out.writeShort(49); //major version
+            out.writeShort(constantCount);
+            out.write(constantBytes.toByteArray());
+            out.writeShort(0x0001 | 0x0010 | 0x0020); //public final super
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1); //interfaces
+            out.writeShort(blockInterface);
+            out.writeShort(0); //fields
+            out.writeShort(2); //methods
+
+            //public <init>() { super(); }
+            out.writeShort(0x0001);
+            out.writeShort(init);
+            out.writeShort(initDescriptor);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + 5);
+            out.writeShort(1); //max stack
+            out.writeShort(1); //max locals
+            out.writeInt(5);
+            out.writeByte(0x2a); //aload_0
+            out.writeByte(0xb7); //invokespecial
+            out.writeShort(objectInit);
+            out.writeByte(0xb1); //return
+            out.writeShort(0); //exception table
+            out.writeShort(0); //attributes
+
+            //public void run(CPU cpu)
+            byte[] runCode = codeBytes.toByteArray();
+            out.writeShort(0x0001);
+            out.writeShort(run);
+            out.writeShort(runDescriptor);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + runCode.length);
+            out.writeShort(3); //max stack
+            out.writeShort(2); //max locals
+            out.writeInt(runCode.length);
+            out.write(runCode);
+            out.writeShort(0); //exception table
+            out.writeShort(0); //attributes
+
+            out.writeShort(0); //class attributes
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.the429ers.gameboy;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
 import java.io.Serializable;
-import java.security.InvalidParameterException;
 
 interface Readable {
     int read();
@@ -17,190 +19,145 @@ interface Register extends ReadWritable { }
 
 interface ShortRegister extends Register, Serializable {}
 
-class LongRegister implements Register, Serializable {
+public class RegisterFile implements Serializable {
     /**
      * 
      */
-    private static final long serialVersionUID = 2142281106792231516L;
-    private int value;
-    ShortRegister lowerByte = new ShortRegister() {
-        /**
-         * 
-         */
-        private static final long serialVersionUID = 1L;
-
-        @Override
-        public int read() {
-            return LongRegister.this.value & 0xff;
-        }
-
-        @Override
-        public void write(int val) {
-            val &= 0xff; //truncate value to single byte
-            LongRegister.this.value &= 0xff00; //reset lower byte
-            LongRegister.this.value |= val; //set lower byte to value
-        }
-        
-        public String toString() {
-            return String.format("%02X", this.read());
-        }
-    };
-
-    ShortRegister upperByte = new ShortRegister() {
-        /**
-         * 
-         */
-        private static final long serialVersionUID = 1L;
-
-        @Override
-        public int read() {
-            return (LongRegister.this.value & 0xff00) >> 8;
-        }
-
-        @Override
-        public void write(int val) {
-            val = (val & 0xff) << 8; //truncate value to single byte and move it up a byte
-            LongRegister.this.value &= 0x00FF; //reset upper byte
-            LongRegister.this.value |= val; //set upper byte to value
-        }
-
-        public String toString() {
-            return String.format("%02X", this.read());
-        }
-    };
-
-    public int read() {
-        return this.value;
+    private static final long serialVersionUID = -4183093542617052361L;
+    
+    // each register pair is kept as a 16-bit value, the upper byte holds the first register of the pair
+    // the flags are packed into the upper nibble of af
+    int af, bc, de, hl, sp, pc;
+    
+    // The flags of the last ADD, ADC, SUB, SBC, CP, INC or DEC that haven't been computed yet, or 0 if F is up to
+    // date. Bits 0-11 hold the unmasked result, bits 12-19 the xor of the operands, bit 22 is N and bits 24-31
+    // are the mask of the flags the operation defines. Z, H and C are derived from them only when something reads
+    // F, since most of the time the next arithmetic instruction overwrites them anyway. Anything that reads the
+    // flags of af directly has to call syncFlags first, and anything that overwrites all of them clears lazyFlags.
+    int lazyFlags;
+    
+    public static final int ZFLAG = 7;
+    public static final int NFLAG = 6;
+    public static final int HFLAG = 5;
+    public static final int CFLAG = 4;
+    
+    public static final int ZMASK = 1 << ZFLAG;
+    public static final int NMASK = 1 << NFLAG;
+    public static final int HMASK = 1 << HFLAG;
+    public static final int CMASK = 1 << CFLAG;
+    
+    static final int LAZY_ADD = 0xf0 << 24;
+    static final int LAZY_SUB = (0xf0 << 24) | (NMASK << 16);
+    static final int LAZY_INC = 0xe0 << 24;
+    static final int LAZY_DEC = (0xe0 << 24) | (NMASK << 16);
+    
+    static int high(int pair) {
+        return pair >> 8;
     }
-
-    public void write(int val){
-        this.value = val & 0xffff;
+    
+    static int low(int pair) {
+        return pair & 0xff;
     }
-
-    public String toString() {
-        return String.format("%04X", this.read());
+    
+    static int withHigh(int pair, int value) {
+        return (pair & 0xff) | ((value & 0xff) << 8);
     }
-}
-
-class FlagRegister implements ShortRegister {
-    ShortRegister wrapped;
-    public FlagRegister(ShortRegister toWrap) {
-        this.wrapped = toWrap;
+    
+    static int withLow(int pair, int value) {
+        return (pair & 0xff00) | (value & 0xff);
     }
-
-    @Override
-    public int read() {
-        return wrapped.read() & 0xf0;
+    
+    static boolean flag(int af, int mask) {
+        return (af & mask) != 0;
     }
-
-    @Override
-    public void write(int val) {
-        wrapped.write(val & 0xf0);
+    
+    // the flags the pending operation of lazyFlags defines
+    private int lazyF() {
+        int result = lazyFlags & 0xfff;
+        return ((result & 0xff) == 0 ? ZMASK : 0)
+                | ((lazyFlags >> 16) & NMASK)
+                | ((((lazyFlags >> 12) ^ result) & 0x10) << 1) //carry out of bit 3
+                | ((result >> 4) & CMASK); //carry out of bit 7, also set by a borrow since the result is then negative
     }
-
-    public String toString() {
-        return String.format("%04X", this.read());
+    
+    void syncFlags() {
+        if(lazyFlags != 0) {
+            int mask = lazyFlags >>> 24;
+            af = (af & ~mask) | (lazyF() & mask);
+            lazyFlags = 0;
+        }
     }
-}
-
-public class RegisterFile implements Serializable {
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1620775094696906337L;
-    public LongRegister AF, BC, DE, HL, SP, PC;
-    public ShortRegister A, F, B, C, D, E, H, L;
     
-    public static final int ZFLAG = 7;
-    public static final int NFLAG = 6;
-    public static final int HFLAG = 5;
-    public static final int CFLAG = 4;
+    // af with the flags up to date
+    int af() {
+        syncFlags();
+        return af;
+    }
     
-    public FlagSet flags;
+    // the same as flag(af(), mask) without computing the flags the pending operation doesn't define
+    boolean hasFlag(int mask) {
+        if(((lazyFlags >>> 24) & mask) != 0) return (lazyF() & mask) != 0;
+        return (af & mask) != 0;
+    }
     
-    public class FlagSet implements Serializable{
-        /**
-         * 
-         */
-        private static final long serialVersionUID = 888159977466716630L;
-
-        private Register flagReg;
-        
-        boolean[] flagWritable = new boolean[8];
-
-        private boolean ZWritable = true, NWritable = true, HWritable = true, CWritable = true;
-        
-        public void enableFlagWrites(boolean z, boolean n, boolean h, boolean c){
-            flagWritable[ZFLAG] = z;
-            flagWritable[NFLAG] = n;
-            flagWritable[HFLAG] = h;
-            flagWritable[CFLAG] = c;
-        }
-        
-        public FlagSet(Register r) {
-            this.flagReg = r;
-        }
-        
-        public boolean getFlag(int flagNum) {
-            if(flagNum < 4) throw new InvalidParameterException("bad flag number");
-            
-            return ((flagReg.read() >> flagNum) & 1) == 1;
-        }
-        
-        public void setFlag(int flagNum, boolean val){
-            if(flagNum < 4) throw new InvalidParameterException("bad flag number");
-            
-            if(flagWritable[flagNum]){
-                int flags = flagReg.read();
-                if(val){
-                    flags |= 1 << flagNum;
-                }else{
-                    flags &= ~(1 << flagNum);
-                }
-                
-                flagReg.write(flags);
-            }
-        }
+    int carry() {
+        return hasFlag(CMASK) ? 1 : 0;
+    }
+    
+    // 8 bit arithmetic with lazy flags, returning the result byte
+    
+    int add(int a, int b, int carry) {
+        int sum = a + b + carry;
+        lazyFlags = LAZY_ADD | ((a ^ b) << 12) | (sum & 0xfff);
+        return sum & 0xff;
+    }
+    
+    //used by SUB, SBC and CP
+    int sub(int a, int b, int carry) {
+        int diff = a - b - carry;
+        lazyFlags = LAZY_SUB | ((a ^ b) << 12) | (diff & 0xfff);
+        return diff & 0xff;
+    }
+    
+    // INC and DEC keep C, so a pending C has to be put into af first
+    int inc(int value) {
+        if((lazyFlags & (CMASK << 24)) != 0) syncFlags();
+        int result = value + 1;
+        lazyFlags = LAZY_INC | ((value ^ 1) << 12) | (result & 0xfff);
+        return result & 0xff;
+    }
+    
+    int dec(int value) {
+        if((lazyFlags & (CMASK << 24)) != 0) syncFlags();
+        int result = value - 1;
+        lazyFlags = LAZY_DEC | ((value ^ 1) << 12) | (result & 0xfff);
+        return result & 0xff;
+    }
+    
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        syncFlags();
+        out.defaultWriteObject();
     }
     
     public void dump() {
-        System.out.println("AF = " + AF);
-        System.out.println("BC = " + BC);
-        System.out.println("DE = " + DE);
-        System.out.println("HL = " + HL);
-        System.out.println("SP = " + SP);
-        System.out.println("PC = " + PC);
-        System.out.println("A = " + A);
-        System.out.println("F = " + F);
-        System.out.println("B = " + B);
-        System.out.println("C = " + C);
-        System.out.println("D = " + D);
-        System.out.println("E = " + E);
-        System.out.println("H = " + H);
-        System.out.println("L = " + L);
+        dump(System.out);
     }
-
-    public RegisterFile(){
-        AF = new LongRegister();
-        A = AF.upperByte;
-        AF.lowerByte = new FlagRegister(AF.lowerByte);
-        F = AF.lowerByte;
-        
-        BC = new LongRegister();
-        B = BC.upperByte;
-        C = BC.lowerByte;
-        
-        DE = new LongRegister();
-        D = DE.upperByte;
-        E = DE.lowerByte;
-        
-        HL = new LongRegister();
-        H = HL.upperByte;
-        L = HL.lowerByte;
-        
-        SP = new LongRegister();
-        PC = new LongRegister();
-        
-        flags = new FlagSet(F);
+    
+    public void dump(PrintStream out) {
+        syncFlags();
+        out.printf("AF = %04X\n", af);
+        out.printf("BC = %04X\n", bc);
+        out.printf("DE = %04X\n", de);
+        out.printf("HL = %04X\n", hl);
+        out.printf("SP = %04X\n", sp);
+        out.printf("PC = %04X\n", pc);
+        out.printf("A = %02X\n", high(af));
+        out.printf("F = %04X\n", low(af) & 0xf0);
+        out.printf("B = %02X\n", high(bc));
+        out.printf("C = %02X\n", low(bc));
+        out.printf("D = %02X\n", high(de));
+        out.printf("E = %02X\n", low(de));
+        out.printf("H = %02X\n", high(hl));
+        out.printf("L = %02X\n", low(hl));
     }
 }
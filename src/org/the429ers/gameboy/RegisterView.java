@@ -0,0 +1,209 @@
+package org.the429ers.gameboy;
+
+import java.io.Serializable;
+import java.security.InvalidParameterException;
+
+class LongRegister implements Register, Serializable {
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 2142281106792231516L;
+    private int value; //only used by registers that aren't backed by a RegisterFile
+    ShortRegister lowerByte = new ShortRegister() {
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int read() {
+            return LongRegister.this.read() & 0xff;
+        }
+
+        @Override
+        public void write(int val) {
+            val &= 0xff; //truncate value to single byte
+            LongRegister.this.write((LongRegister.this.read() & 0xff00) | val); //replace lower byte
+        }
+        
+        public String toString() {
+            return String.format("%02X", this.read());
+        }
+    };
+
+    ShortRegister upperByte = new ShortRegister() {
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int read() {
+            return (LongRegister.this.read() & 0xff00) >> 8;
+        }
+
+        @Override
+        public void write(int val) {
+            val = (val & 0xff) << 8; //truncate value to single byte and move it up a byte
+            LongRegister.this.write((LongRegister.this.read() & 0x00FF) | val); //replace upper byte
+        }
+
+        public String toString() {
+            return String.format("%02X", this.read());
+        }
+    };
+
+    public int read() {
+        return this.value;
+    }
+
+    public void write(int val){
+        this.value = val & 0xffff;
+    }
+
+    public String toString() {
+        return String.format("%04X", this.read());
+    }
+}
+
+class FlagRegister implements ShortRegister {
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+    ShortRegister wrapped;
+    public FlagRegister(ShortRegister toWrap) {
+        this.wrapped = toWrap;
+    }
+
+    @Override
+    public int read() {
+        return wrapped.read() & 0xf0;
+    }
+
+    @Override
+    public void write(int val) {
+        wrapped.write(val & 0xf0);
+    }
+
+    public String toString() {
+        return String.format("%04X", this.read());
+    }
+}
+
+/***
+ *
+ * Register and ReadWritable views over the primitive fields of a RegisterFile. These are used by the lambda core
+ * and anything else that wants to treat a register like a memory location; the switch core reads the fields directly.
+ *
+ */
+public class RegisterView implements Serializable {
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1620775094696906337L;
+    public LongRegister AF, BC, DE, HL, SP, PC;
+    public ShortRegister A, F, B, C, D, E, H, L;
+    
+    public FlagSet flags;
+    
+    private final RegisterFile regs;
+    
+    public class FlagSet implements Serializable{
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 888159977466716630L;
+
+        boolean[] flagWritable = new boolean[8];
+        int writableMask = 0; //the same as flagWritable, as a mask of F
+
+        public void enableFlagWrites(boolean z, boolean n, boolean h, boolean c){
+            flagWritable[RegisterFile.ZFLAG] = z;
+            flagWritable[RegisterFile.NFLAG] = n;
+            flagWritable[RegisterFile.HFLAG] = h;
+            flagWritable[RegisterFile.CFLAG] = c;
+            writableMask = (z ? RegisterFile.ZMASK : 0) | (n ? RegisterFile.NMASK : 0)
+                    | (h ? RegisterFile.HMASK : 0) | (c ? RegisterFile.CMASK : 0);
+        }
+        
+        // sets the writable flags among mask to the ones in the low byte of packed, a value from AluTables
+        public void setFlags(int packed, int mask){
+            mask &= writableMask;
+            regs.syncFlags();
+            regs.af = (regs.af & ~mask) | (packed & mask);
+        }
+        
+        public boolean getFlag(int flagNum) {
+            if(flagNum < 4) throw new InvalidParameterException("bad flag number");
+            
+            return regs.hasFlag(1 << flagNum);
+        }
+        
+        public void setFlag(int flagNum, boolean val){
+            if(flagNum < 4) throw new InvalidParameterException("bad flag number");
+            
+            if(flagWritable[flagNum]){
+                regs.syncFlags();
+                if(val){
+                    regs.af |= 1 << flagNum;
+                }else{
+                    regs.af &= ~(1 << flagNum);
+                }
+            }
+        }
+    }
+    
+    public RegisterView(RegisterFile regs) {
+        this.regs = regs;
+        
+        AF = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.af(); }
+            public void write(int val) {
+                RegisterView.this.regs.af = val & 0xffff;
+                RegisterView.this.regs.lazyFlags = 0;
+            }
+        };
+        A = AF.upperByte;
+        AF.lowerByte = new FlagRegister(AF.lowerByte);
+        F = AF.lowerByte;
+        
+        BC = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.bc; }
+            public void write(int val) { RegisterView.this.regs.bc = val & 0xffff; }
+        };
+        B = BC.upperByte;
+        C = BC.lowerByte;
+        
+        DE = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.de; }
+            public void write(int val) { RegisterView.this.regs.de = val & 0xffff; }
+        };
+        D = DE.upperByte;
+        E = DE.lowerByte;
+        
+        HL = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.hl; }
+            public void write(int val) { RegisterView.this.regs.hl = val & 0xffff; }
+        };
+        H = HL.upperByte;
+        L = HL.lowerByte;
+        
+        SP = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.sp; }
+            public void write(int val) { RegisterView.this.regs.sp = val & 0xffff; }
+        };
+        PC = new LongRegister() {
+            private static final long serialVersionUID = 1L;
+            public int read() { return RegisterView.this.regs.pc; }
+            public void write(int val) { RegisterView.this.regs.pc = val & 0xffff; }
+        };
+        
+        flags = new FlagSet();
+    }
+}
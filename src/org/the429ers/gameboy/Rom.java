@@ -5,22 +5,47 @@ class Rom implements Cartridge {
      * 
      */
     private static final long serialVersionUID = -7294699536390467641L;
-    byte[] rom;
+    private final RomImage rom; //shared, only the reference is saved
 
-    public Rom(byte[] rom) {
+    public Rom(RomImage rom) {
         this.rom = rom;
     }
     
     public int readByte(int location){
-        if (location > rom.length) {
+        if (location > rom.data.length) {
             return 0xff;
         }
-        return rom[location] & 0xff;
+        return rom.data[location] & 0xff;
     }
     
     public void writeByte(int location, int toWrite){
         //do nothing
     }
+    
+    public byte[] readablePage(int location) {
+        return location < 0x8000 && location + 0x100 <= rom.data.length ? rom.data : null;
+    }
+    
+    public byte[] writablePage(int location) {
+        return null;
+    }
+    
+    public int pageOffset(int location) {
+        return location;
+    }
+    
+    public int getRomBank() {
+        return 1;
+    }
+    
+    public String getRomHash() {
+        return rom.hash;
+    }
+
+    @Override
+    public void flush() {
+        //no RAM to write
+    }
 
     @Override
     public void cleanUp() {
@@ -0,0 +1,90 @@
+package org.the429ers.gameboy;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/***
+ *
+ * The contents of a ROM file, shared by every cartridge in the process that was loaded from the same bytes. Images
+ * are interned by the SHA-256 of their contents, so any number of machines running the same game hold it only once,
+ * and only the state of their MBCs is their own. An image is dropped from the registry once no cartridge uses it.
+ *
+ * Nothing may write to data. A save state only holds the hash and the file the image was loaded from, loading it
+ * hands out the image that is already registered, or loads the file again if the hash still matches.
+ *
+ */
+final class RomImage implements Serializable {
+    private static final long serialVersionUID = 1791244329962771054L;
+
+    private static final Map<String, WeakReference<RomImage>> registry = new HashMap<>();
+
+    final byte[] data;
+    final String hash; //SHA-256 of data, also the key of the CodeCache
+    private final String fileName;
+
+    private RomImage(byte[] data, String hash, String fileName) {
+        this.data = data;
+        this.hash = hash;
+        this.fileName = fileName;
+    }
+
+    // the registered image with the same contents as data, which becomes that image if there is none yet
+    static RomImage intern(byte[] data, String fileName) {
+        String hash = CodeCache.romHash(data);
+        if(hash == null) return new RomImage(data, null, fileName); //can't be shared without a hash
+
+        synchronized (registry) {
+            RomImage image = find(hash);
+            if(image != null) return image;
+
+            for(Iterator<WeakReference<RomImage>> i = registry.values().iterator(); i.hasNext(); ) {
+                if(i.next().get() == null) i.remove();
+            }
+            image = new RomImage(data, hash, fileName);
+            registry.put(hash, new WeakReference<>(image));
+            return image;
+        }
+    }
+
+    private static RomImage find(String hash) {
+        synchronized (registry) {
+            WeakReference<RomImage> reference = registry.get(hash);
+            return reference == null ? null : reference.get();
+        }
+    }
+
+    private Object writeReplace() {
+        return new SavedImage(hash, fileName);
+    }
+
+    // what a save state holds instead of the contents
+    private static final class SavedImage implements Serializable {
+        private static final long serialVersionUID = -2656342416113914434L;
+
+        private final String hash;
+        private final String fileName;
+
+        SavedImage(String hash, String fileName) {
+            this.hash = hash;
+            this.fileName = fileName;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            RomImage image = hash == null ? null : find(hash);
+            if(image != null) return image;
+
+            byte[] data = Cartridge.load(fileName);
+            if(data == null) throw new InvalidObjectException("the ROM " + fileName + " of the save state can't be loaded");
+            image = intern(data, fileName);
+            if(hash != null && !hash.equals(image.hash)) {
+                throw new InvalidObjectException(fileName + " has changed since the save state was made");
+            }
+            return image;
+        }
+    }
+}
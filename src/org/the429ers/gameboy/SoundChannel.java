@@ -9,7 +9,7 @@ import java.security.InvalidParameterException;
 import java.util.Arrays;
 import java.util.Random;
 
-class SoundChip implements Serializable {
+class SoundChip implements Serializable, MMU.IOObserver {
     /**
      * 
      */
@@ -64,6 +64,24 @@ class SoundChip implements Serializable {
         this.sourceDL = sourceDL;
     }
     
+    // the sound registers FF10-FF3F, the MMU registers the chip for all of them
+    @Override
+    public void ioWritten(int location, int toWrite) {
+        if(location >= 0xff10 && location <= 0xff14){
+            square1.handleByte(location - 0xff10, toWrite);
+        }else if(location >= 0xff15 && location <= 0xff19){
+            square2.handleByte(location - 0xff15, toWrite);
+        }else if(location >= 0xff1a && location <= 0xff1e){
+            waveChannel.handleByte(location - 0xff1a, toWrite);
+        }else if(location >= 0xff1f && location <= 0xff23){
+            noiseChannel.handleByte(location - 0xff1f, toWrite);
+        }else if(location == MMU.STEREO_SOUND_REGISTER) {
+            handleStereo(toWrite);
+        }else if(location >= 0xff30 && location <= 0xff3f){
+            waveChannel.handleWaveByte(location - 0xff30, toWrite);
+        }
+    }
+    
     //handle the NR51 register
     public void handleStereo(int val) {
         for(int i = 0; i < 4; i++){
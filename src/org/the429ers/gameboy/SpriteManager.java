@@ -26,6 +26,18 @@ public class SpriteManager implements Serializable {
         return sprites[index];
     }
     
+    // the same as writeData for every byte of OAM, which starts at offset in oam, after an OAM DMA
+    public void writeAll(byte[] oam, int offset) {
+        for (int i = 0; i < sprites.length; i++) {
+            IColorSprite sprite = sprites[i];
+            int base = offset + 4 * i;
+            sprite.setYPos(oam[base] & 0xFF);
+            sprite.setXPos(oam[base + 1] & 0xFF);
+            sprite.setTileNumber(oam[base + 2] & 0xFF);
+            sprite.setAttributes(oam[base + 3] & 0xFF);
+        }
+    }
+    
     public void writeData(int location, int data) {
         int spriteNum = (location % 0xFE00) / 4;
         int byteNum = (location % 0xFE00) % 4;
@@ -0,0 +1,5198 @@
+package org.the429ers.gameboy;
+
+import static org.the429ers.gameboy.RegisterFile.*;
+
+/***
+ *
+ * Switch-dispatched interpreter core. Every instruction has a static method (opXX, or cbXX for the CB prefixed
+ * ones) generated by cpu_generator.py and cb_generator.py from the same instruction tables as the lambda core in
+ * CPU, but they work on the primitive fields of RegisterFile directly and merge flags with masks that were
+ * computed from the flagsAffected strings at generation time. Instructions with an immediate operand take it as a
+ * parameter, which execute() fetches and the Recompiler bakes into its blocks.
+ *
+ * Every method leaves PC pointing at the next instruction and returns the number of ticks taken.
+ *
+ */
+final class SwitchCore {
+    private SwitchCore() { }
+
+    static int read(CPU cpu, int address) {
+        return cpu.mem.slowReadByte(address);
+    }
+
+    static void write(CPU cpu, int address, int value) {
+        cpu.mem.slowWriteByte(address, value);
+    }
+
+    static void write16(CPU cpu, int address, int value) {
+        cpu.mem.slowWriteByte(address, value & 0xff);
+        cpu.mem.slowWriteByte((address + 1) & 0xffff, value >> 8);
+    }
+
+    //the byte right after the opcode
+    static int imm8(CPU cpu) {
+        return cpu.mem.slowReadByte((cpu.regs.pc + 1) & 0xffff);
+    }
+
+    //the two bytes right after the opcode, little endian (same read order as MMU.slowReadWord)
+    static int imm16(CPU cpu) {
+        int pc = cpu.regs.pc;
+        int high = cpu.mem.slowReadByte((pc + 2) & 0xffff);
+        return (high << 8) | cpu.mem.slowReadByte((pc + 1) & 0xffff);
+    }
+
+    static void push(CPU cpu, int value) {
+        RegisterFile regs = cpu.regs;
+        int address = (regs.sp - 1) & 0xffff;
+        cpu.mem.slowWriteByte(address, value >> 8);
+        address = (address - 1) & 0xffff;
+        cpu.mem.slowWriteByte(address, value & 0xff);
+        regs.sp = address;
+    }
+
+    static int pop(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.sp;
+        int low = cpu.mem.slowReadByte(address);
+        int high = cpu.mem.slowReadByte((address + 1) & 0xffff);
+        regs.sp = (address + 2) & 0xffff;
+        return (high << 8) | low;
+    }
+
+    // The ALU helpers below return (result << 8) | flags, with the flags in the same bit positions as in F.
+    // Flags that an instruction doesn't compute are masked away by the generated code.
+    // ADD, ADC, SUB, SBC, CP, INC and DEC leave their flags to RegisterFile, which computes them lazily.
+
+    static int and8(int a, int b) {
+        int result = a & b;
+        return (result << 8) | (result == 0 ? ZMASK : 0);
+    }
+
+    static int xor8(int a, int b) {
+        int result = a ^ b;
+        return (result << 8) | (result == 0 ? ZMASK : 0);
+    }
+
+    static int or8(int a, int b) {
+        int result = a | b;
+        return (result << 8) | (result == 0 ? ZMASK : 0);
+    }
+
+    static int add16(int hl, int value) {
+        int sum = hl + value;
+        int result = sum & 0xffff;
+        int flags = 0;
+        if (result == 0) flags |= ZMASK;
+        if ((hl & 0xfff) + (value & 0xfff) > 0xfff) flags |= HMASK;
+        if (sum > 0xffff) flags |= CMASK;
+        return (result << 8) | flags;
+    }
+
+    //SP + r8, shared by ADD SP,r8 and LD HL,SP+r8
+    //https://stackoverflow.com/questions/5159603/gbz80-how-does-ld-hl-spe-affect-h-and-c-flags
+    static int addSP(int sp, int offset) {
+        int address = sp + offset;
+        int result = address & 0xffff;
+        int flags = 0;
+        if (result == 0) flags |= ZMASK;
+        if (offset >= 0) {
+            if ((sp & 0xF) + (offset & 0xF) > 0xF) flags |= HMASK;
+            if ((sp & 0xFF) + offset > 0xFF) flags |= CMASK;
+        } else {
+            if ((address & 0xF) <= (sp & 0xF)) flags |= HMASK;
+            if ((address & 0xFF) <= (sp & 0xFF)) flags |= CMASK;
+        }
+        return (result << 8) | flags;
+    }
+
+    static int daa(int a, int f) {
+        return AluTables.DAA[AluTables.daaIndex(a, f)];
+    }
+
+    static int rlc(int value) {
+        int bit7 = (value >> 7) & 1;
+        int result = ((value << 1) | bit7) & 0xff;
+        return (result << 8) | (result == 0 ? ZMASK : 0) | (bit7 << 4);
+    }
+
+    static int rrc(int value) {
+        int bit0 = value & 1;
+        int result = (value >> 1) | (bit0 << 7);
+        return (result << 8) | (result == 0 ? ZMASK : 0) | (bit0 << 4);
+    }
+
+    static int rl(int value, int carry) {
+        int result = ((value << 1) | carry) & 0xff;
+        return (result << 8) | (result == 0 ? ZMASK : 0) | (((value >> 7) & 1) << 4);
+    }
+
+    static int rr(int value, int carry) {
+        int result = (value >> 1) | (carry << 7);
+        return (result << 8) | (result == 0 ? ZMASK : 0) | ((value & 1) << 4);
+    }
+
+    static int sla(int value) {
+        int result = (value << 1) & 0xff;
+        return (result << 8) | (result == 0 ? ZMASK : 0) | (((value >> 7) & 1) << 4);
+    }
+
+    static int sra(int value) {
+        int result = (value >> 1) | (value & 0x80);
+        return (result << 8) | (result == 0 ? ZMASK : 0) | ((value & 1) << 4);
+    }
+
+    static int srl(int value) {
+        int result = value >> 1;
+        return (result << 8) | (result == 0 ? ZMASK : 0) | ((value & 1) << 4);
+    }
+
+    static int swap(int value) {
+        int result = ((value & 0xf) << 4) | (value >> 4);
+        return (result << 8) | (result == 0 ? ZMASK : 0);
+    }
+
+    static int bit(int bitnum, int value) {
+        return ((value >> bitnum) & 1) == 0 ? ZMASK : 0;
+    }
+
+    static int execute(CPU cpu, int opcode) {
+        switch (opcode) {
+            //BEGIN GENERATED CODE (cpu_generator.py, generated_switch_code.txt)
+            case 0x0: return op00(cpu);
+            case 0x1: return op01(cpu, imm16(cpu));
+            case 0x2: return op02(cpu);
+            case 0x3: return op03(cpu);
+            case 0x4: return op04(cpu);
+            case 0x5: return op05(cpu);
+            case 0x6: return op06(cpu, imm8(cpu));
+            case 0x7: return op07(cpu);
+            case 0x8: return op08(cpu, imm16(cpu));
+            case 0x9: return op09(cpu);
+            case 0xa: return op0A(cpu);
+            case 0xb: return op0B(cpu);
+            case 0xc: return op0C(cpu);
+            case 0xd: return op0D(cpu);
+            case 0xe: return op0E(cpu, imm8(cpu));
+            case 0xf: return op0F(cpu);
+            case 0x10: return op10(cpu);
+            case 0x11: return op11(cpu, imm16(cpu));
+            case 0x12: return op12(cpu);
+            case 0x13: return op13(cpu);
+            case 0x14: return op14(cpu);
+            case 0x15: return op15(cpu);
+            case 0x16: return op16(cpu, imm8(cpu));
+            case 0x17: return op17(cpu);
+            case 0x18: return op18(cpu, imm8(cpu));
+            case 0x19: return op19(cpu);
+            case 0x1a: return op1A(cpu);
+            case 0x1b: return op1B(cpu);
+            case 0x1c: return op1C(cpu);
+            case 0x1d: return op1D(cpu);
+            case 0x1e: return op1E(cpu, imm8(cpu));
+            case 0x1f: return op1F(cpu);
+            case 0x20: return op20(cpu, imm8(cpu));
+            case 0x21: return op21(cpu, imm16(cpu));
+            case 0x22: return op22(cpu);
+            case 0x23: return op23(cpu);
+            case 0x24: return op24(cpu);
+            case 0x25: return op25(cpu);
+            case 0x26: return op26(cpu, imm8(cpu));
+            case 0x27: return op27(cpu);
+            case 0x28: return op28(cpu, imm8(cpu));
+            case 0x29: return op29(cpu);
+            case 0x2a: return op2A(cpu);
+            case 0x2b: return op2B(cpu);
+            case 0x2c: return op2C(cpu);
+            case 0x2d: return op2D(cpu);
+            case 0x2e: return op2E(cpu, imm8(cpu));
+            case 0x2f: return op2F(cpu);
+            case 0x30: return op30(cpu, imm8(cpu));
+            case 0x31: return op31(cpu, imm16(cpu));
+            case 0x32: return op32(cpu);
+            case 0x33: return op33(cpu);
+            case 0x34: return op34(cpu);
+            case 0x35: return op35(cpu);
+            case 0x36: return op36(cpu, imm8(cpu));
+            case 0x37: return op37(cpu);
+            case 0x38: return op38(cpu, imm8(cpu));
+            case 0x39: return op39(cpu);
+            case 0x3a: return op3A(cpu);
+            case 0x3b: return op3B(cpu);
+            case 0x3c: return op3C(cpu);
+            case 0x3d: return op3D(cpu);
+            case 0x3e: return op3E(cpu, imm8(cpu));
+            case 0x3f: return op3F(cpu);
+            case 0x40: return op40(cpu);
+            case 0x41: return op41(cpu);
+            case 0x42: return op42(cpu);
+            case 0x43: return op43(cpu);
+            case 0x44: return op44(cpu);
+            case 0x45: return op45(cpu);
+            case 0x46: return op46(cpu);
+            case 0x47: return op47(cpu);
+            case 0x48: return op48(cpu);
+            case 0x49: return op49(cpu);
+            case 0x4a: return op4A(cpu);
+            case 0x4b: return op4B(cpu);
+            case 0x4c: return op4C(cpu);
+            case 0x4d: return op4D(cpu);
+            case 0x4e: return op4E(cpu);
+            case 0x4f: return op4F(cpu);
+            case 0x50: return op50(cpu);
+            case 0x51: return op51(cpu);
+            case 0x52: return op52(cpu);
+            case 0x53: return op53(cpu);
+            case 0x54: return op54(cpu);
+            case 0x55: return op55(cpu);
+            case 0x56: return op56(cpu);
+            case 0x57: return op57(cpu);
+            case 0x58: return op58(cpu);
+            case 0x59: return op59(cpu);
+            case 0x5a: return op5A(cpu);
+            case 0x5b: return op5B(cpu);
+            case 0x5c: return op5C(cpu);
+            case 0x5d: return op5D(cpu);
+            case 0x5e: return op5E(cpu);
+            case 0x5f: return op5F(cpu);
+            case 0x60: return op60(cpu);
+            case 0x61: return op61(cpu);
+            case 0x62: return op62(cpu);
+            case 0x63: return op63(cpu);
+            case 0x64: return op64(cpu);
+            case 0x65: return op65(cpu);
+            case 0x66: return op66(cpu);
+            case 0x67: return op67(cpu);
+            case 0x68: return op68(cpu);
+            case 0x69: return op69(cpu);
+            case 0x6a: return op6A(cpu);
+            case 0x6b: return op6B(cpu);
+            case 0x6c: return op6C(cpu);
+            case 0x6d: return op6D(cpu);
+            case 0x6e: return op6E(cpu);
+            case 0x6f: return op6F(cpu);
+            case 0x70: return op70(cpu);
+            case 0x71: return op71(cpu);
+            case 0x72: return op72(cpu);
+            case 0x73: return op73(cpu);
+            case 0x74: return op74(cpu);
+            case 0x75: return op75(cpu);
+            case 0x76: return op76(cpu);
+            case 0x77: return op77(cpu);
+            case 0x78: return op78(cpu);
+            case 0x79: return op79(cpu);
+            case 0x7a: return op7A(cpu);
+            case 0x7b: return op7B(cpu);
+            case 0x7c: return op7C(cpu);
+            case 0x7d: return op7D(cpu);
+            case 0x7e: return op7E(cpu);
+            case 0x7f: return op7F(cpu);
+            case 0x80: return op80(cpu);
+            case 0x81: return op81(cpu);
+            case 0x82: return op82(cpu);
+            case 0x83: return op83(cpu);
+            case 0x84: return op84(cpu);
+            case 0x85: return op85(cpu);
+            case 0x86: return op86(cpu);
+            case 0x87: return op87(cpu);
+            case 0x88: return op88(cpu);
+            case 0x89: return op89(cpu);
+            case 0x8a: return op8A(cpu);
+            case 0x8b: return op8B(cpu);
+            case 0x8c: return op8C(cpu);
+            case 0x8d: return op8D(cpu);
+            case 0x8e: return op8E(cpu);
+            case 0x8f: return op8F(cpu);
+            case 0x90: return op90(cpu);
+            case 0x91: return op91(cpu);
+            case 0x92: return op92(cpu);
+            case 0x93: return op93(cpu);
+            case 0x94: return op94(cpu);
+            case 0x95: return op95(cpu);
+            case 0x96: return op96(cpu);
+            case 0x97: return op97(cpu);
+            case 0x98: return op98(cpu);
+            case 0x99: return op99(cpu);
+            case 0x9a: return op9A(cpu);
+            case 0x9b: return op9B(cpu);
+            case 0x9c: return op9C(cpu);
+            case 0x9d: return op9D(cpu);
+            case 0x9e: return op9E(cpu);
+            case 0x9f: return op9F(cpu);
+            case 0xa0: return opA0(cpu);
+            case 0xa1: return opA1(cpu);
+            case 0xa2: return opA2(cpu);
+            case 0xa3: return opA3(cpu);
+            case 0xa4: return opA4(cpu);
+            case 0xa5: return opA5(cpu);
+            case 0xa6: return opA6(cpu);
+            case 0xa7: return opA7(cpu);
+            case 0xa8: return opA8(cpu);
+            case 0xa9: return opA9(cpu);
+            case 0xaa: return opAA(cpu);
+            case 0xab: return opAB(cpu);
+            case 0xac: return opAC(cpu);
+            case 0xad: return opAD(cpu);
+            case 0xae: return opAE(cpu);
+            case 0xaf: return opAF(cpu);
+            case 0xb0: return opB0(cpu);
+            case 0xb1: return opB1(cpu);
+            case 0xb2: return opB2(cpu);
+            case 0xb3: return opB3(cpu);
+            case 0xb4: return opB4(cpu);
+            case 0xb5: return opB5(cpu);
+            case 0xb6: return opB6(cpu);
+            case 0xb7: return opB7(cpu);
+            case 0xb8: return opB8(cpu);
+            case 0xb9: return opB9(cpu);
+            case 0xba: return opBA(cpu);
+            case 0xbb: return opBB(cpu);
+            case 0xbc: return opBC(cpu);
+            case 0xbd: return opBD(cpu);
+            case 0xbe: return opBE(cpu);
+            case 0xbf: return opBF(cpu);
+            case 0xc0: return opC0(cpu);
+            case 0xc1: return opC1(cpu);
+            case 0xc2: return opC2(cpu, imm16(cpu));
+            case 0xc3: return opC3(cpu, imm16(cpu));
+            case 0xc4: return opC4(cpu, imm16(cpu));
+            case 0xc5: return opC5(cpu);
+            case 0xc6: return opC6(cpu, imm8(cpu));
+            case 0xc7: return opC7(cpu);
+            case 0xc8: return opC8(cpu);
+            case 0xc9: return opC9(cpu);
+            case 0xca: return opCA(cpu, imm16(cpu));
+            case 0xcb: return executeCB(cpu, imm8(cpu));
+            case 0xcc: return opCC(cpu, imm16(cpu));
+            case 0xcd: return opCD(cpu, imm16(cpu));
+            case 0xce: return opCE(cpu, imm8(cpu));
+            case 0xcf: return opCF(cpu);
+            case 0xd0: return opD0(cpu);
+            case 0xd1: return opD1(cpu);
+            case 0xd2: return opD2(cpu, imm16(cpu));
+            case 0xd4: return opD4(cpu, imm16(cpu));
+            case 0xd5: return opD5(cpu);
+            case 0xd6: return opD6(cpu, imm8(cpu));
+            case 0xd7: return opD7(cpu);
+            case 0xd8: return opD8(cpu);
+            case 0xd9: return opD9(cpu);
+            case 0xda: return opDA(cpu, imm16(cpu));
+            case 0xdc: return opDC(cpu, imm16(cpu));
+            case 0xde: return opDE(cpu, imm8(cpu));
+            case 0xdf: return opDF(cpu);
+            case 0xe0: return opE0(cpu, imm8(cpu));
+            case 0xe1: return opE1(cpu);
+            case 0xe2: return opE2(cpu);
+            case 0xe5: return opE5(cpu);
+            case 0xe6: return opE6(cpu, imm8(cpu));
+            case 0xe7: return opE7(cpu);
+            case 0xe8: return opE8(cpu, imm8(cpu));
+            case 0xe9: return opE9(cpu);
+            case 0xea: return opEA(cpu, imm16(cpu));
+            case 0xee: return opEE(cpu, imm8(cpu));
+            case 0xef: return opEF(cpu);
+            case 0xf0: return opF0(cpu, imm8(cpu));
+            case 0xf1: return opF1(cpu);
+            case 0xf2: return opF2(cpu);
+            case 0xf3: return opF3(cpu);
+            case 0xf5: return opF5(cpu);
+            case 0xf6: return opF6(cpu, imm8(cpu));
+            case 0xf7: return opF7(cpu);
+            case 0xf8: return opF8(cpu, imm8(cpu));
+            case 0xf9: return opF9(cpu);
+            case 0xfa: return opFA(cpu, imm16(cpu));
+            case 0xfb: return opFB(cpu);
+            case 0xfe: return opFE(cpu, imm8(cpu));
+            case 0xff: return opFF(cpu);
+            //END GENERATED CODE
+        }
+
+        throw new IllegalArgumentException("invalid opcode");
+    }
+
+    static int executeCB(CPU cpu, int cbOpcode) {
+        switch (cbOpcode) {
+            //BEGIN GENERATED CODE (cb_generator.py, generated_cb_switch_code.txt)
+            case 0x0: return cb00(cpu);
+            case 0x1: return cb01(cpu);
+            case 0x2: return cb02(cpu);
+            case 0x3: return cb03(cpu);
+            case 0x4: return cb04(cpu);
+            case 0x5: return cb05(cpu);
+            case 0x6: return cb06(cpu);
+            case 0x7: return cb07(cpu);
+            case 0x8: return cb08(cpu);
+            case 0x9: return cb09(cpu);
+            case 0xa: return cb0A(cpu);
+            case 0xb: return cb0B(cpu);
+            case 0xc: return cb0C(cpu);
+            case 0xd: return cb0D(cpu);
+            case 0xe: return cb0E(cpu);
+            case 0xf: return cb0F(cpu);
+            case 0x10: return cb10(cpu);
+            case 0x11: return cb11(cpu);
+            case 0x12: return cb12(cpu);
+            case 0x13: return cb13(cpu);
+            case 0x14: return cb14(cpu);
+            case 0x15: return cb15(cpu);
+            case 0x16: return cb16(cpu);
+            case 0x17: return cb17(cpu);
+            case 0x18: return cb18(cpu);
+            case 0x19: return cb19(cpu);
+            case 0x1a: return cb1A(cpu);
+            case 0x1b: return cb1B(cpu);
+            case 0x1c: return cb1C(cpu);
+            case 0x1d: return cb1D(cpu);
+            case 0x1e: return cb1E(cpu);
+            case 0x1f: return cb1F(cpu);
+            case 0x20: return cb20(cpu);
+            case 0x21: return cb21(cpu);
+            case 0x22: return cb22(cpu);
+            case 0x23: return cb23(cpu);
+            case 0x24: return cb24(cpu);
+            case 0x25: return cb25(cpu);
+            case 0x26: return cb26(cpu);
+            case 0x27: return cb27(cpu);
+            case 0x28: return cb28(cpu);
+            case 0x29: return cb29(cpu);
+            case 0x2a: return cb2A(cpu);
+            case 0x2b: return cb2B(cpu);
+            case 0x2c: return cb2C(cpu);
+            case 0x2d: return cb2D(cpu);
+            case 0x2e: return cb2E(cpu);
+            case 0x2f: return cb2F(cpu);
+            case 0x30: return cb30(cpu);
+            case 0x31: return cb31(cpu);
+            case 0x32: return cb32(cpu);
+            case 0x33: return cb33(cpu);
+            case 0x34: return cb34(cpu);
+            case 0x35: return cb35(cpu);
+            case 0x36: return cb36(cpu);
+            case 0x37: return cb37(cpu);
+            case 0x38: return cb38(cpu);
+            case 0x39: return cb39(cpu);
+            case 0x3a: return cb3A(cpu);
+            case 0x3b: return cb3B(cpu);
+            case 0x3c: return cb3C(cpu);
+            case 0x3d: return cb3D(cpu);
+            case 0x3e: return cb3E(cpu);
+            case 0x3f: return cb3F(cpu);
+            case 0x40: return cb40(cpu);
+            case 0x41: return cb41(cpu);
+            case 0x42: return cb42(cpu);
+            case 0x43: return cb43(cpu);
+            case 0x44: return cb44(cpu);
+            case 0x45: return cb45(cpu);
+            case 0x46: return cb46(cpu);
+            case 0x47: return cb47(cpu);
+            case 0x48: return cb48(cpu);
+            case 0x49: return cb49(cpu);
+            case 0x4a: return cb4A(cpu);
+            case 0x4b: return cb4B(cpu);
+            case 0x4c: return cb4C(cpu);
+            case 0x4d: return cb4D(cpu);
+            case 0x4e: return cb4E(cpu);
+            case 0x4f: return cb4F(cpu);
+            case 0x50: return cb50(cpu);
+            case 0x51: return cb51(cpu);
+            case 0x52: return cb52(cpu);
+            case 0x53: return cb53(cpu);
+            case 0x54: return cb54(cpu);
+            case 0x55: return cb55(cpu);
+            case 0x56: return cb56(cpu);
+            case 0x57: return cb57(cpu);
+            case 0x58: return cb58(cpu);
+            case 0x59: return cb59(cpu);
+            case 0x5a: return cb5A(cpu);
+            case 0x5b: return cb5B(cpu);
+            case 0x5c: return cb5C(cpu);
+            case 0x5d: return cb5D(cpu);
+            case 0x5e: return cb5E(cpu);
+            case 0x5f: return cb5F(cpu);
+            case 0x60: return cb60(cpu);
+            case 0x61: return cb61(cpu);
+            case 0x62: return cb62(cpu);
+            case 0x63: return cb63(cpu);
+            case 0x64: return cb64(cpu);
+            case 0x65: return cb65(cpu);
+            case 0x66: return cb66(cpu);
+            case 0x67: return cb67(cpu);
+            case 0x68: return cb68(cpu);
+            case 0x69: return cb69(cpu);
+            case 0x6a: return cb6A(cpu);
+            case 0x6b: return cb6B(cpu);
+            case 0x6c: return cb6C(cpu);
+            case 0x6d: return cb6D(cpu);
+            case 0x6e: return cb6E(cpu);
+            case 0x6f: return cb6F(cpu);
+            case 0x70: return cb70(cpu);
+            case 0x71: return cb71(cpu);
+            case 0x72: return cb72(cpu);
+            case 0x73: return cb73(cpu);
+            case 0x74: return cb74(cpu);
+            case 0x75: return cb75(cpu);
+            case 0x76: return cb76(cpu);
+            case 0x77: return cb77(cpu);
+            case 0x78: return cb78(cpu);
+            case 0x79: return cb79(cpu);
+            case 0x7a: return cb7A(cpu);
+            case 0x7b: return cb7B(cpu);
+            case 0x7c: return cb7C(cpu);
+            case 0x7d: return cb7D(cpu);
+            case 0x7e: return cb7E(cpu);
+            case 0x7f: return cb7F(cpu);
+            case 0x80: return cb80(cpu);
+            case 0x81: return cb81(cpu);
+            case 0x82: return cb82(cpu);
+            case 0x83: return cb83(cpu);
+            case 0x84: return cb84(cpu);
+            case 0x85: return cb85(cpu);
+            case 0x86: return cb86(cpu);
+            case 0x87: return cb87(cpu);
+            case 0x88: return cb88(cpu);
+            case 0x89: return cb89(cpu);
+            case 0x8a: return cb8A(cpu);
+            case 0x8b: return cb8B(cpu);
+            case 0x8c: return cb8C(cpu);
+            case 0x8d: return cb8D(cpu);
+            case 0x8e: return cb8E(cpu);
+            case 0x8f: return cb8F(cpu);
+            case 0x90: return cb90(cpu);
+            case 0x91: return cb91(cpu);
+            case 0x92: return cb92(cpu);
+            case 0x93: return cb93(cpu);
+            case 0x94: return cb94(cpu);
+            case 0x95: return cb95(cpu);
+            case 0x96: return cb96(cpu);
+            case 0x97: return cb97(cpu);
+            case 0x98: return cb98(cpu);
+            case 0x99: return cb99(cpu);
+            case 0x9a: return cb9A(cpu);
+            case 0x9b: return cb9B(cpu);
+            case 0x9c: return cb9C(cpu);
+            case 0x9d: return cb9D(cpu);
+            case 0x9e: return cb9E(cpu);
+            case 0x9f: return cb9F(cpu);
+            case 0xa0: return cbA0(cpu);
+            case 0xa1: return cbA1(cpu);
+            case 0xa2: return cbA2(cpu);
+            case 0xa3: return cbA3(cpu);
+            case 0xa4: return cbA4(cpu);
+            case 0xa5: return cbA5(cpu);
+            case 0xa6: return cbA6(cpu);
+            case 0xa7: return cbA7(cpu);
+            case 0xa8: return cbA8(cpu);
+            case 0xa9: return cbA9(cpu);
+            case 0xaa: return cbAA(cpu);
+            case 0xab: return cbAB(cpu);
+            case 0xac: return cbAC(cpu);
+            case 0xad: return cbAD(cpu);
+            case 0xae: return cbAE(cpu);
+            case 0xaf: return cbAF(cpu);
+            case 0xb0: return cbB0(cpu);
+            case 0xb1: return cbB1(cpu);
+            case 0xb2: return cbB2(cpu);
+            case 0xb3: return cbB3(cpu);
+            case 0xb4: return cbB4(cpu);
+            case 0xb5: return cbB5(cpu);
+            case 0xb6: return cbB6(cpu);
+            case 0xb7: return cbB7(cpu);
+            case 0xb8: return cbB8(cpu);
+            case 0xb9: return cbB9(cpu);
+            case 0xba: return cbBA(cpu);
+            case 0xbb: return cbBB(cpu);
+            case 0xbc: return cbBC(cpu);
+            case 0xbd: return cbBD(cpu);
+            case 0xbe: return cbBE(cpu);
+            case 0xbf: return cbBF(cpu);
+            case 0xc0: return cbC0(cpu);
+            case 0xc1: return cbC1(cpu);
+            case 0xc2: return cbC2(cpu);
+            case 0xc3: return cbC3(cpu);
+            case 0xc4: return cbC4(cpu);
+            case 0xc5: return cbC5(cpu);
+            case 0xc6: return cbC6(cpu);
+            case 0xc7: return cbC7(cpu);
+            case 0xc8: return cbC8(cpu);
+            case 0xc9: return cbC9(cpu);
+            case 0xca: return cbCA(cpu);
+            case 0xcb: return cbCB(cpu);
+            case 0xcc: return cbCC(cpu);
+            case 0xcd: return cbCD(cpu);
+            case 0xce: return cbCE(cpu);
+            case 0xcf: return cbCF(cpu);
+            case 0xd0: return cbD0(cpu);
+            case 0xd1: return cbD1(cpu);
+            case 0xd2: return cbD2(cpu);
+            case 0xd3: return cbD3(cpu);
+            case 0xd4: return cbD4(cpu);
+            case 0xd5: return cbD5(cpu);
+            case 0xd6: return cbD6(cpu);
+            case 0xd7: return cbD7(cpu);
+            case 0xd8: return cbD8(cpu);
+            case 0xd9: return cbD9(cpu);
+            case 0xda: return cbDA(cpu);
+            case 0xdb: return cbDB(cpu);
+            case 0xdc: return cbDC(cpu);
+            case 0xdd: return cbDD(cpu);
+            case 0xde: return cbDE(cpu);
+            case 0xdf: return cbDF(cpu);
+            case 0xe0: return cbE0(cpu);
+            case 0xe1: return cbE1(cpu);
+            case 0xe2: return cbE2(cpu);
+            case 0xe3: return cbE3(cpu);
+            case 0xe4: return cbE4(cpu);
+            case 0xe5: return cbE5(cpu);
+            case 0xe6: return cbE6(cpu);
+            case 0xe7: return cbE7(cpu);
+            case 0xe8: return cbE8(cpu);
+            case 0xe9: return cbE9(cpu);
+            case 0xea: return cbEA(cpu);
+            case 0xeb: return cbEB(cpu);
+            case 0xec: return cbEC(cpu);
+            case 0xed: return cbED(cpu);
+            case 0xee: return cbEE(cpu);
+            case 0xef: return cbEF(cpu);
+            case 0xf0: return cbF0(cpu);
+            case 0xf1: return cbF1(cpu);
+            case 0xf2: return cbF2(cpu);
+            case 0xf3: return cbF3(cpu);
+            case 0xf4: return cbF4(cpu);
+            case 0xf5: return cbF5(cpu);
+            case 0xf6: return cbF6(cpu);
+            case 0xf7: return cbF7(cpu);
+            case 0xf8: return cbF8(cpu);
+            case 0xf9: return cbF9(cpu);
+            case 0xfa: return cbFA(cpu);
+            case 0xfb: return cbFB(cpu);
+            case 0xfc: return cbFC(cpu);
+            case 0xfd: return cbFD(cpu);
+            case 0xfe: return cbFE(cpu);
+            case 0xff: return cbFF(cpu);
+            //END GENERATED CODE
+        }
+
+        throw new IllegalArgumentException("invalid opcode");
+    }
+
+    //BEGIN GENERATED CODE (cpu_generator.py, generated_switch_methods.txt)
+    // NOP
+    static int op00(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD BC,d16
+    static int op01(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = imm;
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // LD (BC),A
+    static int op02(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.bc, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC BC
+    static int op03(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = (regs.bc + 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC B
+    static int op04(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC B
+    static int op05(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,d8
+    static int op06(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLCA
+    static int op07(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(high(regs.af));
+        regs.af = (r & 0xff10);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD (a16),SP
+    static int op08(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        write16(cpu, imm, regs.sp);
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 20;
+    }
+
+    // ADD HL,BC
+    static int op09(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = add16(regs.hl, regs.bc);
+        regs.hl = r >>> 8;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | (r & 0x30);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,(BC)
+    static int op0A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // DEC BC
+    static int op0B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = (regs.bc - 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC C
+    static int op0C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(low(regs.bc));
+        regs.bc = withLow(regs.bc, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC C
+    static int op0D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(low(regs.bc));
+        regs.bc = withLow(regs.bc, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,d8
+    static int op0E(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRCA
+    static int op0F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(high(regs.af));
+        regs.af = (r & 0xff10);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // STOP
+    static int op10(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        cpu.halted = true;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 4;
+    }
+
+    // LD DE,d16
+    static int op11(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.de = imm;
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // LD (DE),A
+    static int op12(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.de, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC DE
+    static int op13(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = (regs.de + 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC D
+    static int op14(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(high(regs.de));
+        regs.de = withHigh(regs.de, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC D
+    static int op15(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(high(regs.de));
+        regs.de = withHigh(regs.de, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,d8
+    static int op16(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLA
+    static int op17(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(high(regs.af), regs.carry());
+        regs.af = (r & 0xff10);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // JR r8
+    static int op18(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int offset = (byte) imm;
+        regs.pc = (regs.pc + 2 + offset) & 0xffff;
+        return 12;
+    }
+
+    // ADD HL,DE
+    static int op19(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = add16(regs.hl, regs.de);
+        regs.hl = r >>> 8;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | (r & 0x30);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,(DE)
+    static int op1A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // DEC DE
+    static int op1B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = (regs.de - 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC E
+    static int op1C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(low(regs.de));
+        regs.de = withLow(regs.de, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC E
+    static int op1D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(low(regs.de));
+        regs.de = withLow(regs.de, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,d8
+    static int op1E(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRA
+    static int op1F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(high(regs.af), regs.carry());
+        regs.af = (r & 0xff10);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // JR NZ,r8
+    static int op20(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int offset = (byte) imm;
+        if (!regs.hasFlag(ZMASK)) {
+            regs.pc = (regs.pc + 2 + offset) & 0xffff;
+            return 12;
+        }
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // LD HL,d16
+    static int op21(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = imm;
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // LD (HL+),A
+    static int op22(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        regs.hl = (address + 1) & 0xffff;
+        write(cpu, address, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC HL
+    static int op23(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = (regs.hl + 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC H
+    static int op24(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC H
+    static int op25(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,d8
+    static int op26(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // DAA
+    static int op27(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = daa(high(regs.af), regs.af() & 0xf0);
+        regs.syncFlags();
+        regs.af = (r & 0xff90) | (regs.af & 0x40);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // JR Z,r8
+    static int op28(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int offset = (byte) imm;
+        if (regs.hasFlag(ZMASK)) {
+            regs.pc = (regs.pc + 2 + offset) & 0xffff;
+            return 12;
+        }
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // ADD HL,HL
+    static int op29(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = add16(regs.hl, regs.hl);
+        regs.hl = r >>> 8;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | (r & 0x30);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,(HL+)
+    static int op2A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        regs.hl = (address + 1) & 0xffff;
+        regs.af = withHigh(regs.af, read(cpu, address));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // DEC HL
+    static int op2B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = (regs.hl - 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC L
+    static int op2C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(low(regs.hl));
+        regs.hl = withLow(regs.hl, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC L
+    static int op2D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(low(regs.hl));
+        regs.hl = withLow(regs.hl, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,d8
+    static int op2E(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // CPL
+    static int op2F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af ^= 0xff00;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff90) | 0x60;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // JR NC,r8
+    static int op30(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int offset = (byte) imm;
+        if (!regs.hasFlag(CMASK)) {
+            regs.pc = (regs.pc + 2 + offset) & 0xffff;
+            return 12;
+        }
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // LD SP,d16
+    static int op31(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.sp = imm;
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // LD (HL-),A
+    static int op32(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        regs.hl = (address - 1) & 0xffff;
+        write(cpu, address, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC SP
+    static int op33(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sp = (regs.sp + 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC (HL)
+    static int op34(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, regs.inc(read(cpu, address)));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // DEC (HL)
+    static int op35(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, regs.dec(read(cpu, address)));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // LD (HL),d8
+    static int op36(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // SCF
+    static int op37(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | 0x10;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // JR C(cond),r8
+    static int op38(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int offset = (byte) imm;
+        if (regs.hasFlag(CMASK)) {
+            regs.pc = (regs.pc + 2 + offset) & 0xffff;
+            return 12;
+        }
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // ADD HL,SP
+    static int op39(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = add16(regs.hl, regs.sp);
+        regs.hl = r >>> 8;
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | (r & 0x30);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,(HL-)
+    static int op3A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        regs.hl = (address - 1) & 0xffff;
+        regs.af = withHigh(regs.af, read(cpu, address));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // DEC SP
+    static int op3B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sp = (regs.sp - 1) & 0xffff;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // INC A
+    static int op3C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.inc(high(regs.af));
+        regs.af = withHigh(regs.af, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // DEC A
+    static int op3D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = regs.dec(high(regs.af));
+        regs.af = withHigh(regs.af, r);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,d8
+    static int op3E(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, imm);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // CCF
+    static int op3F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = ~regs.af();
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff80) | (r & 0x10);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,B
+    static int op40(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,C
+    static int op41(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,D
+    static int op42(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,E
+    static int op43(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,H
+    static int op44(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,L
+    static int op45(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD B,(HL)
+    static int op46(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD B,A
+    static int op47(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,B
+    static int op48(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,C
+    static int op49(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,D
+    static int op4A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,E
+    static int op4B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,H
+    static int op4C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,L
+    static int op4D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD C,(HL)
+    static int op4E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD C,A
+    static int op4F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,B
+    static int op50(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,C
+    static int op51(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,D
+    static int op52(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,E
+    static int op53(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,H
+    static int op54(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,L
+    static int op55(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD D,(HL)
+    static int op56(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD D,A
+    static int op57(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,B
+    static int op58(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,C
+    static int op59(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,D
+    static int op5A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,E
+    static int op5B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,H
+    static int op5C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,L
+    static int op5D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD E,(HL)
+    static int op5E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD E,A
+    static int op5F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,B
+    static int op60(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,C
+    static int op61(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,D
+    static int op62(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,E
+    static int op63(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,H
+    static int op64(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,L
+    static int op65(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD H,(HL)
+    static int op66(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD H,A
+    static int op67(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,B
+    static int op68(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,C
+    static int op69(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,D
+    static int op6A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,E
+    static int op6B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,H
+    static int op6C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,L
+    static int op6D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD L,(HL)
+    static int op6E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD L,A
+    static int op6F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD (HL),B
+    static int op70(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD (HL),C
+    static int op71(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD (HL),D
+    static int op72(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD (HL),E
+    static int op73(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD (HL),H
+    static int op74(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD (HL),L
+    static int op75(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // HALT
+    static int op76(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        cpu.halted = true;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD (HL),A
+    static int op77(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, regs.hl, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,B
+    static int op78(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, high(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,C
+    static int op79(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, low(regs.bc));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,D
+    static int op7A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, high(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,E
+    static int op7B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, low(regs.de));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,H
+    static int op7C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, high(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,L
+    static int op7D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, low(regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // LD A,(HL)
+    static int op7E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, regs.hl));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,A
+    static int op7F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,B
+    static int op80(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.bc), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,C
+    static int op81(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.bc), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,D
+    static int op82(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.de), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,E
+    static int op83(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.de), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,H
+    static int op84(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,L
+    static int op85(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADD A,(HL)
+    static int op86(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), read(cpu, regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // ADD A,A
+    static int op87(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.af), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,B
+    static int op88(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.bc), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,C
+    static int op89(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.bc), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,D
+    static int op8A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.de), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,E
+    static int op8B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.de), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,H
+    static int op8C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,L
+    static int op8D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), low(regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // ADC A,(HL)
+    static int op8E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), read(cpu, regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // ADC A,A
+    static int op8F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), high(regs.af), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB B
+    static int op90(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.bc), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB C
+    static int op91(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.bc), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB D
+    static int op92(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.de), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB E
+    static int op93(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.de), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB H
+    static int op94(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB L
+    static int op95(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SUB (HL)
+    static int op96(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), read(cpu, regs.hl), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // SUB A
+    static int op97(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.af), 0));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC B
+    static int op98(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.bc), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC C
+    static int op99(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.bc), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC D
+    static int op9A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.de), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC E
+    static int op9B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.de), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC H
+    static int op9C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC L
+    static int op9D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), low(regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // SBC (HL)
+    static int op9E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), read(cpu, regs.hl), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // SBC A
+    static int op9F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), high(regs.af), regs.carry()));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND B
+    static int opA0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), high(regs.bc));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND C
+    static int opA1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), low(regs.bc));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND D
+    static int opA2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), high(regs.de));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND E
+    static int opA3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), low(regs.de));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND H
+    static int opA4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), high(regs.hl));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND L
+    static int opA5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), low(regs.hl));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // AND (HL)
+    static int opA6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), read(cpu, regs.hl));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // AND A
+    static int opA7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), high(regs.af));
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR B
+    static int opA8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), high(regs.bc));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR C
+    static int opA9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), low(regs.bc));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR D
+    static int opAA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), high(regs.de));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR E
+    static int opAB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), low(regs.de));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR H
+    static int opAC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), high(regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR L
+    static int opAD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), low(regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // XOR (HL)
+    static int opAE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), read(cpu, regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // XOR A
+    static int opAF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), high(regs.af));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR B
+    static int opB0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), high(regs.bc));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR C
+    static int opB1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), low(regs.bc));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR D
+    static int opB2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), high(regs.de));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR E
+    static int opB3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), low(regs.de));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR H
+    static int opB4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), high(regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR L
+    static int opB5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), low(regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // OR (HL)
+    static int opB6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), read(cpu, regs.hl));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // OR A
+    static int opB7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), high(regs.af));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP B
+    static int opB8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), high(regs.bc), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP C
+    static int opB9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), low(regs.bc), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP D
+    static int opBA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), high(regs.de), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP E
+    static int opBB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), low(regs.de), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP H
+    static int opBC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), high(regs.hl), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP L
+    static int opBD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), low(regs.hl), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP (HL)
+    static int opBE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), read(cpu, regs.hl), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // CP A
+    static int opBF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), high(regs.af), 0);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // RET NZ
+    static int opC0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        if (!regs.hasFlag(ZMASK)) {
+            regs.pc = pop(cpu);
+            return 20;
+        }
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // POP BC
+    static int opC1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = pop(cpu);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // JP NZ,a16
+    static int opC2(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (!regs.hasFlag(ZMASK)) {
+            regs.pc = target;
+            return 16;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // JP a16
+    static int opC3(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        regs.pc = target;
+        return 16;
+    }
+
+    // CALL NZ,a16
+    static int opC4(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (!regs.hasFlag(ZMASK)) {
+            push(cpu, (regs.pc + 3) & 0xffff);
+            regs.pc = target;
+            return 24;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // PUSH BC
+    static int opC5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, regs.bc);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 16;
+    }
+
+    // ADD A,d8
+    static int opC6(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), imm, 0));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 00H
+    static int opC7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x00;
+        return 16;
+    }
+
+    // RET Z
+    static int opC8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        if (regs.hasFlag(ZMASK)) {
+            regs.pc = pop(cpu);
+            return 20;
+        }
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // RET
+    static int opC9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.pc = pop(cpu);
+        return 16;
+    }
+
+    // JP Z,a16
+    static int opCA(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (regs.hasFlag(ZMASK)) {
+            regs.pc = target;
+            return 16;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // CALL Z,a16
+    static int opCC(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (regs.hasFlag(ZMASK)) {
+            push(cpu, (regs.pc + 3) & 0xffff);
+            regs.pc = target;
+            return 24;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // CALL a16
+    static int opCD(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        push(cpu, (regs.pc + 3) & 0xffff);
+        regs.pc = target;
+        return 24;
+    }
+
+    // ADC A,d8
+    static int opCE(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.add(high(regs.af), imm, regs.carry()));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 08H
+    static int opCF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x08;
+        return 16;
+    }
+
+    // RET NC
+    static int opD0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        if (!regs.hasFlag(CMASK)) {
+            regs.pc = pop(cpu);
+            return 20;
+        }
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // POP DE
+    static int opD1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = pop(cpu);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // JP NC,a16
+    static int opD2(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (!regs.hasFlag(CMASK)) {
+            regs.pc = target;
+            return 16;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // CALL NC,a16
+    static int opD4(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (!regs.hasFlag(CMASK)) {
+            push(cpu, (regs.pc + 3) & 0xffff);
+            regs.pc = target;
+            return 24;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // PUSH DE
+    static int opD5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, regs.de);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 16;
+    }
+
+    // SUB d8
+    static int opD6(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), imm, 0));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 10H
+    static int opD7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x10;
+        return 16;
+    }
+
+    // RET C(cond)
+    static int opD8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        if (regs.hasFlag(CMASK)) {
+            regs.pc = pop(cpu);
+            return 20;
+        }
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // RETI
+    static int opD9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        cpu.interruptHandler.setInterruptsEnabled(true);
+        regs.pc = pop(cpu);
+        return 16;
+    }
+
+    // JP C(cond),a16
+    static int opDA(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (regs.hasFlag(CMASK)) {
+            regs.pc = target;
+            return 16;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // CALL C(cond),a16
+    static int opDC(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int target = imm;
+        if (regs.hasFlag(CMASK)) {
+            push(cpu, (regs.pc + 3) & 0xffff);
+            regs.pc = target;
+            return 24;
+        }
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 12;
+    }
+
+    // SBC d8
+    static int opDE(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, regs.sub(high(regs.af), imm, regs.carry()));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 18H
+    static int opDF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x18;
+        return 16;
+    }
+
+    // LD (a8),A
+    static int opE0(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, 0xff00 | imm, high(regs.af));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // POP HL
+    static int opE1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = pop(cpu);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // LD (C),A
+    static int opE2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, 0xff00 | (low(regs.bc)), high(regs.af));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // PUSH HL
+    static int opE5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, regs.hl);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 16;
+    }
+
+    // AND d8
+    static int opE6(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int r = and8(high(regs.af), imm);
+        regs.af = (r & 0xff80) | 0x20;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 20H
+    static int opE7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x20;
+        return 16;
+    }
+
+    // ADD SP,r8
+    static int opE8(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int r = addSP(regs.sp, (byte) imm);
+        regs.sp = r >>> 8;
+        regs.af = (regs.af & 0xff00) | (r & 0x30);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // JP HL
+    static int opE9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.pc = regs.hl;
+        return 4;
+    }
+
+    // LD (a16),A
+    static int opEA(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        write(cpu, imm, high(regs.af));
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 16;
+    }
+
+    // XOR d8
+    static int opEE(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int r = xor8(high(regs.af), imm);
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 28H
+    static int opEF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x28;
+        return 16;
+    }
+
+    // LD A,(a8)
+    static int opF0(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, 0xff00 | imm));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // POP AF
+    static int opF1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = pop(cpu) & 0xfff0;
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 12;
+    }
+
+    // LD A,(C)
+    static int opF2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, 0xff00 | (low(regs.bc))));
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // DI
+    static int opF3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        cpu.interruptHandler.setInterruptsEnabled(false);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // PUSH AF
+    static int opF5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, regs.af());
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 16;
+    }
+
+    // OR d8
+    static int opF6(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int r = or8(high(regs.af), imm);
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 30H
+    static int opF7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x30;
+        return 16;
+    }
+
+    // LD HL,SP+r8
+    static int opF8(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        int r = addSP(regs.sp, (byte) imm);
+        regs.hl = r >>> 8;
+        regs.af = (regs.af & 0xff00) | (r & 0x30);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // LD SP,HL
+    static int opF9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.sp = regs.hl;
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 8;
+    }
+
+    // LD A,(a16)
+    static int opFA(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, read(cpu, imm));
+        regs.pc = (regs.pc + 3) & 0xffff;
+        return 16;
+    }
+
+    // EI
+    static int opFB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        cpu.interruptHandler.setInterruptsEnabled(true);
+        regs.pc = (regs.pc + 1) & 0xffff;
+        return 4;
+    }
+
+    // CP d8
+    static int opFE(CPU cpu, int imm) {
+        RegisterFile regs = cpu.regs;
+        regs.sub(high(regs.af), imm, 0);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RST 38H
+    static int opFF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        push(cpu, (regs.pc + 1) & 0xffff);
+        regs.pc = 0x38;
+        return 16;
+    }
+    //END GENERATED CODE
+
+    //BEGIN GENERATED CODE (cb_generator.py, generated_cb_switch_methods.txt)
+    // RLC B
+    static int cb00(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC C
+    static int cb01(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC D
+    static int cb02(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC E
+    static int cb03(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC H
+    static int cb04(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC L
+    static int cb05(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RLC (HL)
+    static int cb06(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = rlc(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RLC A
+    static int cb07(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rlc(high(regs.af));
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC B
+    static int cb08(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC C
+    static int cb09(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC D
+    static int cb0A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC E
+    static int cb0B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC H
+    static int cb0C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC L
+    static int cb0D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RRC (HL)
+    static int cb0E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = rrc(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RRC A
+    static int cb0F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rrc(high(regs.af));
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL B
+    static int cb10(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(high(regs.bc), regs.carry());
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL C
+    static int cb11(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(low(regs.bc), regs.carry());
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL D
+    static int cb12(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(high(regs.de), regs.carry());
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL E
+    static int cb13(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(low(regs.de), regs.carry());
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL H
+    static int cb14(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(high(regs.hl), regs.carry());
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL L
+    static int cb15(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(low(regs.hl), regs.carry());
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RL (HL)
+    static int cb16(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = rl(read(cpu, address), regs.carry());
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RL A
+    static int cb17(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rl(high(regs.af), regs.carry());
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR B
+    static int cb18(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(high(regs.bc), regs.carry());
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR C
+    static int cb19(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(low(regs.bc), regs.carry());
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR D
+    static int cb1A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(high(regs.de), regs.carry());
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR E
+    static int cb1B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(low(regs.de), regs.carry());
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR H
+    static int cb1C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(high(regs.hl), regs.carry());
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR L
+    static int cb1D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(low(regs.hl), regs.carry());
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RR (HL)
+    static int cb1E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = rr(read(cpu, address), regs.carry());
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RR A
+    static int cb1F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = rr(high(regs.af), regs.carry());
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA B
+    static int cb20(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA C
+    static int cb21(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA D
+    static int cb22(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA E
+    static int cb23(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA H
+    static int cb24(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA L
+    static int cb25(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SLA (HL)
+    static int cb26(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = sla(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SLA A
+    static int cb27(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sla(high(regs.af));
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA B
+    static int cb28(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA C
+    static int cb29(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA D
+    static int cb2A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA E
+    static int cb2B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA H
+    static int cb2C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA L
+    static int cb2D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRA (HL)
+    static int cb2E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = sra(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SRA A
+    static int cb2F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = sra(high(regs.af));
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP B
+    static int cb30(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP C
+    static int cb31(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP D
+    static int cb32(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP E
+    static int cb33(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP H
+    static int cb34(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP L
+    static int cb35(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SWAP (HL)
+    static int cb36(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = swap(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SWAP A
+    static int cb37(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = swap(high(regs.af));
+        regs.af = (r & 0xff80);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL B
+    static int cb38(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(high(regs.bc));
+        regs.bc = withHigh(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL C
+    static int cb39(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(low(regs.bc));
+        regs.bc = withLow(regs.bc, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL D
+    static int cb3A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(high(regs.de));
+        regs.de = withHigh(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL E
+    static int cb3B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(low(regs.de));
+        regs.de = withLow(regs.de, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL H
+    static int cb3C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(high(regs.hl));
+        regs.hl = withHigh(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL L
+    static int cb3D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(low(regs.hl));
+        regs.hl = withLow(regs.hl, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SRL (HL)
+    static int cb3E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = srl(read(cpu, address));
+        write(cpu, address, r >> 8);
+        regs.af = (regs.af & 0xff00) | (r & 0x90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SRL A
+    static int cb3F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = srl(high(regs.af));
+        regs.af = (r & 0xff90);
+        regs.lazyFlags = 0;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,B
+    static int cb40(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,C
+    static int cb41(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,D
+    static int cb42(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,E
+    static int cb43(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,H
+    static int cb44(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,L
+    static int cb45(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 0,(HL)
+    static int cb46(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(0, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 0,A
+    static int cb47(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(0, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,B
+    static int cb48(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,C
+    static int cb49(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,D
+    static int cb4A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,E
+    static int cb4B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,H
+    static int cb4C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,L
+    static int cb4D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 1,(HL)
+    static int cb4E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(1, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 1,A
+    static int cb4F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(1, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,B
+    static int cb50(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,C
+    static int cb51(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,D
+    static int cb52(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,E
+    static int cb53(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,H
+    static int cb54(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,L
+    static int cb55(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 2,(HL)
+    static int cb56(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(2, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 2,A
+    static int cb57(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(2, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,B
+    static int cb58(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,C
+    static int cb59(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,D
+    static int cb5A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,E
+    static int cb5B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,H
+    static int cb5C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,L
+    static int cb5D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 3,(HL)
+    static int cb5E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(3, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 3,A
+    static int cb5F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(3, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,B
+    static int cb60(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,C
+    static int cb61(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,D
+    static int cb62(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,E
+    static int cb63(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,H
+    static int cb64(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,L
+    static int cb65(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 4,(HL)
+    static int cb66(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(4, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 4,A
+    static int cb67(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(4, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,B
+    static int cb68(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,C
+    static int cb69(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,D
+    static int cb6A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,E
+    static int cb6B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,H
+    static int cb6C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,L
+    static int cb6D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 5,(HL)
+    static int cb6E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(5, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 5,A
+    static int cb6F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(5, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,B
+    static int cb70(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,C
+    static int cb71(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,D
+    static int cb72(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,E
+    static int cb73(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,H
+    static int cb74(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,L
+    static int cb75(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 6,(HL)
+    static int cb76(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(6, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 6,A
+    static int cb77(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(6, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,B
+    static int cb78(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, high(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,C
+    static int cb79(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, low(regs.bc));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,D
+    static int cb7A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, high(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,E
+    static int cb7B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, low(regs.de));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,H
+    static int cb7C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, high(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,L
+    static int cb7D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, low(regs.hl));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // BIT 7,(HL)
+    static int cb7E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        int r = bit(7, read(cpu, address));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 12;
+    }
+
+    // BIT 7,A
+    static int cb7F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int r = bit(7, high(regs.af));
+        regs.syncFlags();
+        regs.af = (regs.af & 0xff10) | (r & 0x80) | 0x20;
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,B
+    static int cb80(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,C
+    static int cb81(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,D
+    static int cb82(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,E
+    static int cb83(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,H
+    static int cb84(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,L
+    static int cb85(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 0,(HL)
+    static int cb86(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xfe);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 0,A
+    static int cb87(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xfe));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,B
+    static int cb88(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,C
+    static int cb89(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,D
+    static int cb8A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,E
+    static int cb8B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,H
+    static int cb8C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,L
+    static int cb8D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 1,(HL)
+    static int cb8E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xfd);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 1,A
+    static int cb8F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xfd));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,B
+    static int cb90(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,C
+    static int cb91(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,D
+    static int cb92(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,E
+    static int cb93(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,H
+    static int cb94(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,L
+    static int cb95(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 2,(HL)
+    static int cb96(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xfb);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 2,A
+    static int cb97(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xfb));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,B
+    static int cb98(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,C
+    static int cb99(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,D
+    static int cb9A(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,E
+    static int cb9B(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,H
+    static int cb9C(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,L
+    static int cb9D(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 3,(HL)
+    static int cb9E(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xf7);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 3,A
+    static int cb9F(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xf7));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,B
+    static int cbA0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,C
+    static int cbA1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,D
+    static int cbA2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,E
+    static int cbA3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,H
+    static int cbA4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,L
+    static int cbA5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 4,(HL)
+    static int cbA6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xef);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 4,A
+    static int cbA7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xef));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,B
+    static int cbA8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,C
+    static int cbA9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,D
+    static int cbAA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,E
+    static int cbAB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,H
+    static int cbAC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,L
+    static int cbAD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 5,(HL)
+    static int cbAE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xdf);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 5,A
+    static int cbAF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xdf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,B
+    static int cbB0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,C
+    static int cbB1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,D
+    static int cbB2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,E
+    static int cbB3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,H
+    static int cbB4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,L
+    static int cbB5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 6,(HL)
+    static int cbB6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0xbf);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 6,A
+    static int cbB7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0xbf));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,B
+    static int cbB8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,C
+    static int cbB9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,D
+    static int cbBA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,E
+    static int cbBB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,H
+    static int cbBC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,L
+    static int cbBD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // RES 7,(HL)
+    static int cbBE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) & 0x7f);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // RES 7,A
+    static int cbBF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) & 0x7f));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,B
+    static int cbC0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,C
+    static int cbC1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,D
+    static int cbC2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,E
+    static int cbC3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,H
+    static int cbC4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,L
+    static int cbC5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 0,(HL)
+    static int cbC6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x1);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 0,A
+    static int cbC7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x1));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,B
+    static int cbC8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,C
+    static int cbC9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,D
+    static int cbCA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,E
+    static int cbCB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,H
+    static int cbCC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,L
+    static int cbCD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 1,(HL)
+    static int cbCE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x2);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 1,A
+    static int cbCF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x2));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,B
+    static int cbD0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,C
+    static int cbD1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,D
+    static int cbD2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,E
+    static int cbD3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,H
+    static int cbD4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,L
+    static int cbD5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 2,(HL)
+    static int cbD6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x4);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 2,A
+    static int cbD7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x4));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,B
+    static int cbD8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,C
+    static int cbD9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,D
+    static int cbDA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,E
+    static int cbDB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,H
+    static int cbDC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,L
+    static int cbDD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 3,(HL)
+    static int cbDE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x8);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 3,A
+    static int cbDF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x8));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,B
+    static int cbE0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,C
+    static int cbE1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,D
+    static int cbE2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,E
+    static int cbE3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,H
+    static int cbE4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,L
+    static int cbE5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 4,(HL)
+    static int cbE6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x10);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 4,A
+    static int cbE7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x10));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,B
+    static int cbE8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,C
+    static int cbE9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,D
+    static int cbEA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,E
+    static int cbEB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,H
+    static int cbEC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,L
+    static int cbED(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 5,(HL)
+    static int cbEE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x20);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 5,A
+    static int cbEF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x20));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,B
+    static int cbF0(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,C
+    static int cbF1(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,D
+    static int cbF2(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,E
+    static int cbF3(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,H
+    static int cbF4(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,L
+    static int cbF5(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 6,(HL)
+    static int cbF6(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x40);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 6,A
+    static int cbF7(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x40));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,B
+    static int cbF8(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withHigh(regs.bc, (high(regs.bc) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,C
+    static int cbF9(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.bc = withLow(regs.bc, (low(regs.bc) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,D
+    static int cbFA(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withHigh(regs.de, (high(regs.de) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,E
+    static int cbFB(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.de = withLow(regs.de, (low(regs.de) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,H
+    static int cbFC(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withHigh(regs.hl, (high(regs.hl) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,L
+    static int cbFD(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.hl = withLow(regs.hl, (low(regs.hl) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+
+    // SET 7,(HL)
+    static int cbFE(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        int address = regs.hl;
+        write(cpu, address, read(cpu, address) | 0x80);
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 16;
+    }
+
+    // SET 7,A
+    static int cbFF(CPU cpu) {
+        RegisterFile regs = cpu.regs;
+        regs.af = withHigh(regs.af, (high(regs.af) | 0x80));
+        regs.pc = (regs.pc + 2) & 0xffff;
+        return 8;
+    }
+    //END GENERATED CODE
+}
@@ -0,0 +1,631 @@
+package org.the429ers.gameboy;
+
+/***
+ *
+ * Threaded-code tier between the switch core and the Recompiler. Instructions in ROM are decoded once into
+ * DecodedInstruction records holding the SwitchCore method of the instruction, its immediate, its length and the
+ * cycles spent fetching it, so running them again skips the fetch and the dispatch switch.
+ *
+ * Records are kept in one page per ROM bank (slot 0 for 0x0000-0x3fff, slot n + 1 for bank n), indexed by address.
+ * The page used for 0x4000-0x7fff is dropped whenever the MBC maps a different bank there (see bankChanged).
+ *
+ * Instructions that start one of the loops recognized by Idioms also hold the idiom, which gets the first chance
+ * to run the whole loop unless the debugger has to see every instruction (see CPU.runIdioms).
+ *
+ */
+final class ThreadedCode {
+    interface Handler {
+        int execute(CPU cpu, int imm);
+    }
+
+    static final class DecodedInstruction {
+        final Handler handler;
+        final int imm;
+        final int length;
+        final int fetchTicks;
+        Idioms.Idiom idiom;
+
+        DecodedInstruction(Handler handler, int imm, int length, int fetchTicks) {
+            this.handler = handler;
+            this.imm = imm;
+            this.length = length;
+            this.fetchTicks = fetchTicks;
+        }
+    }
+
+    static final Handler[] handlers = new Handler[256];
+    static final Handler[] cbHandlers = new Handler[256];
+
+    private final CPU cpu;
+    private final DecodedInstruction[][] pages = new DecodedInstruction[Recompiler.MAX_BANKS + 1][];
+
+    // the pages currently mapped to 0x0000-0x3fff and 0x4000-0x7fff
+    private DecodedInstruction[] lowerPage;
+    private DecodedInstruction[] upperPage;
+
+    ThreadedCode(CPU cpu) {
+        this.cpu = cpu;
+    }
+
+    // runs the instruction at PC if it is in ROM, returns false if it has to be interpreted instead
+    boolean execute() {
+        int pc = cpu.regs.pc;
+        if(pc >= 0x8000 || cpu.mem.isBootRomEnabled()) return false;
+
+        DecodedInstruction[] page = pc < 0x4000 ? lowerPage : upperPage;
+        if(page == null) {
+            page = mapPage(pc);
+            if(page == null) return false;
+        }
+
+        DecodedInstruction instruction = page[pc & 0x3fff];
+        if(instruction == null) {
+            instruction = page[pc & 0x3fff] = decode(pc);
+            if(instruction == null) return false;
+            instruction.idiom = Idioms.recognize(cpu.mem, pc);
+        }
+
+        if(instruction.idiom != null && cpu.runIdioms && instruction.idiom.run(cpu)) return true;
+
+        cpu.beginInstruction(instruction.fetchTicks);
+        cpu.endInstruction(instruction.handler.execute(cpu, instruction.imm));
+        return true;
+    }
+
+    // the MBC mapped a different bank to 0x4000-0x7fff
+    void bankChanged() {
+        upperPage = null;
+    }
+
+    private DecodedInstruction[] mapPage(int pc) {
+        int slot = 0;
+        if(pc >= 0x4000) {
+            int bank = cpu.mem.getROM().getRomBank();
+            if(bank < 0 || bank >= Recompiler.MAX_BANKS) return null;
+            slot = bank + 1;
+        }
+
+        if(pages[slot] == null) pages[slot] = new DecodedInstruction[0x4000];
+        if(slot == 0) {
+            lowerPage = pages[slot];
+        }else {
+            upperPage = pages[slot];
+        }
+        return pages[slot];
+    }
+
+    private DecodedInstruction decode(int pc) {
+        MMU mem = cpu.mem;
+        int opcode = mem.peekByte(pc);
+        int length = opcode == 0xcb ? 2 : CPU.operations[opcode].length;
+        int regionEnd = pc < 0x4000 ? 0x4000 : 0x8000;
+        if(pc + length > regionEnd) return null; //the rest of the instruction might be in another bank
+
+        if(opcode == 0xcb) {
+            return new DecodedInstruction(cbHandlers[mem.peekByte(pc + 1)], 0, 2, 8);
+        }
+
+        Handler handler = handlers[opcode];
+        if(handler == null) return null; //invalid opcode, let the switch core throw
+
+        if(opcode == 0x10) { //STOP doesn't read its second byte
+            return new DecodedInstruction(handler, 0, length, 4);
+        }
+
+        int imm = 0;
+        if(length == 2) {
+            imm = mem.peekByte(pc + 1);
+        }else if(length == 3) {
+            imm = (mem.peekByte(pc + 2) << 8) | mem.peekByte(pc + 1);
+        }
+        return new DecodedInstruction(handler, imm, length, 4 * length);
+    }
+
+    static {
+        //BEGIN GENERATED CODE (cpu_generator.py, generated_threaded_handlers.txt)
+        handlers[0x0] = (CPU cpu, int imm) -> SwitchCore.op00(cpu);
+        handlers[0x1] = (CPU cpu, int imm) -> SwitchCore.op01(cpu, imm);
+        handlers[0x2] = (CPU cpu, int imm) -> SwitchCore.op02(cpu);
+        handlers[0x3] = (CPU cpu, int imm) -> SwitchCore.op03(cpu);
+        handlers[0x4] = (CPU cpu, int imm) -> SwitchCore.op04(cpu);
+        handlers[0x5] = (CPU cpu, int imm) -> SwitchCore.op05(cpu);
+        handlers[0x6] = (CPU cpu, int imm) -> SwitchCore.op06(cpu, imm);
+        handlers[0x7] = (CPU cpu, int imm) -> SwitchCore.op07(cpu);
+        handlers[0x8] = (CPU cpu, int imm) -> SwitchCore.op08(cpu, imm);
+        handlers[0x9] = (CPU cpu, int imm) -> SwitchCore.op09(cpu);
+        handlers[0xa] = (CPU cpu, int imm) -> SwitchCore.op0A(cpu);
+        handlers[0xb] = (CPU cpu, int imm) -> SwitchCore.op0B(cpu);
+        handlers[0xc] = (CPU cpu, int imm) -> SwitchCore.op0C(cpu);
+        handlers[0xd] = (CPU cpu, int imm) -> SwitchCore.op0D(cpu);
+        handlers[0xe] = (CPU cpu, int imm) -> SwitchCore.op0E(cpu, imm);
+        handlers[0xf] = (CPU cpu, int imm) -> SwitchCore.op0F(cpu);
+        handlers[0x10] = (CPU cpu, int imm) -> SwitchCore.op10(cpu);
+        handlers[0x11] = (CPU cpu, int imm) -> SwitchCore.op11(cpu, imm);
+        handlers[0x12] = (CPU cpu, int imm) -> SwitchCore.op12(cpu);
+        handlers[0x13] = (CPU cpu, int imm) -> SwitchCore.op13(cpu);
+        handlers[0x14] = (CPU cpu, int imm) -> SwitchCore.op14(cpu);
+        handlers[0x15] = (CPU cpu, int imm) -> SwitchCore.op15(cpu);
+        handlers[0x16] = (CPU cpu, int imm) -> SwitchCore.op16(cpu, imm);
+        handlers[0x17] = (CPU cpu, int imm) -> SwitchCore.op17(cpu);
+        handlers[0x18] = (CPU cpu, int imm) -> SwitchCore.op18(cpu, imm);
+        handlers[0x19] = (CPU cpu, int imm) -> SwitchCore.op19(cpu);
+        handlers[0x1a] = (CPU cpu, int imm) -> SwitchCore.op1A(cpu);
+        handlers[0x1b] = (CPU cpu, int imm) -> SwitchCore.op1B(cpu);
+        handlers[0x1c] = (CPU cpu, int imm) -> SwitchCore.op1C(cpu);
+        handlers[0x1d] = (CPU cpu, int imm) -> SwitchCore.op1D(cpu);
+        handlers[0x1e] = (CPU cpu, int imm) -> SwitchCore.op1E(cpu, imm);
+        handlers[0x1f] = (CPU cpu, int imm) -> SwitchCore.op1F(cpu);
+        handlers[0x20] = (CPU cpu, int imm) -> SwitchCore.op20(cpu, imm);
+        handlers[0x21] = (CPU cpu, int imm) -> SwitchCore.op21(cpu, imm);
+        handlers[0x22] = (CPU cpu, int imm) -> SwitchCore.op22(cpu);
+        handlers[0x23] = (CPU cpu, int imm) -> SwitchCore.op23(cpu);
+        handlers[0x24] = (CPU cpu, int imm) -> SwitchCore.op24(cpu);
+        handlers[0x25] = (CPU cpu, int imm) -> SwitchCore.op25(cpu);
+        handlers[0x26] = (CPU cpu, int imm) -> SwitchCore.op26(cpu, imm);
+        handlers[0x27] = (CPU cpu, int imm) -> SwitchCore.op27(cpu);
+        handlers[0x28] = (CPU cpu, int imm) -> SwitchCore.op28(cpu, imm);
+        handlers[0x29] = (CPU cpu, int imm) -> SwitchCore.op29(cpu);
+        handlers[0x2a] = (CPU cpu, int imm) -> SwitchCore.op2A(cpu);
+        handlers[0x2b] = (CPU cpu, int imm) -> SwitchCore.op2B(cpu);
+        handlers[0x2c] = (CPU cpu, int imm) -> SwitchCore.op2C(cpu);
+        handlers[0x2d] = (CPU cpu, int imm) -> SwitchCore.op2D(cpu);
+        handlers[0x2e] = (CPU cpu, int imm) -> SwitchCore.op2E(cpu, imm);
+        handlers[0x2f] = (CPU cpu, int imm) -> SwitchCore.op2F(cpu);
+        handlers[0x30] = (CPU cpu, int imm) -> SwitchCore.op30(cpu, imm);
+        handlers[0x31] = (CPU cpu, int imm) -> SwitchCore.op31(cpu, imm);
+        handlers[0x32] = (CPU cpu, int imm) -> SwitchCore.op32(cpu);
+        handlers[0x33] = (CPU cpu, int imm) -> SwitchCore.op33(cpu);
+        handlers[0x34] = (CPU cpu, int imm) -> SwitchCore.op34(cpu);
+        handlers[0x35] = (CPU cpu, int imm) -> SwitchCore.op35(cpu);
+        handlers[0x36] = (CPU cpu, int imm) -> SwitchCore.op36(cpu, imm);
+        handlers[0x37] = (CPU cpu, int imm) -> SwitchCore.op37(cpu);
+        handlers[0x38] = (CPU cpu, int imm) -> SwitchCore.op38(cpu, imm);
+        handlers[0x39] = (CPU cpu, int imm) -> SwitchCore.op39(cpu);
+        handlers[0x3a] = (CPU cpu, int imm) -> SwitchCore.op3A(cpu);
+        handlers[0x3b] = (CPU cpu, int imm) -> SwitchCore.op3B(cpu);
+        handlers[0x3c] = (CPU cpu, int imm) -> SwitchCore.op3C(cpu);
+        handlers[0x3d] = (CPU cpu, int imm) -> SwitchCore.op3D(cpu);
+        handlers[0x3e] = (CPU cpu, int imm) -> SwitchCore.op3E(cpu, imm);
+        handlers[0x3f] = (CPU cpu, int imm) -> SwitchCore.op3F(cpu);
+        handlers[0x40] = (CPU cpu, int imm) -> SwitchCore.op40(cpu);
+        handlers[0x41] = (CPU cpu, int imm) -> SwitchCore.op41(cpu);
+        handlers[0x42] = (CPU cpu, int imm) -> SwitchCore.op42(cpu);
+        handlers[0x43] = (CPU cpu, int imm) -> SwitchCore.op43(cpu);
+        handlers[0x44] = (CPU cpu, int imm) -> SwitchCore.op44(cpu);
+        handlers[0x45] = (CPU cpu, int imm) -> SwitchCore.op45(cpu);
+        handlers[0x46] = (CPU cpu, int imm) -> SwitchCore.op46(cpu);
+        handlers[0x47] = (CPU cpu, int imm) -> SwitchCore.op47(cpu);
+        handlers[0x48] = (CPU cpu, int imm) -> SwitchCore.op48(cpu);
+        handlers[0x49] = (CPU cpu, int imm) -> SwitchCore.op49(cpu);
+        handlers[0x4a] = (CPU cpu, int imm) -> SwitchCore.op4A(cpu);
+        handlers[0x4b] = (CPU cpu, int imm) -> SwitchCore.op4B(cpu);
+        handlers[0x4c] = (CPU cpu, int imm) -> SwitchCore.op4C(cpu);
+        handlers[0x4d] = (CPU cpu, int imm) -> SwitchCore.op4D(cpu);
+        handlers[0x4e] = (CPU cpu, int imm) -> SwitchCore.op4E(cpu);
+        handlers[0x4f] = (CPU cpu, int imm) -> SwitchCore.op4F(cpu);
+        handlers[0x50] = (CPU cpu, int imm) -> SwitchCore.op50(cpu);
+        handlers[0x51] = (CPU cpu, int imm) -> SwitchCore.op51(cpu);
+        handlers[0x52] = (CPU cpu, int imm) -> SwitchCore.op52(cpu);
+        handlers[0x53] = (CPU cpu, int imm) -> SwitchCore.op53(cpu);
+        handlers[0x54] = (CPU cpu, int imm) -> SwitchCore.op54(cpu);
+        handlers[0x55] = (CPU cpu, int imm) -> SwitchCore.op55(cpu);
+        handlers[0x56] = (CPU cpu, int imm) -> SwitchCore.op56(cpu);
+        handlers[0x57] = (CPU cpu, int imm) -> SwitchCore.op57(cpu);
+        handlers[0x58] = (CPU cpu, int imm) -> SwitchCore.op58(cpu);
+        handlers[0x59] = (CPU cpu, int imm) -> SwitchCore.op59(cpu);
+        handlers[0x5a] = (CPU cpu, int imm) -> SwitchCore.op5A(cpu);
+        handlers[0x5b] = (CPU cpu, int imm) -> SwitchCore.op5B(cpu);
+        handlers[0x5c] = (CPU cpu, int imm) -> SwitchCore.op5C(cpu);
+        handlers[0x5d] = (CPU cpu, int imm) -> SwitchCore.op5D(cpu);
+        handlers[0x5e] = (CPU cpu, int imm) -> SwitchCore.op5E(cpu);
+        handlers[0x5f] = (CPU cpu, int imm) -> SwitchCore.op5F(cpu);
+        handlers[0x60] = (CPU cpu, int imm) -> SwitchCore.op60(cpu);
+        handlers[0x61] = (CPU cpu, int imm) -> SwitchCore.op61(cpu);
+        handlers[0x62] = (CPU cpu, int imm) -> SwitchCore.op62(cpu);
+        handlers[0x63] = (CPU cpu, int imm) -> SwitchCore.op63(cpu);
+        handlers[0x64] = (CPU cpu, int imm) -> SwitchCore.op64(cpu);
+        handlers[0x65] = (CPU cpu, int imm) -> SwitchCore.op65(cpu);
+        handlers[0x66] = (CPU cpu, int imm) -> SwitchCore.op66(cpu);
+        handlers[0x67] = (CPU cpu, int imm) -> SwitchCore.op67(cpu);
+        handlers[0x68] = (CPU cpu, int imm) -> SwitchCore.op68(cpu);
+        handlers[0x69] = (CPU cpu, int imm) -> SwitchCore.op69(cpu);
+        handlers[0x6a] = (CPU cpu, int imm) -> SwitchCore.op6A(cpu);
+        handlers[0x6b] = (CPU cpu, int imm) -> SwitchCore.op6B(cpu);
+        handlers[0x6c] = (CPU cpu, int imm) -> SwitchCore.op6C(cpu);
+        handlers[0x6d] = (CPU cpu, int imm) -> SwitchCore.op6D(cpu);
+        handlers[0x6e] = (CPU cpu, int imm) -> SwitchCore.op6E(cpu);
+        handlers[0x6f] = (CPU cpu, int imm) -> SwitchCore.op6F(cpu);
+        handlers[0x70] = (CPU cpu, int imm) -> SwitchCore.op70(cpu);
+        handlers[0x71] = (CPU cpu, int imm) -> SwitchCore.op71(cpu);
+        handlers[0x72] = (CPU cpu, int imm) -> SwitchCore.op72(cpu);
+        handlers[0x73] = (CPU cpu, int imm) -> SwitchCore.op73(cpu);
+        handlers[0x74] = (CPU cpu, int imm) -> SwitchCore.op74(cpu);
+        handlers[0x75] = (CPU cpu, int imm) -> SwitchCore.op75(cpu);
+        handlers[0x76] = (CPU cpu, int imm) -> SwitchCore.op76(cpu);
+        handlers[0x77] = (CPU cpu, int imm) -> SwitchCore.op77(cpu);
+        handlers[0x78] = (CPU cpu, int imm) -> SwitchCore.op78(cpu);
+        handlers[0x79] = (CPU cpu, int imm) -> SwitchCore.op79(cpu);
+        handlers[0x7a] = (CPU cpu, int imm) -> SwitchCore.op7A(cpu);
+        handlers[0x7b] = (CPU cpu, int imm) -> SwitchCore.op7B(cpu);
+        handlers[0x7c] = (CPU cpu, int imm) -> SwitchCore.op7C(cpu);
+        handlers[0x7d] = (CPU cpu, int imm) -> SwitchCore.op7D(cpu);
+        handlers[0x7e] = (CPU cpu, int imm) -> SwitchCore.op7E(cpu);
+        handlers[0x7f] = (CPU cpu, int imm) -> SwitchCore.op7F(cpu);
+        handlers[0x80] = (CPU cpu, int imm) -> SwitchCore.op80(cpu);
+        handlers[0x81] = (CPU cpu, int imm) -> SwitchCore.op81(cpu);
+        handlers[0x82] = (CPU cpu, int imm) -> SwitchCore.op82(cpu);
+        handlers[0x83] = (CPU cpu, int imm) -> SwitchCore.op83(cpu);
+        handlers[0x84] = (CPU cpu, int imm) -> SwitchCore.op84(cpu);
+        handlers[0x85] = (CPU cpu, int imm) -> SwitchCore.op85(cpu);
+        handlers[0x86] = (CPU cpu, int imm) -> SwitchCore.op86(cpu);
+        handlers[0x87] = (CPU cpu, int imm) -> SwitchCore.op87(cpu);
+        handlers[0x88] = (CPU cpu, int imm) -> SwitchCore.op88(cpu);
+        handlers[0x89] = (CPU cpu, int imm) -> SwitchCore.op89(cpu);
+        handlers[0x8a] = (CPU cpu, int imm) -> SwitchCore.op8A(cpu);
+        handlers[0x8b] = (CPU cpu, int imm) -> SwitchCore.op8B(cpu);
+        handlers[0x8c] = (CPU cpu, int imm) -> SwitchCore.op8C(cpu);
+        handlers[0x8d] = (CPU cpu, int imm) -> SwitchCore.op8D(cpu);
+        handlers[0x8e] = (CPU cpu, int imm) -> SwitchCore.op8E(cpu);
+        handlers[0x8f] = (CPU cpu, int imm) -> SwitchCore.op8F(cpu);
+        handlers[0x90] = (CPU cpu, int imm) -> SwitchCore.op90(cpu);
+        handlers[0x91] = (CPU cpu, int imm) -> SwitchCore.op91(cpu);
+        handlers[0x92] = (CPU cpu, int imm) -> SwitchCore.op92(cpu);
+        handlers[0x93] = (CPU cpu, int imm) -> SwitchCore.op93(cpu);
+        handlers[0x94] = (CPU cpu, int imm) -> SwitchCore.op94(cpu);
+        handlers[0x95] = (CPU cpu, int imm) -> SwitchCore.op95(cpu);
+        handlers[0x96] = (CPU cpu, int imm) -> SwitchCore.op96(cpu);
+        handlers[0x97] = (CPU cpu, int imm) -> SwitchCore.op97(cpu);
+        handlers[0x98] = (CPU cpu, int imm) -> SwitchCore.op98(cpu);
+        handlers[0x99] = (CPU cpu, int imm) -> SwitchCore.op99(cpu);
+        handlers[0x9a] = (CPU cpu, int imm) -> SwitchCore.op9A(cpu);
+        handlers[0x9b] = (CPU cpu, int imm) -> SwitchCore.op9B(cpu);
+        handlers[0x9c] = (CPU cpu, int imm) -> SwitchCore.op9C(cpu);
+        handlers[0x9d] = (CPU cpu, int imm) -> SwitchCore.op9D(cpu);
+        handlers[0x9e] = (CPU cpu, int imm) -> SwitchCore.op9E(cpu);
+        handlers[0x9f] = (CPU cpu, int imm) -> SwitchCore.op9F(cpu);
+        handlers[0xa0] = (CPU cpu, int imm) -> SwitchCore.opA0(cpu);
+        handlers[0xa1] = (CPU cpu, int imm) -> SwitchCore.opA1(cpu);
+        handlers[0xa2] = (CPU cpu, int imm) -> SwitchCore.opA2(cpu);
+        handlers[0xa3] = (CPU cpu, int imm) -> SwitchCore.opA3(cpu);
+        handlers[0xa4] = (CPU cpu, int imm) -> SwitchCore.opA4(cpu);
+        handlers[0xa5] = (CPU cpu, int imm) -> SwitchCore.opA5(cpu);
+        handlers[0xa6] = (CPU cpu, int imm) -> SwitchCore.opA6(cpu);
+        handlers[0xa7] = (CPU cpu, int imm) -> SwitchCore.opA7(cpu);
+        handlers[0xa8] = (CPU cpu, int imm) -> SwitchCore.opA8(cpu);
+        handlers[0xa9] = (CPU cpu, int imm) -> SwitchCore.opA9(cpu);
+        handlers[0xaa] = (CPU cpu, int imm) -> SwitchCore.opAA(cpu);
+        handlers[0xab] = (CPU cpu, int imm) -> SwitchCore.opAB(cpu);
+        handlers[0xac] = (CPU cpu, int imm) -> SwitchCore.opAC(cpu);
+        handlers[0xad] = (CPU cpu, int imm) -> SwitchCore.opAD(cpu);
+        handlers[0xae] = (CPU cpu, int imm) -> SwitchCore.opAE(cpu);
+        handlers[0xaf] = (CPU cpu, int imm) -> SwitchCore.opAF(cpu);
+        handlers[0xb0] = (CPU cpu, int imm) -> SwitchCore.opB0(cpu);
+        handlers[0xb1] = (CPU cpu, int imm) -> SwitchCore.opB1(cpu);
+        handlers[0xb2] = (CPU cpu, int imm) -> SwitchCore.opB2(cpu);
+        handlers[0xb3] = (CPU cpu, int imm) -> SwitchCore.opB3(cpu);
+        handlers[0xb4] = (CPU cpu, int imm) -> SwitchCore.opB4(cpu);
+        handlers[0xb5] = (CPU cpu, int imm) -> SwitchCore.opB5(cpu);
+        handlers[0xb6] = (CPU cpu, int imm) -> SwitchCore.opB6(cpu);
+        handlers[0xb7] = (CPU cpu, int imm) -> SwitchCore.opB7(cpu);
+        handlers[0xb8] = (CPU cpu, int imm) -> SwitchCore.opB8(cpu);
+        handlers[0xb9] = (CPU cpu, int imm) -> SwitchCore.opB9(cpu);
+        handlers[0xba] = (CPU cpu, int imm) -> SwitchCore.opBA(cpu);
+        handlers[0xbb] = (CPU cpu, int imm) -> SwitchCore.opBB(cpu);
+        handlers[0xbc] = (CPU cpu, int imm) -> SwitchCore.opBC(cpu);
+        handlers[0xbd] = (CPU cpu, int imm) -> SwitchCore.opBD(cpu);
+        handlers[0xbe] = (CPU cpu, int imm) -> SwitchCore.opBE(cpu);
+        handlers[0xbf] = (CPU cpu, int imm) -> SwitchCore.opBF(cpu);
+        handlers[0xc0] = (CPU cpu, int imm) -> SwitchCore.opC0(cpu);
+        handlers[0xc1] = (CPU cpu, int imm) -> SwitchCore.opC1(cpu);
+        handlers[0xc2] = (CPU cpu, int imm) -> SwitchCore.opC2(cpu, imm);
+        handlers[0xc3] = (CPU cpu, int imm) -> SwitchCore.opC3(cpu, imm);
+        handlers[0xc4] = (CPU cpu, int imm) -> SwitchCore.opC4(cpu, imm);
+        handlers[0xc5] = (CPU cpu, int imm) -> SwitchCore.opC5(cpu);
+        handlers[0xc6] = (CPU cpu, int imm) -> SwitchCore.opC6(cpu, imm);
+        handlers[0xc7] = (CPU cpu, int imm) -> SwitchCore.opC7(cpu);
+        handlers[0xc8] = (CPU cpu, int imm) -> SwitchCore.opC8(cpu);
+        handlers[0xc9] = (CPU cpu, int imm) -> SwitchCore.opC9(cpu);
+        handlers[0xca] = (CPU cpu, int imm) -> SwitchCore.opCA(cpu, imm);
+        handlers[0xcc] = (CPU cpu, int imm) -> SwitchCore.opCC(cpu, imm);
+        handlers[0xcd] = (CPU cpu, int imm) -> SwitchCore.opCD(cpu, imm);
+        handlers[0xce] = (CPU cpu, int imm) -> SwitchCore.opCE(cpu, imm);
+        handlers[0xcf] = (CPU cpu, int imm) -> SwitchCore.opCF(cpu);
+        handlers[0xd0] = (CPU cpu, int imm) -> SwitchCore.opD0(cpu);
+        handlers[0xd1] = (CPU cpu, int imm) -> SwitchCore.opD1(cpu);
+        handlers[0xd2] = (CPU cpu, int imm) -> SwitchCore.opD2(cpu, imm);
+        handlers[0xd4] = (CPU cpu, int imm) -> SwitchCore.opD4(cpu, imm);
+        handlers[0xd5] = (CPU cpu, int imm) -> SwitchCore.opD5(cpu);
+        handlers[0xd6] = (CPU cpu, int imm) -> SwitchCore.opD6(cpu, imm);
+        handlers[0xd7] = (CPU cpu, int imm) -> SwitchCore.opD7(cpu);
+        handlers[0xd8] = (CPU cpu, int imm) -> SwitchCore.opD8(cpu);
+        handlers[0xd9] = (CPU cpu, int imm) -> SwitchCore.opD9(cpu);
+        handlers[0xda] = (CPU cpu, int imm) -> SwitchCore.opDA(cpu, imm);
+        handlers[0xdc] = (CPU cpu, int imm) -> SwitchCore.opDC(cpu, imm);
+        handlers[0xde] = (CPU cpu, int imm) -> SwitchCore.opDE(cpu, imm);
+        handlers[0xdf] = (CPU cpu, int imm) -> SwitchCore.opDF(cpu);
+        handlers[0xe0] = (CPU cpu, int imm) -> SwitchCore.opE0(cpu, imm);
+        handlers[0xe1] = (CPU cpu, int imm) -> SwitchCore.opE1(cpu);
+        handlers[0xe2] = (CPU cpu, int imm) -> SwitchCore.opE2(cpu);
+        handlers[0xe5] = (CPU cpu, int imm) -> SwitchCore.opE5(cpu);
+        handlers[0xe6] = (CPU cpu, int imm) -> SwitchCore.opE6(cpu, imm);
+        handlers[0xe7] = (CPU cpu, int imm) -> SwitchCore.opE7(cpu);
+        handlers[0xe8] = (CPU cpu, int imm) -> SwitchCore.opE8(cpu, imm);
+        handlers[0xe9] = (CPU cpu, int imm) -> SwitchCore.opE9(cpu);
+        handlers[0xea] = (CPU cpu, int imm) -> SwitchCore.opEA(cpu, imm);
+        handlers[0xee] = (CPU cpu, int imm) -> SwitchCore.opEE(cpu, imm);
+        handlers[0xef] = (CPU cpu, int imm) -> SwitchCore.opEF(cpu);
+        handlers[0xf0] = (CPU cpu, int imm) -> SwitchCore.opF0(cpu, imm);
+        handlers[0xf1] = (CPU cpu, int imm) -> SwitchCore.opF1(cpu);
+        handlers[0xf2] = (CPU cpu, int imm) -> SwitchCore.opF2(cpu);
+        handlers[0xf3] = (CPU cpu, int imm) -> SwitchCore.opF3(cpu);
+        handlers[0xf5] = (CPU cpu, int imm) -> SwitchCore.opF5(cpu);
+        handlers[0xf6] = (CPU cpu, int imm) -> SwitchCore.opF6(cpu, imm);
+        handlers[0xf7] = (CPU cpu, int imm) -> SwitchCore.opF7(cpu);
+        handlers[0xf8] = (CPU cpu, int imm) -> SwitchCore.opF8(cpu, imm);
+        handlers[0xf9] = (CPU cpu, int imm) -> SwitchCore.opF9(cpu);
+        handlers[0xfa] = (CPU cpu, int imm) -> SwitchCore.opFA(cpu, imm);
+        handlers[0xfb] = (CPU cpu, int imm) -> SwitchCore.opFB(cpu);
+        handlers[0xfe] = (CPU cpu, int imm) -> SwitchCore.opFE(cpu, imm);
+        handlers[0xff] = (CPU cpu, int imm) -> SwitchCore.opFF(cpu);
+        //END GENERATED CODE
+
+        //BEGIN GENERATED CODE (cb_generator.py, generated_cb_threaded_handlers.txt)
+        cbHandlers[0x0] = (CPU cpu, int imm) -> SwitchCore.cb00(cpu);
+        cbHandlers[0x1] = (CPU cpu, int imm) -> SwitchCore.cb01(cpu);
+        cbHandlers[0x2] = (CPU cpu, int imm) -> SwitchCore.cb02(cpu);
+        cbHandlers[0x3] = (CPU cpu, int imm) -> SwitchCore.cb03(cpu);
+        cbHandlers[0x4] = (CPU cpu, int imm) -> SwitchCore.cb04(cpu);
+        cbHandlers[0x5] = (CPU cpu, int imm) -> SwitchCore.cb05(cpu);
+        cbHandlers[0x6] = (CPU cpu, int imm) -> SwitchCore.cb06(cpu);
+        cbHandlers[0x7] = (CPU cpu, int imm) -> SwitchCore.cb07(cpu);
+        cbHandlers[0x8] = (CPU cpu, int imm) -> SwitchCore.cb08(cpu);
+        cbHandlers[0x9] = (CPU cpu, int imm) -> SwitchCore.cb09(cpu);
+        cbHandlers[0xa] = (CPU cpu, int imm) -> SwitchCore.cb0A(cpu);
+        cbHandlers[0xb] = (CPU cpu, int imm) -> SwitchCore.cb0B(cpu);
+        cbHandlers[0xc] = (CPU cpu, int imm) -> SwitchCore.cb0C(cpu);
+        cbHandlers[0xd] = (CPU cpu, int imm) -> SwitchCore.cb0D(cpu);
+        cbHandlers[0xe] = (CPU cpu, int imm) -> SwitchCore.cb0E(cpu);
+        cbHandlers[0xf] = (CPU cpu, int imm) -> SwitchCore.cb0F(cpu);
+        cbHandlers[0x10] = (CPU cpu, int imm) -> SwitchCore.cb10(cpu);
+        cbHandlers[0x11] = (CPU cpu, int imm) -> SwitchCore.cb11(cpu);
+        cbHandlers[0x12] = (CPU cpu, int imm) -> SwitchCore.cb12(cpu);
+        cbHandlers[0x13] = (CPU cpu, int imm) -> SwitchCore.cb13(cpu);
+        cbHandlers[0x14] = (CPU cpu, int imm) -> SwitchCore.cb14(cpu);
+        cbHandlers[0x15] = (CPU cpu, int imm) -> SwitchCore.cb15(cpu);
+        cbHandlers[0x16] = (CPU cpu, int imm) -> SwitchCore.cb16(cpu);
+        cbHandlers[0x17] = (CPU cpu, int imm) -> SwitchCore.cb17(cpu);
+        cbHandlers[0x18] = (CPU cpu, int imm) -> SwitchCore.cb18(cpu);
+        cbHandlers[0x19] = (CPU cpu, int imm) -> SwitchCore.cb19(cpu);
+        cbHandlers[0x1a] = (CPU cpu, int imm) -> SwitchCore.cb1A(cpu);
+        cbHandlers[0x1b] = (CPU cpu, int imm) -> SwitchCore.cb1B(cpu);
+        cbHandlers[0x1c] = (CPU cpu, int imm) -> SwitchCore.cb1C(cpu);
+        cbHandlers[0x1d] = (CPU cpu, int imm) -> SwitchCore.cb1D(cpu);
+        cbHandlers[0x1e] = (CPU cpu, int imm) -> SwitchCore.cb1E(cpu);
+        cbHandlers[0x1f] = (CPU cpu, int imm) -> SwitchCore.cb1F(cpu);
+        cbHandlers[0x20] = (CPU cpu, int imm) -> SwitchCore.cb20(cpu);
+        cbHandlers[0x21] = (CPU cpu, int imm) -> SwitchCore.cb21(cpu);
+        cbHandlers[0x22] = (CPU cpu, int imm) -> SwitchCore.cb22(cpu);
+        cbHandlers[0x23] = (CPU cpu, int imm) -> SwitchCore.cb23(cpu);
+        cbHandlers[0x24] = (CPU cpu, int imm) -> SwitchCore.cb24(cpu);
+        cbHandlers[0x25] = (CPU cpu, int imm) -> SwitchCore.cb25(cpu);
+        cbHandlers[0x26] = (CPU cpu, int imm) -> SwitchCore.cb26(cpu);
+        cbHandlers[0x27] = (CPU cpu, int imm) -> SwitchCore.cb27(cpu);
+        cbHandlers[0x28] = (CPU cpu, int imm) -> SwitchCore.cb28(cpu);
+        cbHandlers[0x29] = (CPU cpu, int imm) -> SwitchCore.cb29(cpu);
+        cbHandlers[0x2a] = (CPU cpu, int imm) -> SwitchCore.cb2A(cpu);
+        cbHandlers[0x2b] = (CPU cpu, int imm) -> SwitchCore.cb2B(cpu);
+        cbHandlers[0x2c] = (CPU cpu, int imm) -> SwitchCore.cb2C(cpu);
+        cbHandlers[0x2d] = (CPU cpu, int imm) -> SwitchCore.cb2D(cpu);
+        cbHandlers[0x2e] = (CPU cpu, int imm) -> SwitchCore.cb2E(cpu);
+        cbHandlers[0x2f] = (CPU cpu, int imm) -> SwitchCore.cb2F(cpu);
+        cbHandlers[0x30] = (CPU cpu, int imm) -> SwitchCore.cb30(cpu);
+        cbHandlers[0x31] = (CPU cpu, int imm) -> SwitchCore.cb31(cpu);
+        cbHandlers[0x32] = (CPU cpu, int imm) -> SwitchCore.cb32(cpu);
+        cbHandlers[0x33] = (CPU cpu, int imm) -> SwitchCore.cb33(cpu);
+        cbHandlers[0x34] = (CPU cpu, int imm) -> SwitchCore.cb34(cpu);
+        cbHandlers[0x35] = (CPU cpu, int imm) -> SwitchCore.cb35(cpu);
+        cbHandlers[0x36] = (CPU cpu, int imm) -> SwitchCore.cb36(cpu);
+        cbHandlers[0x37] = (CPU cpu, int imm) -> SwitchCore.cb37(cpu);
+        cbHandlers[0x38] = (CPU cpu, int imm) -> SwitchCore.cb38(cpu);
+        cbHandlers[0x39] = (CPU cpu, int imm) -> SwitchCore.cb39(cpu);
+        cbHandlers[0x3a] = (CPU cpu, int imm) -> SwitchCore.cb3A(cpu);
+        cbHandlers[0x3b] = (CPU cpu, int imm) -> SwitchCore.cb3B(cpu);
+        cbHandlers[0x3c] = (CPU cpu, int imm) -> SwitchCore.cb3C(cpu);
+        cbHandlers[0x3d] = (CPU cpu, int imm) -> SwitchCore.cb3D(cpu);
+        cbHandlers[0x3e] = (CPU cpu, int imm) -> SwitchCore.cb3E(cpu);
+        cbHandlers[0x3f] = (CPU cpu, int imm) -> SwitchCore.cb3F(cpu);
+        cbHandlers[0x40] = (CPU cpu, int imm) -> SwitchCore.cb40(cpu);
+        cbHandlers[0x41] = (CPU cpu, int imm) -> SwitchCore.cb41(cpu);
+        cbHandlers[0x42] = (CPU cpu, int imm) -> SwitchCore.cb42(cpu);
+        cbHandlers[0x43] = (CPU cpu, int imm) -> SwitchCore.cb43(cpu);
+        cbHandlers[0x44] = (CPU cpu, int imm) -> SwitchCore.cb44(cpu);
+        cbHandlers[0x45] = (CPU cpu, int imm) -> SwitchCore.cb45(cpu);
+        cbHandlers[0x46] = (CPU cpu, int imm) -> SwitchCore.cb46(cpu);
+        cbHandlers[0x47] = (CPU cpu, int imm) -> SwitchCore.cb47(cpu);
+        cbHandlers[0x48] = (CPU cpu, int imm) -> SwitchCore.cb48(cpu);
+        cbHandlers[0x49] = (CPU cpu, int imm) -> SwitchCore.cb49(cpu);
+        cbHandlers[0x4a] = (CPU cpu, int imm) -> SwitchCore.cb4A(cpu);
+        cbHandlers[0x4b] = (CPU cpu, int imm) -> SwitchCore.cb4B(cpu);
+        cbHandlers[0x4c] = (CPU cpu, int imm) -> SwitchCore.cb4C(cpu);
+        cbHandlers[0x4d] = (CPU cpu, int imm) -> SwitchCore.cb4D(cpu);
+        cbHandlers[0x4e] = (CPU cpu, int imm) -> SwitchCore.cb4E(cpu);
+        cbHandlers[0x4f] = (CPU cpu, int imm) -> SwitchCore.cb4F(cpu);
+        cbHandlers[0x50] = (CPU cpu, int imm) -> SwitchCore.cb50(cpu);
+        cbHandlers[0x51] = (CPU cpu, int imm) -> SwitchCore.cb51(cpu);
+        cbHandlers[0x52] = (CPU cpu, int imm) -> SwitchCore.cb52(cpu);
+        cbHandlers[0x53] = (CPU cpu, int imm) -> SwitchCore.cb53(cpu);
+        cbHandlers[0x54] = (CPU cpu, int imm) -> SwitchCore.cb54(cpu);
+        cbHandlers[0x55] = (CPU cpu, int imm) -> SwitchCore.cb55(cpu);
+        cbHandlers[0x56] = (CPU cpu, int imm) -> SwitchCore.cb56(cpu);
+        cbHandlers[0x57] = (CPU cpu, int imm) -> SwitchCore.cb57(cpu);
+        cbHandlers[0x58] = (CPU cpu, int imm) -> SwitchCore.cb58(cpu);
+        cbHandlers[0x59] = (CPU cpu, int imm) -> SwitchCore.cb59(cpu);
+        cbHandlers[0x5a] = (CPU cpu, int imm) -> SwitchCore.cb5A(cpu);
+        cbHandlers[0x5b] = (CPU cpu, int imm) -> SwitchCore.cb5B(cpu);
+        cbHandlers[0x5c] = (CPU cpu, int imm) -> SwitchCore.cb5C(cpu);
+        cbHandlers[0x5d] = (CPU cpu, int imm) -> SwitchCore.cb5D(cpu);
+        cbHandlers[0x5e] = (CPU cpu, int imm) -> SwitchCore.cb5E(cpu);
+        cbHandlers[0x5f] = (CPU cpu, int imm) -> SwitchCore.cb5F(cpu);
+        cbHandlers[0x60] = (CPU cpu, int imm) -> SwitchCore.cb60(cpu);
+        cbHandlers[0x61] = (CPU cpu, int imm) -> SwitchCore.cb61(cpu);
+        cbHandlers[0x62] = (CPU cpu, int imm) -> SwitchCore.cb62(cpu);
+        cbHandlers[0x63] = (CPU cpu, int imm) -> SwitchCore.cb63(cpu);
+        cbHandlers[0x64] = (CPU cpu, int imm) -> SwitchCore.cb64(cpu);
+        cbHandlers[0x65] = (CPU cpu, int imm) -> SwitchCore.cb65(cpu);
+        cbHandlers[0x66] = (CPU cpu, int imm) -> SwitchCore.cb66(cpu);
+        cbHandlers[0x67] = (CPU cpu, int imm) -> SwitchCore.cb67(cpu);
+        cbHandlers[0x68] = (CPU cpu, int imm) -> SwitchCore.cb68(cpu);
+        cbHandlers[0x69] = (CPU cpu, int imm) -> SwitchCore.cb69(cpu);
+        cbHandlers[0x6a] = (CPU cpu, int imm) -> SwitchCore.cb6A(cpu);
+        cbHandlers[0x6b] = (CPU cpu, int imm) -> SwitchCore.cb6B(cpu);
+        cbHandlers[0x6c] = (CPU cpu, int imm) -> SwitchCore.cb6C(cpu);
+        cbHandlers[0x6d] = (CPU cpu, int imm) -> SwitchCore.cb6D(cpu);
+        cbHandlers[0x6e] = (CPU cpu, int imm) -> SwitchCore.cb6E(cpu);
+        cbHandlers[0x6f] = (CPU cpu, int imm) -> SwitchCore.cb6F(cpu);
+        cbHandlers[0x70] = (CPU cpu, int imm) -> SwitchCore.cb70(cpu);
+        cbHandlers[0x71] = (CPU cpu, int imm) -> SwitchCore.cb71(cpu);
+        cbHandlers[0x72] = (CPU cpu, int imm) -> SwitchCore.cb72(cpu);
+        cbHandlers[0x73] = (CPU cpu, int imm) -> SwitchCore.cb73(cpu);
+        cbHandlers[0x74] = (CPU cpu, int imm) -> SwitchCore.cb74(cpu);
+        cbHandlers[0x75] = (CPU cpu, int imm) -> SwitchCore.cb75(cpu);
+        cbHandlers[0x76] = (CPU cpu, int imm) -> SwitchCore.cb76(cpu);
+        cbHandlers[0x77] = (CPU cpu, int imm) -> SwitchCore.cb77(cpu);
+        cbHandlers[0x78] = (CPU cpu, int imm) -> SwitchCore.cb78(cpu);
+        cbHandlers[0x79] = (CPU cpu, int imm) -> SwitchCore.cb79(cpu);
+        cbHandlers[0x7a] = (CPU cpu, int imm) -> SwitchCore.cb7A(cpu);
+        cbHandlers[0x7b] = (CPU cpu, int imm) -> SwitchCore.cb7B(cpu);
+        cbHandlers[0x7c] = (CPU cpu, int imm) -> SwitchCore.cb7C(cpu);
+        cbHandlers[0x7d] = (CPU cpu, int imm) -> SwitchCore.cb7D(cpu);
+        cbHandlers[0x7e] = (CPU cpu, int imm) -> SwitchCore.cb7E(cpu);
+        cbHandlers[0x7f] = (CPU cpu, int imm) -> SwitchCore.cb7F(cpu);
+        cbHandlers[0x80] = (CPU cpu, int imm) -> SwitchCore.cb80(cpu);
+        cbHandlers[0x81] = (CPU cpu, int imm) -> SwitchCore.cb81(cpu);
+        cbHandlers[0x82] = (CPU cpu, int imm) -> SwitchCore.cb82(cpu);
+        cbHandlers[0x83] = (CPU cpu, int imm) -> SwitchCore.cb83(cpu);
+        cbHandlers[0x84] = (CPU cpu, int imm) -> SwitchCore.cb84(cpu);
+        cbHandlers[0x85] = (CPU cpu, int imm) -> SwitchCore.cb85(cpu);
+        cbHandlers[0x86] = (CPU cpu, int imm) -> SwitchCore.cb86(cpu);
+        cbHandlers[0x87] = (CPU cpu, int imm) -> SwitchCore.cb87(cpu);
+        cbHandlers[0x88] = (CPU cpu, int imm) -> SwitchCore.cb88(cpu);
+        cbHandlers[0x89] = (CPU cpu, int imm) -> SwitchCore.cb89(cpu);
+        cbHandlers[0x8a] = (CPU cpu, int imm) -> SwitchCore.cb8A(cpu);
+        cbHandlers[0x8b] = (CPU cpu, int imm) -> SwitchCore.cb8B(cpu);
+        cbHandlers[0x8c] = (CPU cpu, int imm) -> SwitchCore.cb8C(cpu);
+        cbHandlers[0x8d] = (CPU cpu, int imm) -> SwitchCore.cb8D(cpu);
+        cbHandlers[0x8e] = (CPU cpu, int imm) -> SwitchCore.cb8E(cpu);
+        cbHandlers[0x8f] = (CPU cpu, int imm) -> SwitchCore.cb8F(cpu);
+        cbHandlers[0x90] = (CPU cpu, int imm) -> SwitchCore.cb90(cpu);
+        cbHandlers[0x91] = (CPU cpu, int imm) -> SwitchCore.cb91(cpu);
+        cbHandlers[0x92] = (CPU cpu, int imm) -> SwitchCore.cb92(cpu);
+        cbHandlers[0x93] = (CPU cpu, int imm) -> SwitchCore.cb93(cpu);
+        cbHandlers[0x94] = (CPU cpu, int imm) -> SwitchCore.cb94(cpu);
+        cbHandlers[0x95] = (CPU cpu, int imm) -> SwitchCore.cb95(cpu);
+        cbHandlers[0x96] = (CPU cpu, int imm) -> SwitchCore.cb96(cpu);
+        cbHandlers[0x97] = (CPU cpu, int imm) -> SwitchCore.cb97(cpu);
+        cbHandlers[0x98] = (CPU cpu, int imm) -> SwitchCore.cb98(cpu);
+        cbHandlers[0x99] = (CPU cpu, int imm) -> SwitchCore.cb99(cpu);
+        cbHandlers[0x9a] = (CPU cpu, int imm) -> SwitchCore.cb9A(cpu);
+        cbHandlers[0x9b] = (CPU cpu, int imm) -> SwitchCore.cb9B(cpu);
+        cbHandlers[0x9c] = (CPU cpu, int imm) -> SwitchCore.cb9C(cpu);
+        cbHandlers[0x9d] = (CPU cpu, int imm) -> SwitchCore.cb9D(cpu);
+        cbHandlers[0x9e] = (CPU cpu, int imm) -> SwitchCore.cb9E(cpu);
+        cbHandlers[0x9f] = (CPU cpu, int imm) -> SwitchCore.cb9F(cpu);
+        cbHandlers[0xa0] = (CPU cpu, int imm) -> SwitchCore.cbA0(cpu);
+        cbHandlers[0xa1] = (CPU cpu, int imm) -> SwitchCore.cbA1(cpu);
+        cbHandlers[0xa2] = (CPU cpu, int imm) -> SwitchCore.cbA2(cpu);
+        cbHandlers[0xa3] = (CPU cpu, int imm) -> SwitchCore.cbA3(cpu);
+        cbHandlers[0xa4] = (CPU cpu, int imm) -> SwitchCore.cbA4(cpu);
+        cbHandlers[0xa5] = (CPU cpu, int imm) -> SwitchCore.cbA5(cpu);
+        cbHandlers[0xa6] = (CPU cpu, int imm) -> SwitchCore.cbA6(cpu);
+        cbHandlers[0xa7] = (CPU cpu, int imm) -> SwitchCore.cbA7(cpu);
+        cbHandlers[0xa8] = (CPU cpu, int imm) -> SwitchCore.cbA8(cpu);
+        cbHandlers[0xa9] = (CPU cpu, int imm) -> SwitchCore.cbA9(cpu);
+        cbHandlers[0xaa] = (CPU cpu, int imm) -> SwitchCore.cbAA(cpu);
+        cbHandlers[0xab] = (CPU cpu, int imm) -> SwitchCore.cbAB(cpu);
+        cbHandlers[0xac] = (CPU cpu, int imm) -> SwitchCore.cbAC(cpu);
+        cbHandlers[0xad] = (CPU cpu, int imm) -> SwitchCore.cbAD(cpu);
+        cbHandlers[0xae] = (CPU cpu, int imm) -> SwitchCore.cbAE(cpu);
+        cbHandlers[0xaf] = (CPU cpu, int imm) -> SwitchCore.cbAF(cpu);
+        cbHandlers[0xb0] = (CPU cpu, int imm) -> SwitchCore.cbB0(cpu);
+        cbHandlers[0xb1] = (CPU cpu, int imm) -> SwitchCore.cbB1(cpu);
+        cbHandlers[0xb2] = (CPU cpu, int imm) -> SwitchCore.cbB2(cpu);
+        cbHandlers[0xb3] = (CPU cpu, int imm) -> SwitchCore.cbB3(cpu);
+        cbHandlers[0xb4] = (CPU cpu, int imm) -> SwitchCore.cbB4(cpu);
+        cbHandlers[0xb5] = (CPU cpu, int imm) -> SwitchCore.cbB5(cpu);
+        cbHandlers[0xb6] = (CPU cpu, int imm) -> SwitchCore.cbB6(cpu);
+        cbHandlers[0xb7] = (CPU cpu, int imm) -> SwitchCore.cbB7(cpu);
+        cbHandlers[0xb8] = (CPU cpu, int imm) -> SwitchCore.cbB8(cpu);
+        cbHandlers[0xb9] = (CPU cpu, int imm) -> SwitchCore.cbB9(cpu);
+        cbHandlers[0xba] = (CPU cpu, int imm) -> SwitchCore.cbBA(cpu);
+        cbHandlers[0xbb] = (CPU cpu, int imm) -> SwitchCore.cbBB(cpu);
+        cbHandlers[0xbc] = (CPU cpu, int imm) -> SwitchCore.cbBC(cpu);
+        cbHandlers[0xbd] = (CPU cpu, int imm) -> SwitchCore.cbBD(cpu);
+        cbHandlers[0xbe] = (CPU cpu, int imm) -> SwitchCore.cbBE(cpu);
+        cbHandlers[0xbf] = (CPU cpu, int imm) -> SwitchCore.cbBF(cpu);
+        cbHandlers[0xc0] = (CPU cpu, int imm) -> SwitchCore.cbC0(cpu);
+        cbHandlers[0xc1] = (CPU cpu, int imm) -> SwitchCore.cbC1(cpu);
+        cbHandlers[0xc2] = (CPU cpu, int imm) -> SwitchCore.cbC2(cpu);
+        cbHandlers[0xc3] = (CPU cpu, int imm) -> SwitchCore.cbC3(cpu);
+        cbHandlers[0xc4] = (CPU cpu, int imm) -> SwitchCore.cbC4(cpu);
+        cbHandlers[0xc5] = (CPU cpu, int imm) -> SwitchCore.cbC5(cpu);
+        cbHandlers[0xc6] = (CPU cpu, int imm) -> SwitchCore.cbC6(cpu);
+        cbHandlers[0xc7] = (CPU cpu, int imm) -> SwitchCore.cbC7(cpu);
+        cbHandlers[0xc8] = (CPU cpu, int imm) -> SwitchCore.cbC8(cpu);
+        cbHandlers[0xc9] = (CPU cpu, int imm) -> SwitchCore.cbC9(cpu);
+        cbHandlers[0xca] = (CPU cpu, int imm) -> SwitchCore.cbCA(cpu);
+        cbHandlers[0xcb] = (CPU cpu, int imm) -> SwitchCore.cbCB(cpu);
+        cbHandlers[0xcc] = (CPU cpu, int imm) -> SwitchCore.cbCC(cpu);
+        cbHandlers[0xcd] = (CPU cpu, int imm) -> SwitchCore.cbCD(cpu);
+        cbHandlers[0xce] = (CPU cpu, int imm) -> SwitchCore.cbCE(cpu);
+        cbHandlers[0xcf] = (CPU cpu, int imm) -> SwitchCore.cbCF(cpu);
+        cbHandlers[0xd0] = (CPU cpu, int imm) -> SwitchCore.cbD0(cpu);
+        cbHandlers[0xd1] = (CPU cpu, int imm) -> SwitchCore.cbD1(cpu);
+        cbHandlers[0xd2] = (CPU cpu, int imm) -> SwitchCore.cbD2(cpu);
+        cbHandlers[0xd3] = (CPU cpu, int imm) -> SwitchCore.cbD3(cpu);
+        cbHandlers[0xd4] = (CPU cpu, int imm) -> SwitchCore.cbD4(cpu);
+        cbHandlers[0xd5] = (CPU cpu, int imm) -> SwitchCore.cbD5(cpu);
+        cbHandlers[0xd6] = (CPU cpu, int imm) -> SwitchCore.cbD6(cpu);
+        cbHandlers[0xd7] = (CPU cpu, int imm) -> SwitchCore.cbD7(cpu);
+        cbHandlers[0xd8] = (CPU cpu, int imm) -> SwitchCore.cbD8(cpu);
+        cbHandlers[0xd9] = (CPU cpu, int imm) -> SwitchCore.cbD9(cpu);
+        cbHandlers[0xda] = (CPU cpu, int imm) -> SwitchCore.cbDA(cpu);
+        cbHandlers[0xdb] = (CPU cpu, int imm) -> SwitchCore.cbDB(cpu);
+        cbHandlers[0xdc] = (CPU cpu, int imm) -> SwitchCore.cbDC(cpu);
+        cbHandlers[0xdd] = (CPU cpu, int imm) -> SwitchCore.cbDD(cpu);
+        cbHandlers[0xde] = (CPU cpu, int imm) -> SwitchCore.cbDE(cpu);
+        cbHandlers[0xdf] = (CPU cpu, int imm) -> SwitchCore.cbDF(cpu);
+        cbHandlers[0xe0] = (CPU cpu, int imm) -> SwitchCore.cbE0(cpu);
+        cbHandlers[0xe1] = (CPU cpu, int imm) -> SwitchCore.cbE1(cpu);
+        cbHandlers[0xe2] = (CPU cpu, int imm) -> SwitchCore.cbE2(cpu);
+        cbHandlers[0xe3] = (CPU cpu, int imm) -> SwitchCore.cbE3(cpu);
+        cbHandlers[0xe4] = (CPU cpu, int imm) -> SwitchCore.cbE4(cpu);
+        cbHandlers[0xe5] = (CPU cpu, int imm) -> SwitchCore.cbE5(cpu);
+        cbHandlers[0xe6] = (CPU cpu, int imm) -> SwitchCore.cbE6(cpu);
+        cbHandlers[0xe7] = (CPU cpu, int imm) -> SwitchCore.cbE7(cpu);
+        cbHandlers[0xe8] = (CPU cpu, int imm) -> SwitchCore.cbE8(cpu);
+        cbHandlers[0xe9] = (CPU cpu, int imm) -> SwitchCore.cbE9(cpu);
+        cbHandlers[0xea] = (CPU cpu, int imm) -> SwitchCore.cbEA(cpu);
+        cbHandlers[0xeb] = (CPU cpu, int imm) -> SwitchCore.cbEB(cpu);
+        cbHandlers[0xec] = (CPU cpu, int imm) -> SwitchCore.cbEC(cpu);
+        cbHandlers[0xed] = (CPU cpu, int imm) -> SwitchCore.cbED(cpu);
+        cbHandlers[0xee] = (CPU cpu, int imm) -> SwitchCore.cbEE(cpu);
+        cbHandlers[0xef] = (CPU cpu, int imm) -> SwitchCore.cbEF(cpu);
+        cbHandlers[0xf0] = (CPU cpu, int imm) -> SwitchCore.cbF0(cpu);
+        cbHandlers[0xf1] = (CPU cpu, int imm) -> SwitchCore.cbF1(cpu);
+        cbHandlers[0xf2] = (CPU cpu, int imm) -> SwitchCore.cbF2(cpu);
+        cbHandlers[0xf3] = (CPU cpu, int imm) -> SwitchCore.cbF3(cpu);
+        cbHandlers[0xf4] = (CPU cpu, int imm) -> SwitchCore.cbF4(cpu);
+        cbHandlers[0xf5] = (CPU cpu, int imm) -> SwitchCore.cbF5(cpu);
+        cbHandlers[0xf6] = (CPU cpu, int imm) -> SwitchCore.cbF6(cpu);
+        cbHandlers[0xf7] = (CPU cpu, int imm) -> SwitchCore.cbF7(cpu);
+        cbHandlers[0xf8] = (CPU cpu, int imm) -> SwitchCore.cbF8(cpu);
+        cbHandlers[0xf9] = (CPU cpu, int imm) -> SwitchCore.cbF9(cpu);
+        cbHandlers[0xfa] = (CPU cpu, int imm) -> SwitchCore.cbFA(cpu);
+        cbHandlers[0xfb] = (CPU cpu, int imm) -> SwitchCore.cbFB(cpu);
+        cbHandlers[0xfc] = (CPU cpu, int imm) -> SwitchCore.cbFC(cpu);
+        cbHandlers[0xfd] = (CPU cpu, int imm) -> SwitchCore.cbFD(cpu);
+        cbHandlers[0xfe] = (CPU cpu, int imm) -> SwitchCore.cbFE(cpu);
+        cbHandlers[0xff] = (CPU cpu, int imm) -> SwitchCore.cbFF(cpu);
+        //END GENERATED CODE
+    }
+}
@@ -56,6 +56,13 @@ public class Tile implements Serializable {
         }
     }
     
+    // decodes a whole line from its two bytes
+    public void updateLine(int line, int low, int high) {
+        for (int i = 0; i < 8; i++) {
+            tileData[line][i] = ((low >> (7 - i)) & 1) | (((high >> (7 - i)) & 1) << 1);
+        }
+    }
+    
     public Tile(int[][] tileData) {
         this.tileData = tileData;
     }
@@ -39,6 +39,25 @@ public class TileSetManager implements Serializable{
         }
     }
     
+    // the same as calling updateTileSets for every byte in [from, to) of vram, which a DMA has just copied. whole
+    // lines are decoded from both of their bytes, and every tile is only looked up once
+    public void updateTileSets(int from, int to, byte[] vram, int bank) {
+        to = Math.min(to, 0x9800);
+        for (int address = from & ~0xF; address < to; address += 16) {
+            int tileNum = (address - 0x8000) / 16;
+            Tile inSet0 = address <= 0x8FFF ? tileSets[bank][0].getTile(tileNum) : null;
+            Tile inSet1 = address >= 0x8800 ? tileSets[bank][1].getTile(tileNum - 256) : null;
+            int firstLine = Math.max(from - address, 0) / 2;
+            int endLine = (Math.min(to - address, 16) + 1) / 2;
+            for (int line = firstLine; line < endLine; line++) {
+                int low = vram[address - 0x8000 + 2 * line] & 0xFF;
+                int high = vram[address - 0x8000 + 2 * line + 1] & 0xFF;
+                if (inSet0 != null) inSet0.updateLine(line, low, high);
+                if (inSet1 != null) inSet1.updateLine(line, low, high);
+            }
+        }
+    }
+    
     public TileSet getTileSet(int bank, int tileSetNum) {
         return tileSets[bank][tileSetNum];
     }
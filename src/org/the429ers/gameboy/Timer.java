@@ -2,8 +2,11 @@ package org.the429ers.gameboy;
 
 import java.io.Serializable;
 
-public class Timer implements Serializable {
+// DIV and TIMA are computed from the cycle counter of the clock and the cycles their registers were last written
+// at, and an overflow is a Clock event at the cycle TIMA wraps around, so the timer never has to be ticked
+public class Timer implements Serializable, Clock.Event, MMU.IOReader, MMU.IOObserver {
     private MMU mmu;
+    private Clock clock;
     public static final int[] PERIODS = new int[] { //number of cpu cycles until update
             1024, //4.096 khz
             16, //262.144 khz
@@ -11,63 +14,117 @@ public class Timer implements Serializable {
             256 //16.384 khz
     };
     public static final int DIV_PERIOD = 256;
-    
+
     private boolean timerEnabled = false;
     private int currentClock = 0;
     private int modulo = 0;
-    
+
+    private long divStart = 0; //DIV counts the DIV_PERIODs since this cycle
+
+    // while the timer is enabled TIMA is timaStart plus the periods since timaStartCycle, otherwise the small and
+    // big counters are kept as they were when it was disabled
+    private int timaStart = 0;
+    private long timaStartCycle = 0;
     private int counter = 0; //the small counter for TIMA
     private int countRegister = 0; //the big counter for TIMA
-    private int divCounter = 0; //the small counter for DIV
-    private int divRegister = 0; //the big counter for DIV
-    
-    public Timer(MMU mmu) {
+
+    public Timer(MMU mmu, Clock clock) {
         this.mmu = mmu;
+        this.clock = clock;
+        mmu.mapIORead(MMU.DIV_REGISTER, this);
+        mmu.mapIORead(MMU.TIMA_REGISTER, this);
+        for(int location = MMU.DIV_REGISTER; location <= MMU.TAC_REGISTER; location++) mmu.observeIO(location, this);
+    }
+    
+    @Override
+    public int readIO(int location) {
+        return location == MMU.DIV_REGISTER ? getDIV() : getTIMA();
     }
     
-    public void tick() {
-        divCounter++;
-        if(divCounter >= DIV_PERIOD){
-            divRegister = (divRegister + 1) & 0xff;
-            divCounter = 0;
+    @Override
+    public void ioWritten(int location, int value) {
+        switch(location) {
+            case MMU.DIV_REGISTER: resetDIV(); break;
+            case MMU.TIMA_REGISTER: setTIMA(value); break;
+            case MMU.TMA_REGISTER: setModulo(value); break;
+            case MMU.TAC_REGISTER: handleTAC(value); break;
         }
-        
-        if(timerEnabled){
-            counter++;
-            if(counter >= PERIODS[currentClock]){
-                countRegister++;
-                if(countRegister > 0xff){
-                    countRegister = modulo;
-                    mmu.writeByte(MMU.IF_REGISTER, 0b100);
-                }
-                counter = 0;
-            }
+    }
+
+    // brings counter and countRegister up to date
+    private void freeze() {
+        if(!timerEnabled) return;
+        int period = PERIODS[currentClock];
+        long elapsed = clock.now() - timaStartCycle;
+        counter = (int) (elapsed % period);
+        countRegister = timaStart + (int) (elapsed / period);
+    }
+
+    // counts on from counter and countRegister, then schedules the overflow for the cycle TIMA will wrap around at
+    private void resume() {
+        if(!timerEnabled) {
+            clock.cancel(this);
+            return;
         }
+        int period = PERIODS[currentClock];
+        timaStart = countRegister;
+        timaStartCycle = clock.now() - counter;
+        clock.schedule(this, timaStartCycle + (long) (0x100 - timaStart) * period);
     }
-    
+
+    @Override
+    public void fire() {
+        countRegister = modulo;
+        counter = 0;
+        resume();
+        mmu.requestInterrupt(InterruptHandler.TIMER_OVERFLOW_MASK);
+    }
+
     public void handleTAC(int TAC) {
+        freeze();
         this.timerEnabled = ((TAC >> 2) & 1) == 1;
-        
+
         this.currentClock = (TAC & 0x3);
+
+        //a counter past the new period increments TIMA on the next cycle the timer runs
+        if(timerEnabled) this.counter = Math.min(counter, PERIODS[currentClock] - 1);
+        resume();
     }
-    
+
     public void setModulo(int modulo){
         this.modulo = modulo & 0xff;
     }
-    
+
     public void setTIMA(int countRegister){
+        freeze();
         this.countRegister = countRegister;
+        resume();
     }
-    
+
     public void resetDIV(){
-        this.divRegister = 0;
+        //only the big counter is reset, DIV keeps counting from the same point of its period
+        long now = clock.now();
+        divStart = now - (now - divStart) % DIV_PERIOD;
     }
-    
+
     public int getDIV() {
-        return divRegister;
+        return (int) ((clock.now() - divStart) / DIV_PERIOD) & 0xff;
     }
-    
+
+    // the cycles from now on that reading DIV keeps giving the same value
+    public int cyclesUntilDIVChanges() {
+        return DIV_PERIOD - 1 - (int) ((clock.now() - divStart) % DIV_PERIOD);
+    }
+
+    // the same for TIMA, apart from the overflow, which is a Clock event anyway
+    public int cyclesUntilTIMAChanges() {
+        if(!timerEnabled) return Integer.MAX_VALUE;
+        int period = PERIODS[currentClock];
+        return period - 1 - (int) ((clock.now() - timaStartCycle) % period);
+    }
+
     public int getTIMA() {
+        freeze();
         return countRegister;
     }
 }
@@ -0,0 +1,60 @@
+package org.the429ers.gameboy;
+
+import java.util.function.IntPredicate;
+
+/***
+ *
+ * A watchpoint of the debugger: the reads or writes of a range of addresses whose value passes a predicate, like
+ * w C0A0..C0AF == 3. It is compiled into an MMU.Watch that is only installed on the pages the range covers, so the
+ * rest of memory doesn't pay for it.
+ *
+ */
+final class Watchpoint {
+    final int id;
+    final boolean onWrite; //watches writes instead of reads
+    final int start, end; //inclusive
+    final IntPredicate predicate;
+    final String description;
+
+    Watchpoint(int id, boolean onWrite, int start, int end, IntPredicate predicate, String description) {
+        this.id = id;
+        this.onWrite = onWrite;
+        this.start = start;
+        this.end = end;
+        this.predicate = predicate;
+        this.description = description;
+    }
+
+    MMU.Watch compile(GameBoy gb) {
+        int start = this.start, end = this.end;
+        IntPredicate predicate = this.predicate;
+        return (location, value) -> {
+            if(location >= start && location <= end && predicate.test(value)) {
+                gb.watchpointHit(this, location, value);
+            }
+        };
+    }
+
+    // the watches of all watchpoints of one kind by page, or null if there are none of that kind
+    static MMU.Watch[] compilePages(Iterable<Watchpoint> watchpoints, boolean onWrite, GameBoy gb) {
+        MMU.Watch[] pages = null;
+        for(Watchpoint watchpoint : watchpoints) {
+            if(watchpoint.onWrite != onWrite) continue;
+            if(pages == null) pages = new MMU.Watch[0x100];
+
+            MMU.Watch watch = watchpoint.compile(gb);
+            for(int page = watchpoint.start >> 8; page <= watchpoint.end >> 8; page++) {
+                MMU.Watch before = pages[page];
+                pages[page] = before == null ? watch : (location, value) -> {
+                    before.access(location, value);
+                    watch.access(location, value);
+                };
+            }
+        }
+        return pages;
+    }
+
+    public String toString() {
+        return id + ": " + description;
+    }
+}
@@ -0,0 +1,155 @@
+import re
+
+# Java snippets shared by cpu_generator.py and cb_generator.py for the switch-dispatch core (SwitchCore.java).
+# Every register access goes straight to the primitive fields of RegisterFile, so nothing here
+# dispatches through the Register/ReadWritable views.
+
+reg8_read = {
+    'A': 'high(regs.af)',
+    'B': 'high(regs.bc)',
+    'C': 'low(regs.bc)',
+    'D': 'high(regs.de)',
+    'E': 'low(regs.de)',
+    'H': 'high(regs.hl)',
+    'L': 'low(regs.hl)',
+}
+
+reg8_write = {
+    'A': 'regs.af = withHigh(regs.af, {});',
+    'B': 'regs.bc = withHigh(regs.bc, {});',
+    'C': 'regs.bc = withLow(regs.bc, {});',
+    'D': 'regs.de = withHigh(regs.de, {});',
+    'E': 'regs.de = withLow(regs.de, {});',
+    'H': 'regs.hl = withHigh(regs.hl, {});',
+    'L': 'regs.hl = withLow(regs.hl, {});',
+}
+
+# writes the result byte of a packed (result << 8) | flags value
+reg8_write_packed = {k: v.format('r >> 8') for k, v in reg8_write.items()}
+
+reg16 = {
+    'AF': 'regs.af',
+    'BC': 'regs.bc',
+    'DE': 'regs.de',
+    'HL': 'regs.hl',
+    'SP': 'regs.sp',
+    'PC': 'regs.pc',
+}
+
+conditions = {
+    'NZ': '!regs.hasFlag(ZMASK)',
+    'Z': 'regs.hasFlag(ZMASK)',
+    'NC': '!regs.hasFlag(CMASK)',
+    'C(cond)': 'regs.hasFlag(CMASK)',
+}
+
+# the flags of ADD, ADC, SUB, SBC, CP, INC and DEC are computed lazily by RegisterFile, so anything else that
+# reads F has to go through these
+carry = 'regs.carry()'
+synced_af = 'regs.af()'
+
+FLAG_BITS = [0x80, 0x40, 0x20, 0x10] # Z N H C
+
+def flag_masks(flags):
+    # splits a flagsAffected string such as "Z 0 H -" into the bits that are kept, computed and forced to 1
+    keep, computed, forced = 0, 0, 0
+    for bit, descriptor in zip(FLAG_BITS, flags.split(' ')):
+        if descriptor == '-':
+            keep |= bit
+        elif descriptor == '1':
+            forced |= bit
+        elif descriptor != '0':
+            computed |= bit
+    return keep, computed, forced
+
+def apply_flags(flags, value='r', keep_a=True):
+    # merges the flags computed into the low byte of value into F using the precomputed masks. flags that are
+    # kept have to be synced with the pending lazy flags first, if none are kept the pending ones are dropped
+    keep, computed, forced = flag_masks(flags)
+    if keep == 0xf0:
+        return []
+    sync = ['regs.syncFlags();'] if keep != 0 else []
+    drop = ['regs.lazyFlags = 0;'] if keep == 0 else []
+    if keep_a:
+        statement = 'regs.af = (regs.af & ' + hex(0xff00 | keep) + ')'
+    else:
+        statement = 'regs.af = (' + value + ' & ' + hex(0xff00 | computed) + ')'
+        computed = 0
+        if keep != 0:
+            statement += ' | (regs.af & ' + hex(keep) + ')'
+    if computed != 0:
+        statement += ' | (' + value + ' & ' + hex(computed) + ')'
+    if forced != 0:
+        statement += ' | ' + hex(forced)
+    return sync + [statement + ';'] + drop
+
+def is_reg8(op):
+    return op in reg8_read
+
+def is_indirect(op):
+    return re.match(r'^\((BC|DE|HL|HL\+|HL-|C|a8|a16)\)$', op) is not None
+
+def indirect_address(op):
+    # returns the statements needed before the access and the address expression
+    if op == '(HL+)':
+        return ['int address = regs.hl;', 'regs.hl = (address + 1) & 0xffff;'], 'address'
+    if op == '(HL-)':
+        return ['int address = regs.hl;', 'regs.hl = (address - 1) & 0xffff;'], 'address'
+    if op == '(C)':
+        return [], '0xff00 | (low(regs.bc))'
+    if op == '(a8)':
+        return [], '0xff00 | imm8(cpu)'
+    if op == '(a16)':
+        return [], 'imm16(cpu)'
+    return [], reg16[op[1:-1]]
+
+def read8(op):
+    # returns the statements needed before the read and the expression for the byte
+    if is_reg8(op):
+        return [], reg8_read[op]
+    if op == 'd8':
+        return [], 'imm8(cpu)'
+    if is_indirect(op):
+        pre, address = indirect_address(op)
+        return pre, 'read(cpu, ' + address + ')'
+    raise ValueError('unsupported operand: ' + op)
+
+def pc_advance(length):
+    return 'regs.pc = (regs.pc + ' + str(length) + ') & 0xffff;'
+
+def handler(prefix, opcode, description, body):
+    # turns the statements of one instruction into a static method taking its immediate as a parameter, plus the
+    # case of the dispatch switch that fetches the immediate and calls it. the block recompiler calls the same
+    # methods with the immediate baked in
+    text = '\n'.join(body)
+    if 'IllegalArgumentException' in text:
+        return [], [] # invalid opcodes fall through to the throw after the switch
+    if 'executeCB' in text:
+        return ['case ' + hex(opcode) + ': ' + text], []
+
+    name = prefix + '%02X' % opcode
+    fetch = None
+    for immediate in ('imm8(cpu)', 'imm16(cpu)'):
+        if immediate in text:
+            fetch = immediate
+            body = [line.replace(immediate, 'imm') for line in body]
+
+    if fetch is None:
+        dispatch = ['case ' + hex(opcode) + ': return ' + name + '(cpu);']
+        method = ['// ' + description, 'static int ' + name + '(CPU cpu) {']
+    else:
+        dispatch = ['case ' + hex(opcode) + ': return ' + name + '(cpu, ' + fetch + ');']
+        method = ['// ' + description, 'static int ' + name + '(CPU cpu, int imm) {']
+    if 'regs.' in text:
+        method.append('    RegisterFile regs = cpu.regs;')
+    method += ['    ' + line for line in body]
+    method += ['}', '']
+    return dispatch, method
+
+def table_entry(prefix, opcode, method):
+    # the entry of the handler table in ThreadedCode.java for a method returned by handler()
+    if not method:
+        return []
+    table = 'handlers' if prefix == 'op' else 'cbHandlers'
+    arguments = 'cpu, imm' if 'int imm)' in method[1] else 'cpu'
+    return [table + '[' + hex(opcode) + '] = (CPU cpu, int imm) -> SwitchCore.' + prefix + '%02X' % opcode + '(' + arguments + ');']